@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene;
+
+import com.stratio.cassandra.lucene.util.ByteBufferUtils;
+import org.apache.cassandra.db.marshal.Int32Type;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the serialization of {@link IndexPagingState}, which is read and written for every page of a paged
+ * CQL query. The number of entries is the number of partition key ranges of the query.
+ *
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar IndexPagingStateBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexPagingStateBenchmark {
+
+    @Param({"1", "16", "256"})
+    public int entries;
+
+    private ByteBuffer bytes;
+    private IndexPagingState state;
+
+    @Setup
+    public void setup() {
+        SyntheticTable table = new SyntheticTable(SyntheticTable.SKINNY);
+        ByteBuffer[] values = new ByteBuffer[entries];
+        for (int i = 0; i < entries; i++) {
+            values[i] = ByteBufferUtils.compose(Int32Type.instance.decompose(0),
+                                                table.key(i).getKey(),
+                                                Int32Type.instance.decompose(i));
+        }
+        ByteBuffer composed = ByteBufferUtils.compose(values);
+        bytes = ByteBuffer.allocate(4 + composed.remaining());
+        bytes.putInt(100).put(composed).flip();
+        state = IndexPagingState.fromByteBuffer(bytes.duplicate());
+    }
+
+    @Benchmark
+    public IndexPagingState fromByteBuffer() {
+        return IndexPagingState.fromByteBuffer(bytes.duplicate());
+    }
+
+    @Benchmark
+    public ByteBuffer toByteBuffer() {
+        return state.toByteBuffer();
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene;
+
+import com.google.common.collect.Sets;
+import com.stratio.cassandra.lucene.column.Columns;
+import com.stratio.cassandra.lucene.mapping.*;
+import com.stratio.cassandra.lucene.schema.Schema;
+import com.stratio.cassandra.lucene.schema.SchemaBuilder;
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.db.Clustering;
+import org.apache.cassandra.db.DecoratedKey;
+import org.apache.cassandra.db.LivenessInfo;
+import org.apache.cassandra.db.marshal.*;
+import org.apache.cassandra.db.rows.BTreeRow;
+import org.apache.cassandra.db.rows.BufferCell;
+import org.apache.cassandra.db.rows.Row;
+import org.apache.cassandra.dht.Murmur3Partitioner;
+import org.apache.cassandra.schema.ColumnMetadata;
+import org.apache.cassandra.schema.TableMetadata;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.search.Sort;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.stratio.cassandra.lucene.schema.SchemaBuilders.*;
+import static scala.jdk.javaapi.CollectionConverters.asJava;
+
+/**
+ * Synthetic wide table with an integer partition key, an integer clustering key and a configurable number of
+ * regular columns of several types, all of them indexed, to be used in benchmarks without a running Cassandra.
+ *
+ * The skinny shape has a few regular columns and the wide shape has many of them.
+ */
+public class SyntheticTable {
+
+    /** The name of the shape with few columns. */
+    public static final String SKINNY = "skinny";
+
+    /** The name of the shape with many columns. */
+    public static final String WIDE = "wide";
+
+    private static final int SKINNY_COLUMNS = 4;
+    private static final int WIDE_COLUMNS = 40;
+    private static final long TIMESTAMP = 1_500_000_000_000_000L;
+    private static final String[] WORDS = {"lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing"};
+
+    static {
+        DatabaseDescriptor.clientInitialization();
+        DatabaseDescriptor.setPartitionerUnsafe(Murmur3Partitioner.instance);
+    }
+
+    /** The table metadata. */
+    public final TableMetadata metadata;
+
+    /** The index schema. */
+    public final Schema schema;
+
+    /** The regular columns. */
+    public final List<ColumnMetadata> columns;
+
+    private final TokenMapper tokenMapper;
+    private final PartitionMapper partitionMapper;
+    private final ClusteringMapper clusteringMapper;
+    private final KeyMapper keyMapper;
+    private final ColumnsMapper columnsMapper;
+
+    /**
+     * Builds a new {@link SyntheticTable} with the specified shape.
+     *
+     * @param shape the table shape, {@link #SKINNY} or {@link #WIDE}
+     */
+    public SyntheticTable(String shape) {
+        int numColumns = WIDE.equals(shape) ? WIDE_COLUMNS : SKINNY_COLUMNS;
+        TableMetadata.Builder tableBuilder = TableMetadata.builder("benchmarks", shape)
+                                                          .partitioner(Murmur3Partitioner.instance)
+                                                          .addPartitionKeyColumn("pk", Int32Type.instance)
+                                                          .addClusteringColumn("ck", Int32Type.instance);
+        SchemaBuilder schemaBuilder = schema().mapper("pk", integerMapper()).mapper("ck", integerMapper());
+        for (int i = 0; i < numColumns; i++) {
+            String name = "c" + i;
+            switch (i % 5) {
+                case 0:
+                    tableBuilder.addRegularColumn(name, UTF8Type.instance);
+                    schemaBuilder.mapper(name, stringMapper());
+                    break;
+                case 1:
+                    tableBuilder.addRegularColumn(name, UTF8Type.instance);
+                    schemaBuilder.mapper(name, textMapper().analyzer("english"));
+                    break;
+                case 2:
+                    tableBuilder.addRegularColumn(name, LongType.instance);
+                    schemaBuilder.mapper(name, longMapper());
+                    break;
+                case 3:
+                    tableBuilder.addRegularColumn(name, DoubleType.instance);
+                    schemaBuilder.mapper(name, doubleMapper());
+                    break;
+                default:
+                    tableBuilder.addRegularColumn(name, TimestampType.instance);
+                    schemaBuilder.mapper(name, dateMapper());
+            }
+        }
+        metadata = tableBuilder.build();
+        schema = schemaBuilder.build();
+        columns = new ArrayList<>();
+        metadata.regularColumns().forEach(columns::add);
+        tokenMapper = new TokenMapper();
+        partitionMapper = new PartitionMapper(metadata);
+        clusteringMapper = new ClusteringMapper(metadata);
+        keyMapper = new KeyMapper(metadata);
+        columnsMapper = new ColumnsMapper(schema, metadata);
+    }
+
+    /**
+     * Returns the partition key with the specified value.
+     *
+     * @param value the partition key value
+     * @return a partition key
+     */
+    public DecoratedKey key(int value) {
+        return metadata.partitioner.decorateKey(Int32Type.instance.decompose(value));
+    }
+
+    /**
+     * Returns the clustering key with the specified value.
+     *
+     * @param value the clustering key value
+     * @return a clustering key
+     */
+    public Clustering<?> clustering(int value) {
+        return Clustering.make(Int32Type.instance.decompose(value));
+    }
+
+    private Object value(ColumnMetadata column, Random random) {
+        AbstractType<?> type = column.type;
+        if (type instanceof UTF8Type) {
+            StringBuilder builder = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+            for (int i = 0; i < 5; i++) {
+                builder.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            return builder.toString();
+        } else if (type instanceof LongType) {
+            return random.nextLong();
+        } else if (type instanceof DoubleType) {
+            return random.nextDouble();
+        } else {
+            return new Date(TIMESTAMP / 1000 + random.nextInt());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ByteBuffer decompose(ColumnMetadata column, Object value) {
+        return ((AbstractType<Object>) column.type).decompose(value);
+    }
+
+    /**
+     * Returns a new row with random values for all the regular columns.
+     *
+     * @param clustering the clustering key value
+     * @param random the source of randomness
+     * @return a new row
+     */
+    public Row row(int clustering, Random random) {
+        Row.Builder builder = BTreeRow.unsortedBuilder();
+        builder.newRow(clustering(clustering));
+        builder.addPrimaryKeyLivenessInfo(LivenessInfo.create(TIMESTAMP, Integer.MAX_VALUE));
+        for (ColumnMetadata column : columns) {
+            builder.addCell(BufferCell.live(column, TIMESTAMP, decompose(column, value(column, random))));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns new columns with random values for all the mapped columns, without reading any Cassandra row.
+     *
+     * @param partition the partition key value
+     * @param clustering the clustering key value
+     * @param random the source of randomness
+     * @return new columns
+     */
+    public Columns columns(int partition, int clustering, Random random) {
+        Columns result = new Columns().add("pk", partition).add("ck", clustering);
+        for (ColumnMetadata column : columns) {
+            result = result.add(column.name.toString(), value(column, random));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the columns contained in the specified row, the same way the index does.
+     *
+     * @param key the partition key
+     * @param row the row
+     * @return the columns in the row
+     */
+    public Columns columns(DecoratedKey key, Row row) {
+        return columnsMapper.columns(key, row, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a new document for the specified primary key with random values, the same way the index does.
+     *
+     * @param partition the partition key value
+     * @param clustering the clustering key value
+     * @param random the source of randomness
+     * @return a new document
+     */
+    public Document document(int partition, int clustering, Random random) {
+        DecoratedKey key = key(partition);
+        Clustering<?> clusteringKey = clustering(clustering);
+        Document document = new Document();
+        document.add(tokenMapper.indexableField(key));
+        document.add(partitionMapper.indexableField(key));
+        document.add(keyMapper.indexableField(key, clusteringKey));
+        asJava(clusteringMapper.indexableFields(key, clusteringKey)).forEach(document::add);
+        for (IndexableField field : schema.indexableFields(columns(partition, clustering, random))) {
+            document.add(field);
+        }
+        return document;
+    }
+
+    /**
+     * Returns the Lucene term identifying the document of the specified primary key.
+     *
+     * @param partition the partition key value
+     * @param clustering the clustering key value
+     * @return the identifying term
+     */
+    public org.apache.lucene.index.Term term(int partition, int clustering) {
+        return keyMapper.term(key(partition), clustering(clustering));
+    }
+
+    /**
+     * Returns the sort by primary key used by the index.
+     *
+     * @return the primary key sort
+     */
+    public Sort keySort() {
+        return new Sort(tokenMapper.sortField(), partitionMapper.sortField(), clusteringMapper.sortField());
+    }
+
+    /**
+     * Returns the names of the fields loaded by the index searches.
+     *
+     * @return the names of the fields to be loaded
+     */
+    public Set<String> fieldsToLoad() {
+        return Sets.newHashSet(PartitionMapper.FIELD_NAME(), ClusteringMapper.FIELD_NAME());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.common;
+
+import org.apache.cassandra.utils.TimeUUID;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for {@link DateParser}, using as baseline the {@link SimpleDateFormat} round trip that it replaces.
+ *
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar DateParserBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateParserBenchmark {
+
+    private static final int NUM_VALUES = 1024;
+
+    @Param({DateParser.DEFAULT_PATTERN, "yyyy/MM/dd", "yyyyMMdd"})
+    public String pattern;
+
+    private DateParser parser;
+    private DateFormat format;
+    private Date[] dates;
+    private UUID[] uuids;
+    private String[] strings;
+    private int index;
+
+    @Setup
+    public void setup() {
+        parser = new DateParser(pattern);
+        format = new SimpleDateFormat(pattern);
+        format.setLenient(false);
+        dates = new Date[NUM_VALUES];
+        uuids = new UUID[NUM_VALUES];
+        strings = new String[NUM_VALUES];
+        Random random = new Random(0);
+        for (int i = 0; i < NUM_VALUES; i++) {
+            long timestamp = 1_400_000_000_000L + (long) (random.nextDouble() * 400_000_000_000L);
+            dates[i] = new Date(timestamp);
+            uuids[i] = TimeUUID.Generator.atUnixMillis(timestamp).asUUID();
+            strings[i] = format.format(dates[i]);
+        }
+    }
+
+    private int next() {
+        index = (index + 1) & (NUM_VALUES - 1);
+        return index;
+    }
+
+    @Benchmark
+    public Date dateBaseline() throws ParseException {
+        return format.parse(format.format(dates[next()]));
+    }
+
+    @Benchmark
+    public Date date() {
+        return parser.parse(dates[next()]);
+    }
+
+    @Benchmark
+    public Date uuid() {
+        return parser.parse(uuids[next()]);
+    }
+
+    @Benchmark
+    public Date stringBaseline() throws ParseException {
+        return format.parse(strings[next()]);
+    }
+
+    @Benchmark
+    public Date string() {
+        return parser.parse(strings[next()]);
+    }
+
+    @Benchmark
+    public String format() {
+        return parser.toString(dates[next()]);
+    }
+
+    @Benchmark
+    public String formatBaseline() {
+        return format.format(dates[next()]);
+    }
+}
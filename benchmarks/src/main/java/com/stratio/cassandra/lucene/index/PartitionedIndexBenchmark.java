@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.index;
+
+import com.stratio.cassandra.lucene.SyntheticTable;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.NumericRangeQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import scala.Option;
+import scala.Tuple2;
+import scala.collection.immutable.List;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static scala.jdk.javaapi.CollectionConverters.asScala;
+
+/**
+ * Benchmark for searches over a {@link PartitionedIndex} stored in a temporary directory, including the merge of the
+ * per-partition results done by {@link DocumentIterator}. It measures the retrieval of one page of results sorted by
+ * primary key, the same way non-scoring CQL queries do.
+ *
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar PartitionedIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartitionedIndexBenchmark {
+
+    private static final int NUM_DOCS = 100_000;
+    private static final int ROWS_PER_PARTITION = 100;
+
+    @Param({"1", "4"})
+    public int partitions;
+
+    @Param({"all", "range"})
+    public String query;
+
+    @Param({"100"})
+    public int count;
+
+    private Path path;
+    private PartitionedIndex index;
+    private List<Tuple2<Object, Option<Term>>> cursors;
+    private Query luceneQuery;
+    private Sort sort;
+
+    @Setup
+    public void setup() throws IOException {
+        SyntheticTable table = new SyntheticTable(SyntheticTable.SKINNY);
+        path = Files.createTempDirectory("benchmarks");
+        index = new PartitionedIndex(partitions, "benchmarks", path, new StandardAnalyzer(),
+                                     1, 64, 5, 30, 0.1, NUM_DOCS);
+        sort = table.keySort();
+        index.init(sort, table.fieldsToLoad());
+        Random random = new Random(0);
+        for (int i = 0; i < NUM_DOCS; i++) {
+            int partition = i / ROWS_PER_PARTITION;
+            int clustering = i % ROWS_PER_PARTITION;
+            Document document = table.document(partition, clustering, random);
+            index.upsert(partition % partitions, table.term(partition, clustering), document);
+        }
+        index.commit();
+        index.refresh();
+        java.util.List<Tuple2<Object, Option<Term>>> javaCursors = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            javaCursors.add(new Tuple2<>(i, Option.empty()));
+        }
+        cursors = asScala(javaCursors).toList();
+        luceneQuery = "all".equals(query)
+                      ? new MatchAllDocsQuery()
+                      : NumericRangeQuery.newLongRange("c2", 0L, Long.MAX_VALUE, true, true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        index.delete();
+    }
+
+    @Benchmark
+    public void search(Blackhole blackhole) {
+        DocumentIterator iterator = index.search(cursors, luceneQuery, sort, count);
+        try {
+            while (iterator.hasNext()) {
+                Tuple2<Document, ScoreDoc> next = iterator.next();
+                blackhole.consume(next);
+            }
+        } finally {
+            iterator.close();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.mapping;
+
+import com.stratio.cassandra.lucene.SyntheticTable;
+import com.stratio.cassandra.lucene.column.Columns;
+import org.apache.cassandra.db.DecoratedKey;
+import org.apache.cassandra.db.rows.Row;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for {@link ColumnsMapper#columns(DecoratedKey, Row, int)}, which extracts the mapped columns of every
+ * written row.
+ *
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar ColumnsMapperBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnsMapperBenchmark {
+
+    private static final int NUM_ROWS = 1024;
+
+    @Param({SyntheticTable.SKINNY, SyntheticTable.WIDE})
+    public String shape;
+
+    private SyntheticTable table;
+    private DecoratedKey[] keys;
+    private Row[] rows;
+    private int index;
+
+    @Setup
+    public void setup() {
+        table = new SyntheticTable(shape);
+        keys = new DecoratedKey[NUM_ROWS];
+        rows = new Row[NUM_ROWS];
+        Random random = new Random(0);
+        for (int i = 0; i < NUM_ROWS; i++) {
+            keys[i] = table.key(i);
+            rows[i] = table.row(i, random);
+        }
+    }
+
+    @Benchmark
+    public Columns columns() {
+        index = (index + 1) & (NUM_ROWS - 1);
+        return table.columns(keys[index], rows[index]);
+    }
+}
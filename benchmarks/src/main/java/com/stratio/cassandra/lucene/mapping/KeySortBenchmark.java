@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.mapping;
+
+import com.stratio.cassandra.lucene.SyntheticTable;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.RAMDirectory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the primary key sort used by the index to collect and page the matching rows, which compares tokens,
+ * partition keys and clustering keys through {@link PartitionMapper} and {@link ClusteringMapper} comparators.
+ *
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar KeySortBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeySortBenchmark {
+
+    private static final int PARTITIONS = 100;
+    private static final int ROWS_PER_PARTITION = 100;
+
+    @Param({"10", "1000"})
+    public int count;
+
+    private RAMDirectory directory;
+    private DirectoryReader reader;
+    private IndexSearcher searcher;
+    private Sort sort;
+
+    @Setup
+    public void setup() throws IOException {
+        SyntheticTable table = new SyntheticTable(SyntheticTable.SKINNY);
+        Random random = new Random(0);
+        directory = new RAMDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()))) {
+            for (int partition = 0; partition < PARTITIONS; partition++) {
+                for (int clustering = 0; clustering < ROWS_PER_PARTITION; clustering++) {
+                    writer.addDocument(table.document(partition, clustering, random));
+                }
+            }
+        }
+        reader = DirectoryReader.open(directory);
+        searcher = new IndexSearcher(reader);
+        sort = table.keySort();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    @Benchmark
+    public TopDocs search() throws IOException {
+        return searcher.search(new MatchAllDocsQuery(), count, sort);
+    }
+}
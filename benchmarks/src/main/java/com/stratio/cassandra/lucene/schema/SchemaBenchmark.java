@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.schema;
+
+import com.stratio.cassandra.lucene.SyntheticTable;
+import com.stratio.cassandra.lucene.column.Columns;
+import org.apache.lucene.index.IndexableField;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for {@link Schema#indexableFields(Columns)}, which maps the columns of every written row to Lucene fields.
+ *
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar SchemaBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaBenchmark {
+
+    private static final int NUM_ROWS = 1024;
+
+    @Param({SyntheticTable.SKINNY, SyntheticTable.WIDE})
+    public String shape;
+
+    private Schema schema;
+    private Columns[] columns;
+    private int index;
+
+    @Setup
+    public void setup() {
+        SyntheticTable table = new SyntheticTable(shape);
+        schema = table.schema;
+        columns = new Columns[NUM_ROWS];
+        Random random = new Random(0);
+        for (int i = 0; i < NUM_ROWS; i++) {
+            columns[i] = table.columns(i, i, random);
+        }
+    }
+
+    @Benchmark
+    public List<IndexableField> indexableFields() {
+        index = (index + 1) & (NUM_ROWS - 1);
+        return schema.indexableFields(columns[index]);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.search;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for {@link SearchBuilder#fromJson(String)}, which parses the JSON search of every CQL query in every
+ * replica.
+ *
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar SearchBuilderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBuilderBenchmark {
+
+    private static final String SIMPLE = "{filter:{type:\"match\",field:\"c0\",value:\"lorem\"}}";
+
+    private static final String COMPLEX = "{filter:{type:\"boolean\"," +
+                                          "must:[{type:\"range\",field:\"c2\",lower:0,upper:1000}," +
+                                          "{type:\"contains\",field:\"c0\",values:[\"lorem\",\"ipsum\",\"dolor\"]}]," +
+                                          "not:[{type:\"wildcard\",field:\"c5\",value:\"a*\"}]}," +
+                                          "query:{type:\"phrase\",field:\"c1\",value:\"lorem ipsum\"}," +
+                                          "sort:{fields:[{field:\"c3\",reverse:true},{field:\"c4\"}]}," +
+                                          "refresh:true}";
+
+    @Param({"simple", "complex"})
+    public String search;
+
+    private String json;
+
+    @Setup
+    public void setup() {
+        json = "simple".equals(search) ? SIMPLE : COMPLEX;
+    }
+
+    @Benchmark
+    public Search fromJson() {
+        return SearchBuilder.fromJson(json).build();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.search.condition;
+
+import com.spatial4j.core.shape.Point;
+import com.stratio.cassandra.lucene.common.GeoDistance;
+import com.stratio.cassandra.lucene.common.GeoDistanceUnit;
+import com.stratio.cassandra.lucene.schema.mapping.GeoPointMapper;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.store.RAMDirectory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.stratio.cassandra.lucene.common.GeospatialUtils.CONTEXT;
+
+/**
+ * Benchmark for the geo_point searches at different {@code max_levels}, to compare the cost of scanning the prefix
+ * tree terms against the cost of verifying the candidates in the cells crossing the query shape boundary.
+ *
+ * Run with {@code java -jar benchmarks/target/benchmarks.jar GeoPointBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeoPointBenchmark {
+
+    private static final int NUM_POINTS = 100_000;
+
+    @Param({"4", "6", "8", "11"})
+    public int maxLevels;
+
+    @Param({"10km", "100km"})
+    public String distance;
+
+    private RAMDirectory directory;
+    private DirectoryReader reader;
+    private IndexSearcher searcher;
+    private Query distanceQuery;
+    private Query ringQuery;
+    private Query bboxQuery;
+
+    @Setup
+    public void setup() throws IOException {
+        GeoPointMapper mapper = new GeoPointMapper("point", false, "lat", "lon", maxLevels);
+        directory = new RAMDirectory();
+        Random random = new Random(0);
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()))) {
+            for (int i = 0; i < NUM_POINTS; i++) {
+                double latitude = 35 + random.nextDouble() * 10;
+                double longitude = -10 + random.nextDouble() * 15;
+                Point point = CONTEXT.makePoint(longitude, latitude);
+                Document document = new Document();
+                for (IndexableField field : mapper.strategy.createIndexableFields(point)) {
+                    document.add(field);
+                }
+                writer.addDocument(document);
+            }
+            writer.forceMerge(1);
+        }
+        reader = DirectoryReader.open(directory);
+        searcher = new IndexSearcher(reader);
+        GeoDistance maxDistance = GeoDistance.parse(distance);
+        GeoDistance minDistance = GeoDistance.parse("1km");
+        distanceQuery = new GeoDistanceCondition(null, "point", 40.0, -3.0, null, maxDistance).doQuery(mapper, null);
+        ringQuery = new GeoDistanceCondition(null, "point", 40.0, -3.0, minDistance, maxDistance).doQuery(mapper, null);
+        double delta = maxDistance.getValue(GeoDistanceUnit.KILOMETRES) / 111;
+        bboxQuery = new GeoBBoxCondition(null, "point", 40 - delta, 40 + delta, -3 - delta, -3 + delta)
+                .doQuery(mapper, null);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    @Benchmark
+    public int distance() throws IOException {
+        return searcher.count(distanceQuery);
+    }
+
+    @Benchmark
+    public int ring() throws IOException {
+        return searcher.count(ringQuery);
+    }
+
+    @Benchmark
+    public int bbox() throws IOException {
+        return searcher.count(bboxQuery);
+    }
+}
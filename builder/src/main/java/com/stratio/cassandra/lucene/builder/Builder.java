@@ -25,6 +25,7 @@ import com.stratio.cassandra.lucene.builder.index.schema.analysis.SnowballAnalyz
 import com.stratio.cassandra.lucene.builder.index.schema.mapping.*;
 import com.stratio.cassandra.lucene.builder.search.Search;
 import com.stratio.cassandra.lucene.builder.search.condition.*;
+import com.stratio.cassandra.lucene.builder.search.facet.Facet;
 import com.stratio.cassandra.lucene.builder.search.sort.GeoDistanceSortField;
 import com.stratio.cassandra.lucene.builder.search.sort.SimpleSortField;
 
@@ -262,6 +263,16 @@ public abstract class Builder {
         return new Search();
     }
 
+    /**
+     * Returns a new {@link Facet} counting the most frequent values of the specified field.
+     *
+     * @param field the name of the field whose values are counted
+     * @return a new facet
+     */
+    public static Facet facet(String field) {
+        return new Facet(field);
+    }
+
     /**
      * Returns a new {@link AllCondition}.
      *
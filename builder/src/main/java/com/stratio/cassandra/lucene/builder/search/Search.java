@@ -17,6 +17,7 @@ package com.stratio.cassandra.lucene.builder.search;
 
 import com.stratio.cassandra.lucene.builder.JSONBuilder;
 import com.stratio.cassandra.lucene.builder.search.condition.Condition;
+import com.stratio.cassandra.lucene.builder.search.facet.Facet;
 import com.stratio.cassandra.lucene.builder.search.sort.Sort;
 import com.stratio.cassandra.lucene.builder.search.sort.SortField;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -48,6 +49,10 @@ public class Search extends JSONBuilder {
     @JsonProperty("refresh")
     private Boolean refresh;
 
+    /** The {@link Facet}s to be counted in the matched rows. */
+    @JsonProperty("facets")
+    private List<Facet> facets;
+
     /** Default constructor. */
     public Search() {
     }
@@ -97,4 +102,15 @@ public class Search extends JSONBuilder {
         return this;
     }
 
+    /**
+     * Sets the facets to be counted in the matched rows.
+     *
+     * @param facets the facets to be added
+     * @return this with the specified facets
+     */
+    public Search facets(Facet... facets) {
+        this.facets = add(this.facets, facets);
+        return this;
+    }
+
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.builder.search.facet;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.stratio.cassandra.lucene.builder.JSONBuilder;
+
+/**
+ * A facet counting the most frequent values of a field in the rows matching a search.
+ */
+public class Facet extends JSONBuilder {
+
+    /** The name of the field whose values are counted. */
+    @JsonProperty("field")
+    final String field;
+
+    /** The max number of values to be returned. */
+    @JsonProperty("limit")
+    Integer limit;
+
+    /**
+     * Creates a new {@link Facet} for the specified field.
+     *
+     * @param field the name of the field whose values are counted
+     */
+    @JsonCreator
+    public Facet(@JsonProperty("field") String field) {
+        this.field = field;
+    }
+
+    /**
+     * Returns this with the specified max number of values to be returned.
+     *
+     * @param limit the max number of values to be returned
+     * @return this with the specified limit
+     */
+    public Facet limit(Integer limit) {
+        this.limit = limit;
+        return this;
+    }
+}
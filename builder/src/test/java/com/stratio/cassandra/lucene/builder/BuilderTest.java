@@ -872,6 +872,13 @@ public class BuilderTest {
         assertEquals("search serialization is wrong", expected, actual);
     }
 
+    @Test
+    public void testSearchFacets() {
+        String actual = search().facets(facet("f1"), facet("f2").limit(5)).build();
+        String expected = "{\"facets\":[{\"field\":\"f1\"},{\"field\":\"f2\",\"limit\":5}]}";
+        assertEquals("search serialization is wrong", expected, actual);
+    }
+
     @Test
     public void testSearchNestedBool() {
         String actual = search().filter(must(match("f1", 1)).should(match("f2", 2)).not(match("f3", 3)))
@@ -19,13 +19,42 @@ import com.stratio.cassandra.lucene.IndexException;
 import org.apache.cassandra.utils.UUIDGen;
 
 import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.format.SignStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
 
+import static java.time.temporal.ChronoField.*;
+
 /**
  * Unified class for parsing {@link Date}s from {@link Object}s.
  *
+ * The patterns are {@link SimpleDateFormat} patterns. The patterns composed only by numeric year, month, day, hour,
+ * minute, second and millisecond fields, RFC 822 time zones and literals are compiled into immutable {@link
+ * DateTimeFormatter}s, and the {@link Date}s and time UUIDs are truncated to the fields of those patterns without
+ * formatting and parsing them back. The compiled formatters are stricter than {@link SimpleDateFormat}, so the {@code
+ * String}s that they can't parse, such as general time zones or leading whitespace, are parsed again with {@link
+ * SimpleDateFormat}. Any other pattern, or dates before 1901, are processed with {@link SimpleDateFormat}.
+ *
  * @author Eduardo Alonso {@literal <eduardoalonso@stratio.com>}
  */
 public class DateParser {
@@ -33,10 +62,38 @@ public class DateParser {
     /** The default date pattern for parsing {@code String}s and truncations. */
     public static final String DEFAULT_PATTERN = "yyyy/MM/dd HH:mm:ss.SSS Z";
 
+    /**
+     * The first timestamp processed with {@code java.time}, 1901-01-01T00:00:00Z. Before it, {@link SimpleDateFormat}
+     * uses the Julian calendar and legacy time zone offsets.
+     */
+    private static final long MIN_TIMESTAMP = -2177452800000L;
+
+    /** The calendar fields supported by the compiled patterns, from the most to the least significant. */
+    private static final ChronoField[] FIELDS = {
+            YEAR, MONTH_OF_YEAR, DAY_OF_MONTH, HOUR_OF_DAY, MINUTE_OF_HOUR, SECOND_OF_MINUTE, MILLI_OF_SECOND};
+
+    /** The values of the supported calendar fields that are not in the pattern, as in the epoch. */
+    private static final int[] DEFAULTS = {1970, 1, 1, 0, 0, 0, 0};
+
     /** The {@link SimpleDateFormat} pattern. */
     public final String pattern;
 
-    /** The thread safe date format. */
+    /** The time zone for the patterns without time zone. */
+    private final ZoneId zone;
+
+    /** The supported calendar fields contained in the pattern, which are kept on truncation. */
+    private final Set<ChronoField> fields = EnumSet.noneOf(ChronoField.class);
+
+    /** If the pattern contains a time zone. */
+    private final boolean hasOffset;
+
+    /** The formatter for parsing {@code String}s, or {@code null} if the pattern is not supported. */
+    private final DateTimeFormatter parser;
+
+    /** The formatter for formatting {@link Date}s, or {@code null} if the pattern is not supported. */
+    private final DateTimeFormatter printer;
+
+    /** The thread safe date format for not supported patterns and dates. */
     private final ThreadLocal<DateFormat> formatter;
 
     /**
@@ -47,13 +104,53 @@ public class DateParser {
     public DateParser(String pattern) {
         this.pattern = pattern == null ? DEFAULT_PATTERN : pattern;
         formatter = formatter(this.pattern);
+        zone = ZoneId.systemDefault();
+        List<Token> tokens = tokens(this.pattern);
+        hasOffset = tokens != null && tokens.stream().anyMatch(Token::isOffset);
+        if (tokens == null) {
+            parser = null;
+            printer = null;
+        } else {
+            DateTimeFormatterBuilder parserBuilder = new DateTimeFormatterBuilder();
+            DateTimeFormatterBuilder printerBuilder = new DateTimeFormatterBuilder();
+            for (int i = 0; i < tokens.size(); i++) {
+                Token token = tokens.get(i);
+                if (token.literal != null) {
+                    parserBuilder.appendLiteral(token.literal);
+                    printerBuilder.appendLiteral(token.literal);
+                } else if (token.isOffset()) {
+                    parserBuilder.appendOffset("+HHMM", "+0000");
+                    printerBuilder.appendOffset("+HHMM", "+0000");
+                } else {
+                    fields.add(token.field);
+                    // As in SimpleDateFormat, a field followed by another numeric field has fixed width
+                    if (i < tokens.size() - 1 && tokens.get(i + 1).isNumeric()) {
+                        parserBuilder.appendValue(token.field, token.count);
+                    } else {
+                        parserBuilder.appendValue(token.field, 1, 19, SignStyle.NOT_NEGATIVE);
+                    }
+                    printerBuilder.appendValue(token.field, token.count, 19, SignStyle.NOT_NEGATIVE);
+                }
+            }
+            for (int i = 0; i < FIELDS.length; i++) {
+                if (!fields.contains(FIELDS[i])) {
+                    parserBuilder.parseDefaulting(FIELDS[i], DEFAULTS[i]);
+                }
+            }
+            parser = parserBuilder.toFormatter(Locale.ROOT)
+                                  .withChronology(IsoChronology.INSTANCE)
+                                  .withResolverStyle(ResolverStyle.STRICT);
+            printer = printerBuilder.toFormatter(Locale.ROOT);
+        }
     }
 
     private static ThreadLocal<DateFormat> formatter(final String pattern) {
         new SimpleDateFormat(pattern);
-        ThreadLocal<DateFormat> formatter = ThreadLocal.withInitial(() -> new SimpleDateFormat(pattern));
-        formatter.get().setLenient(false);
-        return formatter;
+        return ThreadLocal.withInitial(() -> {
+            DateFormat formatter = new SimpleDateFormat(pattern);
+            formatter.setLenient(false);
+            return formatter;
+        });
     }
 
     /**
@@ -76,18 +173,14 @@ public class DateParser {
                 if (date.getTime() == Long.MAX_VALUE || date.getTime() == Long.MIN_VALUE) {
                     return date;
                 } else {
-                    String string = formatter.get().format(date);
-                    return formatter.get().parse(string);
+                    return truncate(date.getTime());
                 }
             } else if (value instanceof UUID) {
-                long timestamp = UUIDGen.getAdjustedTimestamp((UUID) value);
-                Date date = new Date(timestamp);
-                return formatter.get().parse(formatter.get().format(date));
+                return truncate(UUIDGen.getAdjustedTimestamp((UUID) value));
             } else if (Number.class.isAssignableFrom(value.getClass())) {
-                Long number = ((Number) value).longValue();
-                return formatter.get().parse(number.toString());
+                return parseString(Long.toString(((Number) value).longValue()));
             } else {
-                return formatter.get().parse(value.toString());
+                return parseString(value.toString());
             }
         } catch (Exception e) {
             throw new IndexException(e, "Error parsing {} with value '{}' using date pattern {}",
@@ -95,11 +188,188 @@ public class DateParser {
         }
     }
 
+    /**
+     * Returns the {@link Date} resulting from formatting and parsing the specified timestamp with the pattern, that is,
+     * discarding the calendar fields not contained in the pattern.
+     *
+     * @param timestamp a timestamp in milliseconds
+     * @return the truncated date
+     * @throws ParseException if the timestamp can't be represented with the pattern
+     */
+    private Date truncate(long timestamp) throws ParseException {
+        if (parser == null || timestamp < MIN_TIMESTAMP) {
+            return formatter.get().parse(formatter.get().format(new Date(timestamp)));
+        }
+        ZonedDateTime dateTime = Instant.ofEpochMilli(timestamp).atZone(zone);
+        int[] values = new int[FIELDS.length];
+        for (int i = 0; i < FIELDS.length; i++) {
+            values[i] = fields.contains(FIELDS[i]) ? dateTime.get(FIELDS[i]) : DEFAULTS[i];
+        }
+        LocalDateTime truncated = LocalDateTime.of(
+                values[0], values[1], values[2], values[3], values[4], values[5], values[6] * 1_000_000);
+        // Formatted time zones don't have seconds
+        int offsetSeconds = dateTime.getOffset().getTotalSeconds() / 60 * 60;
+        Instant instant = hasOffset
+                          ? truncated.toInstant(ZoneOffset.ofTotalSeconds(offsetSeconds))
+                          : truncated.atZone(zone).withLaterOffsetAtOverlap().toInstant();
+        return new Date(instant.toEpochMilli());
+    }
+
+    /**
+     * Returns the {@link Date} represented by the specified {@code String}. As in {@link DateFormat#parse(String)},
+     * the text following the pattern is ignored. The text not accepted by the compiled formatter is parsed with {@link
+     * SimpleDateFormat}.
+     *
+     * @param text the text to be parsed
+     * @return the parsed date
+     * @throws ParseException if the text can't be parsed
+     */
+    private Date parseString(String text) throws ParseException {
+        if (parser == null) {
+            return formatter.get().parse(text);
+        }
+        long timestamp;
+        try {
+            TemporalAccessor parsed = parser.parse(text, new ParsePosition(0));
+            LocalDateTime dateTime = LocalDateTime.from(parsed);
+            Instant instant = hasOffset
+                              ? dateTime.toInstant(ZoneOffset.ofTotalSeconds(parsed.get(OFFSET_SECONDS)))
+                              : dateTime.atZone(zone).withLaterOffsetAtOverlap().toInstant();
+            timestamp = instant.toEpochMilli();
+        } catch (DateTimeException e) {
+            // Input accepted by SimpleDateFormat but not by the compiled formatter, or invalid input
+            return formatter.get().parse(text);
+        }
+        return timestamp < MIN_TIMESTAMP ? formatter.get().parse(text) : new Date(timestamp);
+    }
+
     public String toString(Date date) {
-        return formatter.get().format(date);
+        if (printer == null || date.getTime() < MIN_TIMESTAMP) {
+            return formatter.get().format(date);
+        }
+        return printer.format(Instant.ofEpochMilli(date.getTime()).atZone(zone));
     }
 
     public String toString() {
         return pattern;
     }
+
+    /**
+     * Returns the tokens composing the specified {@link SimpleDateFormat} pattern, or {@code null} if it contains any
+     * element that can't be represented with the same semantics by the compiled formatters.
+     *
+     * @param pattern a {@link SimpleDateFormat} pattern
+     * @return the tokens of the pattern, or {@code null} if it is not supported
+     */
+    private static List<Token> tokens(String pattern) {
+        List<Token> tokens = new ArrayList<>();
+        Set<ChronoField> seen = EnumSet.noneOf(ChronoField.class);
+        boolean seenOffset = false;
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                StringBuilder literal = new StringBuilder();
+                int j = i + 1;
+                if (j < pattern.length() && pattern.charAt(j) == '\'') {
+                    literal.append('\'');
+                } else {
+                    while (true) {
+                        if (j >= pattern.length()) {
+                            return null;
+                        } else if (pattern.charAt(j) != '\'') {
+                            literal.append(pattern.charAt(j++));
+                        } else if (j + 1 < pattern.length() && pattern.charAt(j + 1) == '\'') {
+                            literal.append('\'');
+                            j += 2;
+                        } else {
+                            break;
+                        }
+                    }
+                }
+                tokens.add(new Token(literal.toString()));
+                i = j + 1;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int count = 1;
+                while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+                    count++;
+                }
+                if (c == 'Z') {
+                    if (seenOffset) {
+                        return null;
+                    }
+                    seenOffset = true;
+                    tokens.add(new Token(null, count));
+                } else {
+                    ChronoField field = field(c, count);
+                    if (field == null || count > 19 || !seen.add(field)) {
+                        return null;
+                    }
+                    tokens.add(new Token(field, count));
+                }
+                i += count;
+            } else {
+                tokens.add(new Token(String.valueOf(c)));
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the numeric calendar field represented by the specified {@link SimpleDateFormat} pattern letter, or
+     * {@code null} if it is not supported.
+     *
+     * @param letter the pattern letter
+     * @param count the number of consecutive repetitions of the letter
+     * @return the calendar field, or {@code null} if it is not supported
+     */
+    private static ChronoField field(char letter, int count) {
+        switch (letter) {
+            case 'y':
+                return count == 2 ? null : YEAR; // Two digits years are relative to the current century
+            case 'M':
+                return count > 2 ? null : MONTH_OF_YEAR; // Longer months are text
+            case 'd':
+                return DAY_OF_MONTH;
+            case 'H':
+                return HOUR_OF_DAY;
+            case 'm':
+                return MINUTE_OF_HOUR;
+            case 's':
+                return SECOND_OF_MINUTE;
+            case 'S':
+                return MILLI_OF_SECOND;
+            default:
+                return null;
+        }
+    }
+
+    /** A literal, a numeric calendar field or a time zone in a date pattern. */
+    private static final class Token {
+
+        final String literal;
+        final ChronoField field;
+        final int count;
+
+        Token(String literal) {
+            this.literal = literal;
+            this.field = null;
+            this.count = 0;
+        }
+
+        Token(ChronoField field, int count) {
+            this.literal = null;
+            this.field = field;
+            this.count = count;
+        }
+
+        boolean isNumeric() {
+            return field != null;
+        }
+
+        boolean isOffset() {
+            return literal == null && field == null;
+        }
+    }
 }
@@ -26,6 +26,7 @@ import com.vividsolutions.jts.geom.Geometry;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 import static com.stratio.cassandra.lucene.common.GeospatialUtilsJTS.CONTEXT;
 import static com.stratio.cassandra.lucene.common.GeospatialUtilsJTS.geometry;
@@ -83,6 +84,25 @@ public interface GeoShape {
             return geometry(value);
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            WKT that = (WKT) o;
+            return Objects.equals(value, that.value);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return Objects.hash(getClass(), value);
+        }
+
         /** {@inheritDoc} */
         @Override
         public String toString() {
@@ -122,6 +142,25 @@ public interface GeoShape {
             return CONTEXT.makeShape(geometry);
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            BBox that = (BBox) o;
+            return Objects.equals(shape, that.shape);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return Objects.hash(getClass(), shape);
+        }
+
         /** {@inheritDoc} */
         @Override
         public String toString() {
@@ -183,6 +222,25 @@ public interface GeoShape {
             return max;
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Buffer that = (Buffer) o;
+            return Objects.equals(shape, that.shape) && Objects.equals(minDistance, that.minDistance) && Objects.equals(maxDistance, that.maxDistance);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return Objects.hash(getClass(), shape, minDistance, maxDistance);
+        }
+
         /** {@inheritDoc} */
         @Override
         public String toString() {
@@ -223,6 +281,25 @@ public interface GeoShape {
             return CONTEXT.makeShape(centroid);
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Centroid that = (Centroid) o;
+            return Objects.equals(shape, that.shape);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return Objects.hash(getClass(), shape);
+        }
+
         /** {@inheritDoc} */
         @Override
         public String toString() {
@@ -260,6 +337,25 @@ public interface GeoShape {
             return CONTEXT.makeShape(centroid);
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ConvexHull that = (ConvexHull) o;
+            return Objects.equals(shape, that.shape);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return Objects.hash(getClass(), shape);
+        }
+
         /** {@inheritDoc} */
         @Override
         public String toString() {
@@ -300,6 +396,25 @@ public interface GeoShape {
             return CONTEXT.makeShape(result);
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Difference that = (Difference) o;
+            return Objects.equals(shapes, that.shapes);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return Objects.hash(getClass(), shapes);
+        }
+
         /** {@inheritDoc} */
         @Override
         public String toString() {
@@ -340,6 +455,25 @@ public interface GeoShape {
             return CONTEXT.makeShape(result);
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Intersection that = (Intersection) o;
+            return Objects.equals(shapes, that.shapes);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return Objects.hash(getClass(), shapes);
+        }
+
         /** {@inheritDoc} */
         @Override
         public String toString() {
@@ -380,6 +514,25 @@ public interface GeoShape {
             return CONTEXT.makeShape(result);
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Union that = (Union) o;
+            return Objects.equals(shapes, that.shapes);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return Objects.hash(getClass(), shapes);
+        }
+
         @Override
         public String toString() {
             return MoreObjects.toStringHelper(this).add("shapes", shapes).toString();
@@ -15,6 +15,8 @@
  */
 package com.stratio.cassandra.lucene.common;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.spatial4j.core.context.jts.JtsSpatialContext;
 import com.spatial4j.core.shape.jts.JtsGeometry;
 import com.stratio.cassandra.lucene.IndexException;
@@ -39,6 +41,12 @@ public class GeospatialUtilsJTS extends GeospatialUtils {
     /** The spatial context to be used. */
     public static final JtsSpatialContext CONTEXT = JtsSpatialContext.GEO;
 
+    /** The max total number of vertices of the geometries kept in each geometry cache. */
+    public static final int MAX_CACHED_VERTICES = 500000;
+
+    /** The already built search shapes. */
+    private static final Cache<GeoShape, JtsGeometry> SHAPES = geometryCache();
+
     /**
      * Returns the {@link JtsGeometry} represented by the specified WKT text.
      *
@@ -61,4 +69,35 @@ public class GeospatialUtilsJTS extends GeospatialUtils {
             throw new IndexException(e, "Shape '{}' is not parseable", string);
         }
     }
+
+    /**
+     * Returns a new cache of {@link JtsGeometry}s bounded by the total number of vertices of the cached geometries.
+     *
+     * @param <K> the type of the keys
+     * @return a new geometry cache
+     */
+    public static <K> Cache<K, JtsGeometry> geometryCache() {
+        return CacheBuilder.newBuilder()
+                           .maximumWeight(MAX_CACHED_VERTICES)
+                           .<K, JtsGeometry>weigher((key, geometry) -> geometry.getGeom().getNumPoints() + 1)
+                           .build();
+    }
+
+    /**
+     * Returns the indexed {@link JtsGeometry} resulting of applying the specified {@link GeoShape}. Built geometries
+     * are cached, so repeated searches with the same shape don't parse nor transform it again. The returned geometry
+     * is indexed with a JTS prepared geometry to speed up the computation of spatial relations.
+     *
+     * @param shape the shape definition
+     * @return the built and indexed geometry
+     */
+    public static JtsGeometry geometry(GeoShape shape) {
+        JtsGeometry geometry = SHAPES.getIfPresent(shape);
+        if (geometry == null) {
+            geometry = shape.apply();
+            geometry.index();
+            SHAPES.put(shape, geometry);
+        }
+        return geometry;
+    }
 }
@@ -19,11 +19,14 @@ import com.google.common.base.MoreObjects;
 import com.stratio.cassandra.lucene.column.Column;
 import com.stratio.cassandra.lucene.column.Columns;
 import com.stratio.cassandra.lucene.schema.mapping.Mapper;
+import com.stratio.cassandra.lucene.schema.mapping.SingleColumnMapper;
 import com.stratio.cassandra.lucene.search.Search;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.index.IndexableField;
 
 import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +52,12 @@ public class Schema implements Closeable {
     /** The names of the mapped cells. */
     private final Set<String> mappedCells;
 
+    /** The {@link SingleColumnMapper}s indexed by the mapper name of the columns they map. */
+    private final Map<String, List<SingleColumnMapper<?>>> singleColumnMappers = new HashMap<>();
+
+    /** The {@link Mapper}s which are not {@link SingleColumnMapper}s, thus requiring all the columns. */
+    private final List<Mapper> multipleColumnMappers = new ArrayList<>();
+
     /**
      * Returns a new {@code Schema} for the specified {@link Mapper}s and {@link Analyzer}s.
      *
@@ -65,6 +74,15 @@ public class Schema implements Closeable {
                              .flatMap(x -> x.mappedColumns.stream())
                              .map(Column::parseCellName)
                              .collect(Collectors.toSet());
+        for (Mapper mapper : mappers.values()) {
+            if (mapper instanceof SingleColumnMapper) {
+                SingleColumnMapper<?> singleColumnMapper = (SingleColumnMapper<?>) mapper;
+                String mapperName = Column.parseMapperName(singleColumnMapper.column);
+                singleColumnMappers.computeIfAbsent(mapperName, x -> new ArrayList<>(1)).add(singleColumnMapper);
+            } else {
+                multipleColumnMappers.add(mapper);
+            }
+        }
     }
 
     /**
@@ -110,14 +128,27 @@ public class Schema implements Closeable {
 
     /**
      * Returns the Lucene {@link IndexableField}s resulting from the mapping of the specified {@link Columns}. <p> This
-     * is done in a best-effort way, so each mapper errors are logged and ignored.
+     * is done in a best-effort way, so each mapper errors are logged and ignored. <p> Each column is dispatched to the
+     * single column mappers mapping its name in a single pass, so the cost is linear to the number of columns.
      *
      * @param columns the {@link Columns} to be added
      * @return a list of indexable fields
      */
     public List<IndexableField> indexableFields(Columns columns) {
-        List<IndexableField> fields = new LinkedList<>();
-        mappers.values().forEach(mapper -> fields.addAll(mapper.bestEffortIndexableFields(columns)));
+        List<IndexableField> fields = new ArrayList<>();
+        scala.collection.Iterator<Column> iterator = columns.iterator();
+        while (iterator.hasNext()) {
+            Column column = iterator.next();
+            List<SingleColumnMapper<?>> columnMappers = singleColumnMappers.get(column.mapper());
+            if (columnMappers != null) {
+                for (SingleColumnMapper<?> mapper : columnMappers) {
+                    fields.addAll(mapper.bestEffortIndexableFields(column));
+                }
+            }
+        }
+        for (Mapper mapper : multipleColumnMappers) {
+            fields.addAll(mapper.bestEffortIndexableFields(columns));
+        }
         return fields;
     }
 
@@ -21,19 +21,24 @@ import com.stratio.cassandra.lucene.IndexException;
 import com.stratio.cassandra.lucene.column.Columns;
 import com.stratio.cassandra.lucene.common.GeospatialUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.index.IndexableField;
 import org.apache.lucene.search.SortField;
 import org.apache.lucene.spatial.composite.CompositeSpatialStrategy;
 import org.apache.lucene.spatial.prefix.RecursivePrefixTreeStrategy;
 import org.apache.lucene.spatial.prefix.tree.GeohashPrefixTree;
 import org.apache.lucene.spatial.prefix.tree.SpatialPrefixTree;
+import org.apache.lucene.spatial.query.SpatialOperation;
 import org.apache.lucene.spatial.serialized.SerializedDVStrategy;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import static com.stratio.cassandra.lucene.common.GeospatialUtils.CONTEXT;
+import static com.stratio.cassandra.lucene.common.GeospatialUtils.MAX_LATITUDE;
+import static com.stratio.cassandra.lucene.common.GeospatialUtils.MAX_LONGITUDE;
 
 /**
  * A {@link Mapper} to map geographical points.
@@ -45,6 +50,9 @@ public class GeoPointMapper extends MultipleColumnMapper {
     /** The default max number of levels for geohash search trees. */
     public static final int DEFAULT_MAX_LEVELS = 11;
 
+    /** The suffix of the doc values field storing the packed latitude and longitude. */
+    public static final String LAT_LON_SUFFIX = ".latlon";
+
     /** The name of the latitude column. */
     public final String latitude;
 
@@ -57,6 +65,9 @@ public class GeoPointMapper extends MultipleColumnMapper {
     /** The spatial strategy. */
     public final CompositeSpatialStrategy strategy;
 
+    /** The name of the doc values field storing the packed latitude and longitude. */
+    public final String latLonField;
+
     /**
      * Builds a new {@link GeoPointMapper}.
      *
@@ -87,6 +98,7 @@ public class GeoPointMapper extends MultipleColumnMapper {
         RecursivePrefixTreeStrategy indexStrategy = new RecursivePrefixTreeStrategy(grid, field);
         SerializedDVStrategy geometryStrategy = new SerializedDVStrategy(CONTEXT, field);
         strategy = new CompositeSpatialStrategy(field, indexStrategy, geometryStrategy);
+        latLonField = field + LAT_LON_SUFFIX;
     }
 
     /** {@inheritDoc} */
@@ -106,7 +118,57 @@ public class GeoPointMapper extends MultipleColumnMapper {
 
         Point point = CONTEXT.makePoint(lon, lat);
 
-        return Arrays.asList(strategy.createIndexableFields(point));
+        List<IndexableField> fields = new ArrayList<>(Arrays.asList(strategy.createIndexableFields(point)));
+        fields.add(new NumericDocValuesField(latLonField, encodeLatLon(lat, lon)));
+        return fields;
+    }
+
+    /**
+     * Returns the specified latitude and longitude packed into a {@code long}, with the latitude in the 32 most
+     * significant bits and the longitude in the 32 least significant bits. The encoding precision is under one
+     * centimeter.
+     *
+     * @param latitude a latitude in the range [-90, 90]
+     * @param longitude a longitude in the range [-180, 180]
+     * @return the packed latitude and longitude
+     */
+    public static long encodeLatLon(double latitude, double longitude) {
+        long lat = Math.round(latitude / MAX_LATITUDE * Integer.MAX_VALUE);
+        long lon = Math.round(longitude / MAX_LONGITUDE * Integer.MAX_VALUE);
+        return (lat << 32) | (lon & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the latitude contained in the specified packed latitude and longitude.
+     *
+     * @param latLon a latitude and longitude packed with {@link #encodeLatLon(double, double)}
+     * @return the latitude
+     */
+    public static double decodeLatitude(long latLon) {
+        return (int) (latLon >> 32) * MAX_LATITUDE / Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the longitude contained in the specified packed latitude and longitude.
+     *
+     * @param latLon a latitude and longitude packed with {@link #encodeLatLon(double, double)}
+     * @return the longitude
+     */
+    public static double decodeLongitude(long latLon) {
+        return (int) latLon * MAX_LONGITUDE / Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the {@link SpatialOperation} to be used to search for the points related to a shape according to the
+     * specified operation. A point is within a shape if and only if it intersects the shape, and the intersection
+     * queries only verify the points in the tree cells crossing the shape boundary, whereas the other operations verify
+     * all the candidate points.
+     *
+     * @param operation the requested spatial operation
+     * @return the equivalent spatial operation that is cheapest to search
+     */
+    public static SpatialOperation searchOperation(SpatialOperation operation) {
+        return operation == SpatialOperation.IsWithin ? SpatialOperation.Intersects : operation;
     }
 
     /** {@inheritDoc} */
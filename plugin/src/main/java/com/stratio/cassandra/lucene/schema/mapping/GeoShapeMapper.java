@@ -16,6 +16,7 @@
 package com.stratio.cassandra.lucene.schema.mapping;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
 import com.spatial4j.core.shape.jts.JtsGeometry;
 import com.stratio.cassandra.lucene.IndexException;
 import com.stratio.cassandra.lucene.common.GeoTransformation;
@@ -35,6 +36,7 @@ import java.util.List;
 
 import static com.stratio.cassandra.lucene.common.GeospatialUtilsJTS.CONTEXT;
 import static com.stratio.cassandra.lucene.common.GeospatialUtilsJTS.geometry;
+import static com.stratio.cassandra.lucene.common.GeospatialUtilsJTS.geometryCache;
 
 /**
  * A {@link Mapper} to map geographical shapes represented according to the <a href="http://en.wikipedia.org/wiki/Well-known_text">
@@ -66,6 +68,9 @@ public class GeoShapeMapper extends SingleColumnMapper<String> {
     /** The sequence of transformations to be applied to the shape before indexing. */
     public final List<GeoTransformation> transformations;
 
+    /** The already parsed and transformed shapes, indexed by their WKT. */
+    private final Cache<String, JtsGeometry> shapes = geometryCache();
+
     /**
      * Builds a new {@link GeoShapeMapper}.
      *
@@ -103,9 +108,14 @@ public class GeoShapeMapper extends SingleColumnMapper<String> {
     /** {@inheritDoc} */
     @Override
     public List<IndexableField> indexableFields(String name, String value) {
-        JtsGeometry shape = geometry(value);
-        for (GeoTransformation transformation : transformations) {
-            shape = transformation.apply(shape);
+        JtsGeometry shape = shapes.getIfPresent(value);
+        if (shape == null) {
+            shape = geometry(value);
+            for (GeoTransformation transformation : transformations) {
+                shape = transformation.apply(shape);
+            }
+            shape.index();
+            shapes.put(value, shape);
         }
         return Arrays.asList(strategy.createIndexableFields(shape));
     }
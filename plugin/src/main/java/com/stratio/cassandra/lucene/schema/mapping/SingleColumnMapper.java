@@ -101,10 +101,21 @@ public abstract class SingleColumnMapper<T extends Comparable<T>> extends Mapper
     @Override
     public List<IndexableField> bestEffortIndexableFields(Columns columns) {
         List<IndexableField> fields = new LinkedList<>();
-        columns.foreachWithMapper(column, c -> fields.addAll(bestEffort(c, this::indexableFields)));
+        columns.foreachWithMapper(column, c -> fields.addAll(bestEffortIndexableFields(c)));
         return fields;
     }
 
+    /**
+     * Returns the Lucene {@link IndexableField}s resulting from the mapping of the specified {@link Column}, ignoring
+     * any mapping errors. The column is expected to have the same mapper name as this.
+     *
+     * @param column the column
+     * @return a list of indexable fields
+     */
+    public List<IndexableField> bestEffortIndexableFields(Column column) {
+        return bestEffort(column, this::indexableFields);
+    }
+
     /** {@inheritDoc} */
     @Override
     public List<IndexableField> indexableFields(Columns columns) {
@@ -15,6 +15,11 @@
  */
 package com.stratio.cassandra.lucene.schema.mapping;
 
+import org.apache.lucene.document.Field;
+import org.apache.lucene.index.IndexableField;
+
+import java.util.List;
+
 /**
  * A {@link Mapper} to map a string, not tokenized field.
  *
@@ -25,9 +30,18 @@ public class StringMapper extends KeywordMapper {
     /** The default case sensitive option. */
     public static final boolean DEFAULT_CASE_SENSITIVE = true;
 
+    /** The default reversed option. */
+    public static final boolean DEFAULT_REVERSED = false;
+
+    /** The suffix of the fields containing the reversed values. */
+    public static final String REVERSED_SUFFIX = ".reversed";
+
     /** If it must be case sensitive. */
     public final boolean caseSensitive;
 
+    /** If the reversed values must be indexed too, to speed up wildcard searches starting with a wildcard. */
+    public final boolean reversed;
+
     /**
      * Builds a new {@link StringMapper}.
      *
@@ -35,10 +49,42 @@ public class StringMapper extends KeywordMapper {
      * @param column the name of the column to be mapped
      * @param validated if the field must be validated
      * @param caseSensitive if the analyzer must be case sensitive
+     * @param reversed if the reversed values must be indexed too
      */
-    public StringMapper(String field, String column, Boolean validated, Boolean caseSensitive) {
+    public StringMapper(String field, String column, Boolean validated, Boolean caseSensitive, Boolean reversed) {
         super(field, column, validated, PRINTABLE_TYPES);
         this.caseSensitive = caseSensitive == null ? DEFAULT_CASE_SENSITIVE : caseSensitive;
+        this.reversed = reversed == null ? DEFAULT_REVERSED : reversed;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<IndexableField> indexableFields(String name, String value) {
+        List<IndexableField> fields = super.indexableFields(name, value);
+        if (reversed) {
+            fields.add(new Field(reversedField(name), reverse(value), FIELD_TYPE));
+        }
+        return fields;
+    }
+
+    /**
+     * Returns the name of the field containing the reversed values of the specified field.
+     *
+     * @param name the name of the field
+     * @return the name of the reversed field
+     */
+    public static String reversedField(String name) {
+        return name + REVERSED_SUFFIX;
+    }
+
+    /**
+     * Returns the specified string with its code points in reverse order.
+     *
+     * @param value the string to be reversed
+     * @return the reversed string
+     */
+    public static String reverse(String value) {
+        return new StringBuilder(value).reverse().toString();
     }
 
     /** {@inheritDoc} */
@@ -51,6 +97,6 @@ public class StringMapper extends KeywordMapper {
     /** {@inheritDoc} */
     @Override
     public String toString() {
-        return toStringHelper(this).add("caseSensitive", caseSensitive).toString();
+        return toStringHelper(this).add("caseSensitive", caseSensitive).add("reversed", reversed).toString();
     }
 }
@@ -28,6 +28,9 @@ public class StringMapperBuilder extends SingleColumnMapperBuilder<StringMapper,
     @JsonProperty("case_sensitive")
     private Boolean caseSensitive;
 
+    @JsonProperty("reversed")
+    private Boolean reversed;
+
     /**
      * Sets if the {@link StringMapper} to be built must be case sensitive.
      *
@@ -39,6 +42,17 @@ public class StringMapperBuilder extends SingleColumnMapperBuilder<StringMapper,
         return this;
     }
 
+    /**
+     * Sets if the {@link StringMapper} to be built must index the reversed values too.
+     *
+     * @param reversed if the {@link StringMapper} to be built must index the reversed values
+     * @return this
+     */
+    public StringMapperBuilder reversed(Boolean reversed) {
+        this.reversed = reversed;
+        return this;
+    }
+
     /**
      * Returns the {@link StringMapper} represented by this {@link MapperBuilder}.
      *
@@ -47,6 +61,6 @@ public class StringMapperBuilder extends SingleColumnMapperBuilder<StringMapper,
      */
     @Override
     public StringMapper build(String field) {
-        return new StringMapper(field, column, validated, caseSensitive);
+        return new StringMapper(field, column, validated, caseSensitive, reversed);
     }
 }
@@ -19,6 +19,7 @@ import com.google.common.base.MoreObjects;
 import com.stratio.cassandra.lucene.IndexPagingState;
 import com.stratio.cassandra.lucene.schema.Schema;
 import com.stratio.cassandra.lucene.search.condition.Condition;
+import com.stratio.cassandra.lucene.search.facet.Facet;
 import com.stratio.cassandra.lucene.search.sort.SortField;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.MatchAllDocsQuery;
@@ -57,6 +58,9 @@ public class Search {
     /** The paging state. */
     private final IndexPagingState paging;
 
+    /** The value counts to be computed. */
+    private final List<Facet> facets;
+
     /**
      * Constructor using the specified querying, filtering, sorting and refresh options.
      *
@@ -71,11 +75,31 @@ public class Search {
                   List<SortField> sort,
                   IndexPagingState paging,
                   Boolean refresh) {
+        this(filter, query, sort, paging, refresh, null);
+    }
+
+    /**
+     * Constructor using the specified querying, filtering, sorting, refresh and faceting options.
+     *
+     * @param filter the filtering {@link Condition}s not involved in scoring
+     * @param query the querying {@link Condition}s participating in scoring
+     * @param sort the sort fields for the query
+     * @param paging the paging state
+     * @param refresh if this search must refresh the index before reading it
+     * @param facets the value counts to be computed
+     */
+    public Search(List<Condition> filter,
+                  List<Condition> query,
+                  List<SortField> sort,
+                  IndexPagingState paging,
+                  Boolean refresh,
+                  List<Facet> facets) {
         this.filter = filter == null ? Collections.EMPTY_LIST : filter;
         this.query = query == null ? Collections.EMPTY_LIST : query;
         this.sort = sort == null ? Collections.EMPTY_LIST : sort;
         this.paging = paging;
         this.refresh = refresh == null ? DEFAULT_FORCE_REFRESH : refresh;
+        this.facets = facets == null ? Collections.EMPTY_LIST : facets;
     }
 
     /**
@@ -114,6 +138,24 @@ public class Search {
         return !sort.isEmpty();
     }
 
+    /**
+     * Returns if this search requests the counting of field values.
+     *
+     * @return {@code true} if this search has facets, {@code false} otherwise
+     */
+    public boolean usesFaceting() {
+        return !facets.isEmpty();
+    }
+
+    /**
+     * Returns the value counts requested by this search.
+     *
+     * @return the facets
+     */
+    public List<Facet> facets() {
+        return facets;
+    }
+
     /**
      * Returns if this search doesn't specify any filter, query or sort.
      *
@@ -199,6 +241,7 @@ public class Search {
         filter.forEach(condition -> condition.query(schema));
         query.forEach(condition -> condition.query(schema));
         sort.forEach(field -> field.sortField(schema));
+        facets.forEach(facet -> facet.validate(schema));
         return this;
     }
 
@@ -211,6 +254,7 @@ public class Search {
                           .add("sort", sort)
                           .add("refresh", refresh)
                           .add("paging", paging)
+                          .add("facets", facets)
                           .toString();
     }
 }
@@ -21,6 +21,7 @@ import com.stratio.cassandra.lucene.IndexPagingState;
 import com.stratio.cassandra.lucene.common.Builder;
 import com.stratio.cassandra.lucene.common.JsonSerializer;
 import com.stratio.cassandra.lucene.search.condition.builder.ConditionBuilder;
+import com.stratio.cassandra.lucene.search.facet.builder.FacetBuilder;
 import com.stratio.cassandra.lucene.search.sort.builder.SortFieldBuilder;
 import com.stratio.cassandra.lucene.util.ByteBufferUtils;
 
@@ -57,6 +58,10 @@ public class SearchBuilder implements Builder<Search> {
     @JsonProperty("paging")
     private String paging;
 
+    /** The {@link FacetBuilder}s for the value counts to be computed. */
+    @JsonProperty("facets")
+    private final List<FacetBuilder> facets = new LinkedList<>();
+
     /** Default constructor. */
     SearchBuilder() {
     }
@@ -94,6 +99,17 @@ public class SearchBuilder implements Builder<Search> {
         return this;
     }
 
+    /**
+     * Adds the specified value counts.
+     *
+     * @param builders the facets to be added
+     * @return this builder with the specified facets
+     */
+    public SearchBuilder facets(FacetBuilder... builders) {
+        facets.addAll(Arrays.asList(builders));
+        return this;
+    }
+
     /**
      * Sets if the {@link Search} to be built must refresh the index before reading it. Refresh is a costly operation so
      * you should use it only when it is strictly required.
@@ -129,7 +145,8 @@ public class SearchBuilder implements Builder<Search> {
                           query.stream().map(ConditionBuilder::build).collect(toList()),
                           sort.stream().map(SortFieldBuilder::build).collect(toList()),
                           paging == null ? null : IndexPagingState.fromByteBuffer(ByteBufferUtils.byteBuffer(paging)),
-                          refresh);
+                          refresh,
+                          facets.stream().map(FacetBuilder::build).collect(toList()));
     }
 
     /**
@@ -17,6 +17,7 @@ package com.stratio.cassandra.lucene.search;
 
 import com.stratio.cassandra.lucene.common.GeoShape;
 import com.stratio.cassandra.lucene.search.condition.builder.*;
+import com.stratio.cassandra.lucene.search.facet.builder.FacetBuilder;
 import com.stratio.cassandra.lucene.search.sort.builder.GeoDistanceSortFieldBuilder;
 import com.stratio.cassandra.lucene.search.sort.builder.SimpleSortFieldBuilder;
 import com.stratio.cassandra.lucene.search.sort.builder.SortFieldBuilder;
@@ -263,6 +264,16 @@ public final class SearchBuilders {
         return new DateRangeConditionBuilder(field);
     }
 
+    /**
+     * Returns a new {@link FacetBuilder} for the specified field.
+     *
+     * @param field the name of the field to be counted
+     * @return a new facet builder
+     */
+    public static FacetBuilder facet(String field) {
+        return new FacetBuilder(field);
+    }
+
     /**
      * Returns a new {@link SimpleSortFieldBuilder} for the specified field.
      *
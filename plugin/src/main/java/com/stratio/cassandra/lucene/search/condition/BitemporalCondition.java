@@ -22,8 +22,7 @@ import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.Query;
 
 import static com.stratio.cassandra.lucene.schema.mapping.BitemporalMapper.BitemporalDateTime;
-import static org.apache.lucene.search.BooleanClause.Occur.MUST;
-import static org.apache.lucene.search.BooleanClause.Occur.SHOULD;
+import static org.apache.lucene.search.BooleanClause.Occur.FILTER;
 import static org.apache.lucene.search.NumericRangeQuery.newLongRange;
 
 /**
@@ -80,70 +79,47 @@ public class BitemporalCondition extends SingleMapperCondition<BitemporalMapper>
         Long ttFromTime = parseTime(mapper, DEFAULT_FROM, ttFrom);
         Long ttToTime = parseTime(mapper, DEFAULT_TO, ttTo);
 
-        Long minTime = BitemporalDateTime.MIN.toTimestamp();
-        Long maxTime = BitemporalDateTime.MAX.toTimestamp();
-
         BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        addIntersects(builder,
+                      field + BitemporalMapper.VT_FROM_FIELD_SUFFIX,
+                      field + BitemporalMapper.VT_TO_FIELD_SUFFIX,
+                      vtFromTime,
+                      vtToTime);
+        addIntersects(builder,
+                      field + BitemporalMapper.TT_FROM_FIELD_SUFFIX,
+                      field + BitemporalMapper.TT_TO_FIELD_SUFFIX,
+                      ttFromTime,
+                      ttToTime);
+        return builder.build();
+    }
 
-        if (!((vtFromTime.equals(0L)) && (vtToTime.equals(Long.MAX_VALUE)))) {
-
-            BooleanQuery.Builder validBuilder = new BooleanQuery.Builder();
-            validBuilder.add(newLongRange(field + BitemporalMapper.VT_FROM_FIELD_SUFFIX,
-                                          vtFromTime,
-                                          vtToTime,
-                                          true,
-                                          true), SHOULD);
-            validBuilder.add(newLongRange(field + BitemporalMapper.VT_TO_FIELD_SUFFIX,
-                                          vtFromTime,
-                                          vtToTime,
-                                          true,
-                                          true), SHOULD);
-
-            BooleanQuery.Builder containsValidBuilder = new BooleanQuery.Builder();
-            containsValidBuilder.add(newLongRange(field + BitemporalMapper.VT_FROM_FIELD_SUFFIX,
-                                                  minTime,
-                                                  vtFromTime,
-                                                  true,
-                                                  true), MUST);
-            containsValidBuilder.add(newLongRange(field + BitemporalMapper.VT_TO_FIELD_SUFFIX,
-                                                  vtToTime,
-                                                  maxTime,
-                                                  true,
-                                                  true), MUST);
-            validBuilder.add(containsValidBuilder.build(), SHOULD);
-            builder.add(validBuilder.build(), MUST);
+    /**
+     * Adds to the specified {@link BooleanQuery.Builder} the filters selecting the indexed time ranges intersecting the
+     * specified time range. A time range intersects another one if it starts before the end of the other and it ends
+     * after its start, so two half-open ranges are enough. The filters always satisfied are omitted.
+     *
+     * @param builder the query builder
+     * @param fromField the name of the field containing the start of the indexed time ranges
+     * @param toField the name of the field containing the end of the indexed time ranges
+     * @param from the start of the searched time range
+     * @param to the end of the searched time range
+     */
+    private static void addIntersects(BooleanQuery.Builder builder,
+                                      String fromField,
+                                      String toField,
+                                      Long from,
+                                      Long to) {
+        if (from.equals(DEFAULT_FROM) && to.equals(DEFAULT_TO)) {
+            return;
         }
-
-        if (!((ttFromTime.equals(0L)) && (ttToTime.equals(Long.MAX_VALUE)))) {
-
-            BooleanQuery.Builder transactionBuilder = new BooleanQuery.Builder();
-            transactionBuilder.add(newLongRange(field + BitemporalMapper.TT_FROM_FIELD_SUFFIX,
-                                                ttFromTime,
-                                                ttToTime,
-                                                true,
-                                                true), SHOULD);
-            transactionBuilder.add(newLongRange(field + BitemporalMapper.TT_TO_FIELD_SUFFIX,
-                                                ttFromTime,
-                                                ttToTime,
-                                                true,
-                                                true), SHOULD);
-
-            BooleanQuery.Builder containsTransactionBuilder = new BooleanQuery.Builder();
-            containsTransactionBuilder.add(newLongRange(field + BitemporalMapper.TT_FROM_FIELD_SUFFIX,
-                                                        minTime,
-                                                        ttFromTime,
-                                                        true,
-                                                        true), MUST);
-            containsTransactionBuilder.add(newLongRange(field + BitemporalMapper.TT_TO_FIELD_SUFFIX,
-                                                        ttToTime,
-                                                        maxTime,
-                                                        true,
-                                                        true), MUST);
-            transactionBuilder.add(containsTransactionBuilder.build(), SHOULD);
-            builder.add(transactionBuilder.build(), MUST);
+        long min = Math.min(from, to);
+        long max = Math.max(from, to);
+        if (max < DEFAULT_TO || min == DEFAULT_FROM) {
+            builder.add(newLongRange(fromField, null, max, true, true), FILTER);
+        }
+        if (min > DEFAULT_FROM) {
+            builder.add(newLongRange(toField, min, null, true, true), FILTER);
         }
-
-        return builder.build();
     }
 
     private static Long parseTime(BitemporalMapper mapper, Long defaultTime, Object value) {
@@ -18,16 +18,23 @@ package com.stratio.cassandra.lucene.search.condition;
 import com.google.common.base.MoreObjects;
 import com.stratio.cassandra.lucene.IndexException;
 import com.stratio.cassandra.lucene.schema.mapping.SingleColumnMapper;
+import com.stratio.cassandra.lucene.schema.mapping.TextMapper;
 import org.apache.lucene.analysis.Analyzer;
-import org.apache.lucene.search.BooleanClause;
-import org.apache.lucene.search.BooleanQuery;
-import org.apache.lucene.search.Query;
+import org.apache.lucene.queries.TermsQuery;
+import org.apache.lucene.search.*;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefBuilder;
+import org.apache.lucene.util.NumericUtils;
 
-import java.util.Arrays;
+import java.util.*;
 
 /**
  * A {@link Condition} implementation that matches documents containing a value for a field.
  *
+ * The values of not analyzed fields are searched with a single terms query, which sorts the encoded terms once and
+ * intersects them with the terms dictionary in one pass, or with a doc values set query when doc values are requested.
+ * Analyzed text values are searched with a disjunction of one phrase query per value.
+ *
  * @author Andres de la Pena {@literal <adelapena@stratio.com>}
  */
 public class ContainsCondition extends SingleColumnCondition {
@@ -68,12 +75,87 @@ public class ContainsCondition extends SingleColumnCondition {
     /** {@inheritDoc} */
     @Override
     public Query doQuery(SingleColumnMapper<?> mapper, Analyzer analyzer) {
-        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+
+        // Check doc values
+        if (docValues && !mapper.docValues) {
+            throw new IndexException("Field '{}' does not support doc_values", mapper.field);
+        }
+
+        // Analyzed values need one phrase query per value
+        if (mapper instanceof TextMapper) {
+            BooleanQuery.Builder builder = new BooleanQuery.Builder();
+            for (Object value : values) {
+                MatchCondition condition = new MatchCondition(null, field, value, docValues);
+                builder.add(condition.doQuery(mapper, analyzer), BooleanClause.Occur.SHOULD);
+            }
+            return builder.build();
+        }
+
+        Class<?> clazz = mapper.base;
+        if (clazz == String.class) {
+            return docValues ? docValuesTermsQuery(mapper) : termsQuery(mapper);
+        } else if (clazz == Integer.class || clazz == Long.class || clazz == Float.class || clazz == Double.class) {
+            return docValues ? docValuesNumbersQuery(mapper) : termsQuery(mapper);
+        } else {
+            throw new IndexException("Contains queries are not supported by mapper '{}'", mapper);
+        }
+    }
+
+    private Query termsQuery(SingleColumnMapper<?> mapper) {
+        List<BytesRef> terms = new ArrayList<>(values.length);
+        for (Object value : values) {
+            terms.add(term(mapper.base(field, value)));
+        }
+        return new TermsQuery(field, terms);
+    }
+
+    private Query docValuesTermsQuery(SingleColumnMapper<?> mapper) {
+        List<BytesRef> terms = new ArrayList<>(values.length);
+        for (Object value : values) {
+            terms.add(docValue((String) mapper.base(field, value)));
+        }
+        return new DocValuesTermsQuery(field, terms);
+    }
+
+    private Query docValuesNumbersQuery(SingleColumnMapper<?> mapper) {
+        Set<Long> numbers = new HashSet<>(values.length);
         for (Object value : values) {
-            MatchCondition condition = new MatchCondition(null, field, value, docValues);
-            builder.add(condition.doQuery(mapper, analyzer), BooleanClause.Occur.SHOULD);
+            Object base = mapper.base(field, value);
+            if (base instanceof Integer) {
+                numbers.add(docValue((Integer) base));
+            } else if (base instanceof Long) {
+                numbers.add(docValue((Long) base));
+            } else if (base instanceof Float) {
+                numbers.add(docValue((Float) base));
+            } else {
+                numbers.add(docValue((Double) base));
+            }
+        }
+        return new DocValuesNumbersQuery(field, numbers);
+    }
+
+    /**
+     * Returns the full precision inverted index term for the specified base value, which can be a {@link String} or a
+     * number indexed as a numeric field.
+     *
+     * @param base the base value
+     * @return the term of {@code base}
+     */
+    static BytesRef term(Object base) {
+        if (base instanceof String) {
+            return new BytesRef((String) base);
+        }
+        BytesRefBuilder ref = new BytesRefBuilder();
+        if (base instanceof Integer) {
+            NumericUtils.intToPrefixCoded((Integer) base, 0, ref);
+        } else if (base instanceof Long) {
+            NumericUtils.longToPrefixCoded((Long) base, 0, ref);
+        } else if (base instanceof Float) {
+            NumericUtils.intToPrefixCoded(NumericUtils.floatToSortableInt((Float) base), 0, ref);
+        } else {
+            NumericUtils.longToPrefixCoded(NumericUtils.doubleToSortableLong((Double) base), 0, ref);
         }
-        return builder.build();
+        return ref.toBytesRef();
     }
 
     /** {@inheritDoc} */
@@ -19,9 +19,9 @@ import com.google.common.base.MoreObjects;
 import com.stratio.cassandra.lucene.IndexException;
 import com.stratio.cassandra.lucene.schema.mapping.SingleColumnMapper;
 import org.apache.commons.lang3.StringUtils;
+import com.stratio.cassandra.lucene.search.query.CachedFuzzyQuery;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.index.Term;
-import org.apache.lucene.search.FuzzyQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.util.automaton.LevenshteinAutomata;
 
@@ -142,7 +142,7 @@ public class FuzzyCondition extends SingleColumnCondition {
     public Query doQuery(SingleColumnMapper<?> mapper, Analyzer analyzer) {
         if (mapper.base == String.class) {
             Term term = new Term(field, value);
-            return new FuzzyQuery(term, maxEdits, prefixLength, maxExpansions, transpositions);
+            return new CachedFuzzyQuery(term, maxEdits, prefixLength, maxExpansions, transpositions);
         } else {
             throw new IndexException("Fuzzy queries are not supported by mapper {}", mapper);
         }
@@ -27,6 +27,9 @@ import com.stratio.cassandra.lucene.schema.mapping.Mapper;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.spatial.SpatialStrategy;
 import org.apache.lucene.spatial.query.SpatialArgs;
+import org.apache.lucene.spatial.query.SpatialOperation;
+
+import static com.stratio.cassandra.lucene.common.GeospatialUtilsJTS.geometry;
 
 /**
  * {@link Condition} that matches documents related to a JTS geographical shape. It is possible to apply a sequence of
@@ -81,6 +84,7 @@ public class GeoShapeCondition extends SingleFieldCondition {
 
         // Get the spatial strategy from the mapper
         SpatialStrategy strategy;
+        SpatialOperation spatialOperation = operation.getSpatialOperation();
         Mapper mapper = schema.mapper(field);
         if (mapper == null) {
             throw new IndexException("No mapper found for field '{}'", field);
@@ -88,13 +92,14 @@ public class GeoShapeCondition extends SingleFieldCondition {
             strategy = ((GeoShapeMapper) mapper).strategy;
         } else if (mapper instanceof GeoPointMapper) {
             strategy = ((GeoPointMapper) mapper).strategy;
+            spatialOperation = GeoPointMapper.searchOperation(spatialOperation);
         } else {
             throw new IndexException("'geo_shape' search requires a mapper of type 'geo_point' or 'geo_shape' " +
                                      "but found {}:{}", field, mapper);
         }
 
         // Build query
-        SpatialArgs args = new SpatialArgs(operation.getSpatialOperation(), shape.apply());
+        SpatialArgs args = new SpatialArgs(spatialOperation, geometry(shape));
         args.setDistErr(0.0);
         return strategy.makeQuery(args);
     }
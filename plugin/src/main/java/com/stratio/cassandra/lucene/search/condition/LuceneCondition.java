@@ -16,6 +16,11 @@
 package com.stratio.cassandra.lucene.search.condition;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.stratio.cassandra.lucene.IndexException;
 import com.stratio.cassandra.lucene.schema.Schema;
 import org.apache.commons.lang3.StringUtils;
@@ -24,12 +29,19 @@ import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.Query;
 
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * A {@link Condition} implementation that matches documents satisfying a Lucene Query Syntax.
  *
+ * The parsed queries are cached by analyzer, default field and query string, so the same search isn't parsed again
+ * during validation, searching and post processing, nor in later searches. Analyzers are weakly referenced by the
+ * cache, so the queries of dropped indexes are discarded with their analyzers. Cache misses are parsed with a
+ * {@link QueryParser} reused by the current thread, which doesn't keep the analyzer after parsing.
+ *
  * @author Andres de la Pena {@literal <adelapena@stratio.com>}
  */
 public class LuceneCondition extends Condition {
@@ -37,6 +49,23 @@ public class LuceneCondition extends Condition {
     /** The default name of the field where the clauses will be applied by default. */
     public static final String DEFAULT_FIELD = "lucene";
 
+    /** The max number of parsed queries to be cached per analyzer. */
+    public static final int MAX_CACHED_QUERIES = 1000;
+
+    private static final LoadingCache<Analyzer, Cache<Key, Query>> QUERIES = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build(CacheLoader.from(() -> CacheBuilder.newBuilder().maximumSize(MAX_CACHED_QUERIES).<Key, Query>build()));
+
+    private static final ThreadLocal<QueryParser> PARSERS = ThreadLocal.withInitial(() -> {
+        QueryParser parser = new QueryParser(DEFAULT_FIELD, null);
+        parser.setAllowLeadingWildcard(true);
+        parser.setLowercaseExpandedTerms(false);
+        return parser;
+    });
+
+    /** The pattern matching the field names of the clauses of a query, such as {@code field} in {@code +field:x}. */
+    private static final Pattern FIELD_PATTERN = Pattern.compile("(?:^|[\\s(+\\-!])([\\w.$]+):");
+
     /** The Lucene query syntax expression. */
     public final String query;
 
@@ -66,10 +95,9 @@ public class LuceneCondition extends Condition {
         if (!StringUtils.isBlank(defaultField)) {
             fields.add(defaultField);
         }
-        for (String term : query.split("[ ]")) {
-            if (term.contains(":")) {
-                fields.add(term.split(":")[0]);
-            }
+        Matcher matcher = FIELD_PATTERN.matcher(query);
+        while (matcher.find()) {
+            fields.add(matcher.group(1));
         }
         return fields;
     }
@@ -77,14 +105,33 @@ public class LuceneCondition extends Condition {
     /** {@inheritDoc} */
     @Override
     public Query doQuery(Schema schema) {
+        return doQuery(schema.analyzer);
+    }
+
+    /**
+     * Returns the Lucene {@link Query} represented by this condition using the specified {@link Analyzer}.
+     *
+     * @param analyzer the analyzer
+     * @return the parsed query
+     */
+    Query doQuery(Analyzer analyzer) {
+        try {
+            return QUERIES.getUnchecked(analyzer).get(new Key(defaultField, query), () -> parse(analyzer));
+        } catch (ExecutionException e) {
+            throw new IndexException("Error while parsing lucene syntax query: {}", e.getCause().getMessage());
+        } catch (UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+        }
+    }
+
+    private Query parse(Analyzer analyzer) throws ParseException {
+        QueryParser queryParser = PARSERS.get();
+        queryParser.init(defaultField, analyzer);
         try {
-            Analyzer analyzer = schema.analyzer;
-            QueryParser queryParser = new QueryParser(defaultField, analyzer);
-            queryParser.setAllowLeadingWildcard(true);
-            queryParser.setLowercaseExpandedTerms(false);
             return queryParser.parse(query);
-        } catch (ParseException e) {
-            throw new IndexException("Error while parsing lucene syntax query: {}", e.getMessage());
+        } finally {
+            queryParser.setAnalyzer(null);
         }
     }
 
@@ -93,4 +140,33 @@ public class LuceneCondition extends Condition {
     public MoreObjects.ToStringHelper toStringHelper() {
         return toStringHelper(this).add("query", query).add("defaultField", defaultField);
     }
-}
\ No newline at end of file
+
+    /** The key of a parsed query for an analyzer. */
+    private static final class Key {
+
+        private final String defaultField;
+        private final String query;
+
+        Key(String defaultField, String query) {
+            this.defaultField = defaultField;
+            this.query = query;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key other = (Key) o;
+            return defaultField.equals(other.defaultField) && query.equals(other.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(defaultField, query);
+        }
+    }
+}
@@ -18,8 +18,10 @@ package com.stratio.cassandra.lucene.search.condition;
 import com.google.common.base.MoreObjects;
 import com.stratio.cassandra.lucene.IndexException;
 import com.stratio.cassandra.lucene.schema.mapping.SingleColumnMapper;
+import com.stratio.cassandra.lucene.search.query.IndexOrDocValuesQuery;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.search.DocValuesRangeQuery;
+import org.apache.lucene.search.MultiTermQuery;
 import org.apache.lucene.search.NumericRangeQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.TermRangeQuery;
@@ -102,61 +104,85 @@ public class RangeCondition extends SingleColumnCondition {
         if (clazz == String.class) {
             String start = (String) mapper.base(field, lower);
             String stop = (String) mapper.base(field, upper);
-            query = query(start, stop);
+            query = query(start, stop, mapper.docValues);
         } else if (clazz == Integer.class) {
             Integer start = (Integer) mapper.base(field, lower);
             Integer stop = (Integer) mapper.base(field, upper);
-            query = query(start, stop);
+            query = query(start, stop, mapper.docValues);
         } else if (clazz == Long.class) {
             Long start = (Long) mapper.base(field, lower);
             Long stop = (Long) mapper.base(field, upper);
-            query = query(start, stop);
+            query = query(start, stop, mapper.docValues);
         } else if (clazz == Float.class) {
             Float start = (Float) mapper.base(field, lower);
             Float stop = (Float) mapper.base(field, upper);
-            query = query(start, stop);
+            query = query(start, stop, mapper.docValues);
         } else if (clazz == Double.class) {
             Double start = (Double) mapper.base(field, lower);
             Double stop = (Double) mapper.base(field, upper);
-            query = query(start, stop);
+            query = query(start, stop, mapper.docValues);
         } else {
             throw new IndexException("Range queries are not supported by mapper '{}'", mapper);
         }
         return query;
     }
 
-    private Query query(String start, String stop) {
-        return docValues
-               ? DocValuesRangeQuery.newBytesRefRange(field,
-                                                      docValue(start),
-                                                      docValue(stop),
-                                                      includeLower,
-                                                      includeUpper)
-               : TermRangeQuery.newStringRange(field, start, stop, includeLower, includeUpper);
+    private Query query(String start, String stop, boolean mapperDocValues) {
+        return query(TermRangeQuery.newStringRange(field, start, stop, includeLower, includeUpper),
+                     DocValuesRangeQuery.newBytesRefRange(field,
+                                                          docValue(start),
+                                                          docValue(stop),
+                                                          includeLower,
+                                                          includeUpper),
+                     mapperDocValues);
     }
 
-    private Query query(Integer start, Integer stop) {
-        return docValues
-               ? DocValuesRangeQuery.newLongRange(field, docValue(start), docValue(stop), includeLower, includeUpper)
-               : NumericRangeQuery.newIntRange(field, start, stop, includeLower, includeUpper);
+    private Query query(Integer start, Integer stop, boolean mapperDocValues) {
+        return query(NumericRangeQuery.newIntRange(field, start, stop, includeLower, includeUpper),
+                     docValuesQuery(docValue(start), docValue(stop)),
+                     mapperDocValues);
     }
 
-    private Query query(Long start, Long stop) {
-        return docValues
-               ? DocValuesRangeQuery.newLongRange(field, docValue(start), docValue(stop), includeLower, includeUpper)
-               : NumericRangeQuery.newLongRange(field, start, stop, includeLower, includeUpper);
+    private Query query(Long start, Long stop, boolean mapperDocValues) {
+        return query(NumericRangeQuery.newLongRange(field, start, stop, includeLower, includeUpper),
+                     docValuesQuery(docValue(start), docValue(stop)),
+                     mapperDocValues);
     }
 
-    private Query query(Float start, Float stop) {
-        return docValues
-               ? DocValuesRangeQuery.newLongRange(field, docValue(start), docValue(stop), includeLower, includeUpper)
-               : NumericRangeQuery.newFloatRange(field, start, stop, includeLower, includeUpper);
+    private Query query(Float start, Float stop, boolean mapperDocValues) {
+        return query(NumericRangeQuery.newFloatRange(field, start, stop, includeLower, includeUpper),
+                     docValuesQuery(docValue(start), docValue(stop)),
+                     mapperDocValues);
     }
 
-    private Query query(Double start, Double stop) {
-        return docValues
-               ? DocValuesRangeQuery.newLongRange(field, docValue(start), docValue(stop), includeLower, includeUpper)
-               : NumericRangeQuery.newDoubleRange(field, start, stop, includeLower, includeUpper);
+    private Query query(Double start, Double stop, boolean mapperDocValues) {
+        return query(NumericRangeQuery.newDoubleRange(field, start, stop, includeLower, includeUpper),
+                     docValuesQuery(docValue(start), docValue(stop)),
+                     mapperDocValues);
+    }
+
+    private Query docValuesQuery(Long start, Long stop) {
+        return DocValuesRangeQuery.newLongRange(field, start, stop, includeLower, includeUpper);
+    }
+
+    /**
+     * Returns the query to be used. If doc values have been requested, then the doc values query is used. Otherwise,
+     * if the mapper supports doc values, then the choice between the inverted index and doc values is done for each
+     * index segment at search time.
+     *
+     * @param indexQuery the query using the inverted index
+     * @param docValuesQuery the query using doc values
+     * @param mapperDocValues if the mapper supports doc values
+     * @return the query to be used
+     */
+    private Query query(MultiTermQuery indexQuery, Query docValuesQuery, boolean mapperDocValues) {
+        if (docValues) {
+            return docValuesQuery;
+        } else if (mapperDocValues) {
+            return new IndexOrDocValuesQuery(indexQuery, docValuesQuery);
+        } else {
+            return indexQuery;
+        }
     }
 
     /**
@@ -18,10 +18,9 @@ package com.stratio.cassandra.lucene.search.condition;
 import com.google.common.base.MoreObjects;
 import com.stratio.cassandra.lucene.IndexException;
 import com.stratio.cassandra.lucene.schema.mapping.SingleColumnMapper;
+import com.stratio.cassandra.lucene.search.query.CachedAutomatonQuery;
 import org.apache.lucene.analysis.Analyzer;
-import org.apache.lucene.index.Term;
 import org.apache.lucene.search.Query;
-import org.apache.lucene.search.RegexpQuery;
 
 /**
  * Implements the wildcard search query. Supported wildcards are {@code *}, which matches any character sequence
@@ -57,8 +56,7 @@ public class RegexpCondition extends SingleColumnCondition {
     @Override
     public Query doQuery(SingleColumnMapper<?> mapper, Analyzer analyzer) {
         if (mapper.base == String.class) {
-            Term term = new Term(field, value);
-            return new RegexpQuery(term);
+            return CachedAutomatonQuery.regexp(field, value);
         } else {
             throw new IndexException("Regexp queries are not supported by mapper '{}'", mapper);
         }
@@ -18,8 +18,9 @@ package com.stratio.cassandra.lucene.search.condition;
 import com.google.common.base.MoreObjects;
 import com.stratio.cassandra.lucene.IndexException;
 import com.stratio.cassandra.lucene.schema.mapping.SingleColumnMapper;
+import com.stratio.cassandra.lucene.schema.mapping.StringMapper;
+import com.stratio.cassandra.lucene.search.query.CachedAutomatonQuery;
 import org.apache.lucene.analysis.Analyzer;
-import org.apache.lucene.index.Term;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.WildcardQuery;
 
@@ -57,13 +58,34 @@ public class WildcardCondition extends SingleColumnCondition {
     @Override
     public Query doQuery(SingleColumnMapper<?> mapper, Analyzer analyzer) {
         if (mapper.base == String.class) {
-            Term term = new Term(field, value);
-            return new WildcardQuery(term);
+            if (mapper instanceof StringMapper && ((StringMapper) mapper).reversed && isReversible(value)) {
+                String reversedField = StringMapper.reversedField(field);
+                return CachedAutomatonQuery.wildcard(reversedField, StringMapper.reverse(value));
+            }
+            return CachedAutomatonQuery.wildcard(field, value);
         } else {
             throw new IndexException("Wildcard queries are not supported by mapper '{}'", mapper);
         }
     }
 
+    /**
+     * Returns if the specified wildcard pattern would be faster searched reversed, that is, if it starts with a
+     * wildcard but it doesn't end with a wildcard. Patterns with escaped characters are never reversed.
+     *
+     * @param pattern a wildcard pattern
+     * @return {@code true} if {@code pattern} should be searched reversed, {@code false} otherwise
+     */
+    static boolean isReversible(String pattern) {
+        return !pattern.isEmpty() &&
+               pattern.indexOf(WildcardQuery.WILDCARD_ESCAPE) < 0 &&
+               isWildcard(pattern.charAt(0)) &&
+               !isWildcard(pattern.charAt(pattern.length() - 1));
+    }
+
+    private static boolean isWildcard(char c) {
+        return c == WildcardQuery.WILDCARD_STRING || c == WildcardQuery.WILDCARD_CHAR;
+    }
+
     /** {@inheritDoc} */
     @Override
     public MoreObjects.ToStringHelper toStringHelper() {
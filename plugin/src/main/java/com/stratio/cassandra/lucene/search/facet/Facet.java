@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.search.facet;
+
+import com.google.common.base.MoreObjects;
+import com.stratio.cassandra.lucene.IndexException;
+import com.stratio.cassandra.lucene.schema.Schema;
+import com.stratio.cassandra.lucene.schema.mapping.Mapper;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.SortedNumericSortField;
+import org.apache.lucene.search.SortedSetSortField;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Class representing the counting of the values of a doc values field in the documents matched by a search, returning
+ * the most frequent values along with their number of matching documents.
+ */
+public class Facet {
+
+    /** The default max number of values to be returned. */
+    public static final int DEFAULT_LIMIT = 10;
+
+    /** The name of the field to be counted. */
+    public final String field;
+
+    /** The max number of values to be returned. */
+    public final int limit;
+
+    /**
+     * Builds a new {@link Facet}.
+     *
+     * @param field the name of the field to be counted
+     * @param limit the max number of values to be returned, defaults to {@link #DEFAULT_LIMIT}
+     */
+    public Facet(String field, Integer limit) {
+        if (StringUtils.isBlank(field)) {
+            throw new IndexException("Facet field name required");
+        }
+        if (limit != null && limit <= 0) {
+            throw new IndexException("Facet limit must be strictly positive, found: {}", limit);
+        }
+        this.field = field;
+        this.limit = limit == null ? DEFAULT_LIMIT : limit;
+    }
+
+    /**
+     * Returns the type of the doc values of the counted field according to the specified {@link Schema}.
+     *
+     * @param schema the indexing schema
+     * @return the numeric type of the doc values, or {@code null} if they are sorted set of terms
+     */
+    SortField.Type numericType(Schema schema) {
+        SortField sortField = sortField(schema);
+        return sortField instanceof SortedNumericSortField
+               ? ((SortedNumericSortField) sortField).getNumericType()
+               : null;
+    }
+
+    private SortField sortField(Schema schema) {
+        Mapper mapper = schema.mapper(field);
+        if (mapper == null) {
+            throw new IndexException("No mapper found for facet field '{}'", field);
+        } else if (!mapper.docValues) {
+            throw new IndexException("Field '{}' does not support faceting", field);
+        }
+        SortField sortField = mapper.sortField(field, false);
+        if (!(sortField instanceof SortedNumericSortField) && !(sortField instanceof SortedSetSortField)) {
+            throw new IndexException("Field '{}' does not support faceting", field);
+        }
+        return sortField;
+    }
+
+    /**
+     * Validates this {@link Facet} against the specified {@link Schema}.
+     *
+     * @param schema a {@link Schema}
+     * @return this
+     */
+    public Facet validate(Schema schema) {
+        sortField(schema);
+        return this;
+    }
+
+    /**
+     * Returns the {@link #limit} most frequent values in the specified value counts, sorted by descending count and
+     * then by value.
+     *
+     * @param counts the number of documents per value
+     * @return the most frequent values and their counts
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Object, Long> top(Map<Object, Long> counts) {
+        Comparator<Map.Entry<Object, Long>> comparator = Map.Entry.<Object, Long>comparingByValue().reversed();
+        comparator = comparator.thenComparing(e -> (Comparable<Object>) e.getKey());
+        Map<Object, Long> top = new LinkedHashMap<>();
+        counts.entrySet()
+              .stream()
+              .sorted(comparator)
+              .limit(limit)
+              .forEach(e -> top.put(e.getKey(), e.getValue()));
+        return top;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("field", field).add("limit", limit).toString();
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.search.facet;
+
+import com.stratio.cassandra.lucene.schema.Schema;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.util.NumericUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link SimpleCollector} counting the values of the doc values fields of several {@link Facet}s in the collected
+ * documents. Each document is counted once per distinct value. It can be used to collect documents from several index
+ * searchers, so the counts are merged across index partitions.
+ */
+public class FacetCollector extends SimpleCollector {
+
+    private final List<Counter> counters = new ArrayList<>();
+
+    /**
+     * Builds a new {@link FacetCollector} for the specified facets.
+     *
+     * @param facets the facets to be counted
+     * @param schema the indexing schema
+     */
+    public FacetCollector(List<Facet> facets, Schema schema) {
+        for (Facet facet : facets) {
+            SortField.Type type = facet.numericType(schema);
+            counters.add(type == null ? new TermsCounter(facet) : new NumericCounter(facet, type));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void doSetNextReader(LeafReaderContext context) throws IOException {
+        for (Counter counter : counters) {
+            counter.setNextReader(context.reader());
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void collect(int doc) {
+        for (Counter counter : counters) {
+            counter.collect(doc);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean needsScores() {
+        return false;
+    }
+
+    /**
+     * Returns the most frequent values of each facet, sorted by descending count.
+     *
+     * @return the counts of the most frequent values indexed by facet field
+     */
+    public Map<String, Map<Object, Long>> facets() {
+        Map<String, Map<Object, Long>> facets = new LinkedHashMap<>();
+        for (Counter counter : counters) {
+            counter.flush();
+            facets.put(counter.facet.field, counter.facet.top(counter.counts));
+        }
+        return facets;
+    }
+
+    /** Counter of the values of a facet field. */
+    private abstract static class Counter {
+
+        final Facet facet;
+        final Map<Object, Long> counts = new HashMap<>();
+
+        Counter(Facet facet) {
+            this.facet = facet;
+        }
+
+        abstract void setNextReader(LeafReader reader) throws IOException;
+
+        abstract void collect(int doc);
+
+        void flush() {
+        }
+
+        void add(Object value, long count) {
+            counts.merge(value, count, Long::sum);
+        }
+    }
+
+    /** Counter of the values of sorted set doc values fields. Values are counted by ordinal in each segment. */
+    private static class TermsCounter extends Counter {
+
+        private SortedSetDocValues values;
+        private long[] ordCounts;
+
+        TermsCounter(Facet facet) {
+            super(facet);
+        }
+
+        @Override
+        void setNextReader(LeafReader reader) throws IOException {
+            flush();
+            values = DocValues.getSortedSet(reader, facet.field);
+            ordCounts = new long[(int) values.getValueCount()];
+        }
+
+        @Override
+        void collect(int doc) {
+            values.setDocument(doc);
+            for (long ord = values.nextOrd(); ord != SortedSetDocValues.NO_MORE_ORDS; ord = values.nextOrd()) {
+                ordCounts[(int) ord]++;
+            }
+        }
+
+        @Override
+        void flush() {
+            if (ordCounts != null) {
+                for (int ord = 0; ord < ordCounts.length; ord++) {
+                    if (ordCounts[ord] > 0) {
+                        add(values.lookupOrd(ord).utf8ToString(), ordCounts[ord]);
+                    }
+                }
+                ordCounts = null;
+            }
+        }
+    }
+
+    /** Counter of the values of sorted numeric doc values fields. */
+    private static class NumericCounter extends Counter {
+
+        private final SortField.Type type;
+        private SortedNumericDocValues values;
+
+        NumericCounter(Facet facet, SortField.Type type) {
+            super(facet);
+            this.type = type;
+        }
+
+        @Override
+        void setNextReader(LeafReader reader) throws IOException {
+            values = DocValues.getSortedNumeric(reader, facet.field);
+        }
+
+        @Override
+        void collect(int doc) {
+            values.setDocument(doc);
+            int count = values.count();
+            for (int i = 0; i < count; i++) {
+                long value = values.valueAt(i);
+                if (i == 0 || value != values.valueAt(i - 1)) {
+                    add(decode(value), 1);
+                }
+            }
+        }
+
+        private Object decode(long value) {
+            switch (type) {
+                case INT:
+                    return (int) value;
+                case FLOAT:
+                    return NumericUtils.sortableIntToFloat((int) value);
+                case DOUBLE:
+                    return NumericUtils.sortableLongToDouble(value);
+                default:
+                    return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.search.facet.builder;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.stratio.cassandra.lucene.common.Builder;
+import com.stratio.cassandra.lucene.search.facet.Facet;
+
+/**
+ * {@link Builder} for building a new {@link Facet}.
+ */
+public class FacetBuilder implements Builder<Facet> {
+
+    /** The name of the field to be counted. */
+    @JsonProperty("field")
+    final String field;
+
+    /** The max number of values to be returned. */
+    @JsonProperty("limit")
+    Integer limit;
+
+    /**
+     * Creates a new {@link FacetBuilder} for the specified field.
+     *
+     * @param field the name of the field to be counted
+     */
+    @JsonCreator
+    public FacetBuilder(@JsonProperty("field") String field) {
+        this.field = field;
+    }
+
+    /**
+     * Returns this builder with the specified max number of values to be returned.
+     *
+     * @param limit the max number of values to be returned
+     * @return this builder with the specified limit
+     */
+    public FacetBuilder limit(Integer limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Facet build() {
+        return new Facet(field, limit);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.search.query;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.stratio.cassandra.lucene.IndexException;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.MultiTermQuery;
+import org.apache.lucene.search.RegexpQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.util.AttributeSource;
+import org.apache.lucene.util.automaton.Automaton;
+import org.apache.lucene.util.automaton.CompiledAutomaton;
+import org.apache.lucene.util.automaton.Operations;
+import org.apache.lucene.util.automaton.RegExp;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * {@link MultiTermQuery} matching the terms accepted by a wildcard or regular expression automaton.
+ *
+ * Unlike {@link WildcardQuery} and {@link RegexpQuery}, which parse, determinize and compile their automaton each time
+ * they are built, the compiled automata are shared by all the queries with the same type and pattern through an LRU
+ * cache, so repeated searches don't pay the compilation cost. The automata don't depend on the field, so they are
+ * shared between fields too.
+ */
+public class CachedAutomatonQuery extends MultiTermQuery {
+
+    /** The max number of compiled automata to be cached. */
+    public static final int MAX_CACHED_AUTOMATA = 1000;
+
+    private static final Cache<Key, CompiledAutomaton> AUTOMATA = CacheBuilder.newBuilder()
+                                                                              .maximumSize(MAX_CACHED_AUTOMATA)
+                                                                              .build();
+
+    /** The type of a pattern. */
+    public enum Type {
+        WILDCARD, REGEXP
+    }
+
+    private final Key key;
+    private final CompiledAutomaton automaton;
+
+    private CachedAutomatonQuery(String field, Key key, CompiledAutomaton automaton) {
+        super(field);
+        this.key = key;
+        this.automaton = automaton;
+    }
+
+    /**
+     * Returns a new query matching the terms of the specified field accepted by the specified wildcard pattern, with
+     * the same syntax as {@link WildcardQuery}.
+     *
+     * @param field the name of the field to be matched
+     * @param pattern the wildcard pattern
+     * @return a new wildcard query
+     */
+    public static CachedAutomatonQuery wildcard(String field, String pattern) {
+        return query(field, new Key(Type.WILDCARD, pattern));
+    }
+
+    /**
+     * Returns a new query matching the terms of the specified field accepted by the specified regular expression, with
+     * the same syntax as {@link RegexpQuery}.
+     *
+     * @param field the name of the field to be matched
+     * @param pattern the regular expression
+     * @return a new regular expression query
+     */
+    public static CachedAutomatonQuery regexp(String field, String pattern) {
+        return query(field, new Key(Type.REGEXP, pattern));
+    }
+
+    private static CachedAutomatonQuery query(String field, Key key) {
+        try {
+            return new CachedAutomatonQuery(field, key, AUTOMATA.get(key, key::compile));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new IndexException(e.getCause(), "Invalid {} pattern '{}'", key.type, key.pattern);
+        }
+    }
+
+    /**
+     * Returns the type of the pattern.
+     *
+     * @return the pattern type
+     */
+    public Type getType() {
+        return key.type;
+    }
+
+    /**
+     * Returns the field and the pattern to be matched.
+     *
+     * @return the field and the pattern
+     */
+    public Term getTerm() {
+        return new Term(field, key.pattern);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected TermsEnum getTermsEnum(Terms terms, AttributeSource atts) throws IOException {
+        return automaton.getTermsEnum(terms);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString(String field) {
+        StringBuilder buffer = new StringBuilder();
+        if (!getField().equals(field)) {
+            buffer.append(getField()).append(':');
+        }
+        String pattern = key.type == Type.REGEXP ? '/' + key.pattern + '/' : key.pattern;
+        return buffer.append(pattern).toString();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(Object o) {
+        return super.equals(o) && key.equals(((CachedAutomatonQuery) o).key);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + key.hashCode();
+    }
+
+    /** The cache key of a compiled automaton. */
+    private static final class Key {
+
+        private final Type type;
+        private final String pattern;
+
+        Key(Type type, String pattern) {
+            this.type = type;
+            this.pattern = pattern;
+        }
+
+        CompiledAutomaton compile() {
+            Term term = new Term("", pattern);
+            Automaton automaton = type == Type.WILDCARD
+                                  ? WildcardQuery.toAutomaton(term)
+                                  : new RegExp(pattern, RegExp.ALL).toAutomaton();
+            return new CompiledAutomaton(automaton, null, true, Operations.DEFAULT_MAX_DETERMINIZED_STATES, false);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key other = (Key) o;
+            return type == other.type && pattern.equals(other.pattern);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, pattern);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.search.query;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.stratio.cassandra.lucene.IndexException;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.FuzzyTermsEnum.LevenshteinAutomataAttribute;
+import org.apache.lucene.util.AttributeSource;
+import org.apache.lucene.util.automaton.CompiledAutomaton;
+import org.apache.lucene.util.automaton.LevenshteinAutomata;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * {@link FuzzyQuery} sharing its compiled Levenshtein automata through an LRU cache.
+ *
+ * {@link FuzzyQuery} builds a {@link LevenshteinAutomata} and compiles one automaton per edit distance each time it is
+ * searched. The compiled automata only depend on the term text, the prefix length and the transpositions option, so
+ * they are cached and handed to the terms enumeration before it needs them.
+ */
+public class CachedFuzzyQuery extends FuzzyQuery {
+
+    /** The max number of automata lists to be cached. */
+    public static final int MAX_CACHED_AUTOMATA = 1000;
+
+    private static final Cache<Key, List<CompiledAutomaton>> AUTOMATA = CacheBuilder.newBuilder()
+                                                                                    .maximumSize(MAX_CACHED_AUTOMATA)
+                                                                                    .build();
+
+    private final Key key;
+    private final boolean exact;
+
+    /**
+     * Builds a new {@link CachedFuzzyQuery}.
+     *
+     * @param term the term to search for
+     * @param maxEdits must be {@literal >=} 0 and {@literal <=} {@link LevenshteinAutomata#MAXIMUM_SUPPORTED_DISTANCE}
+     * @param prefixLength length of common (non-fuzzy) prefix
+     * @param maxExpansions the maximum number of terms to match
+     * @param transpositions {@code true} if transpositions should be treated as a primitive edit operation
+     */
+    public CachedFuzzyQuery(Term term, int maxEdits, int prefixLength, int maxExpansions, boolean transpositions) {
+        super(term, maxEdits, prefixLength, maxExpansions, transpositions);
+        key = new Key(term.text(), maxEdits, prefixLength, transpositions);
+        exact = maxEdits == 0 || prefixLength >= term.text().length();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected TermsEnum getTermsEnum(Terms terms, AttributeSource atts) throws IOException {
+        if (exact) { // Exact matches are enumerated by Lucene without automata
+            return super.getTermsEnum(terms, atts);
+        }
+        List<CompiledAutomaton> automata = atts.addAttribute(LevenshteinAutomataAttribute.class).automata();
+        if (automata.isEmpty()) {
+            try {
+                automata.addAll(AUTOMATA.get(key, key::compile));
+            } catch (ExecutionException e) {
+                throw new IndexException(e.getCause(), "Error building fuzzy automata for '{}'", key.text);
+            }
+        }
+        return super.getTermsEnum(terms, atts);
+    }
+
+    /** The cache key of the compiled automata of a fuzzy term. */
+    private static final class Key {
+
+        private final String text;
+        private final int maxEdits;
+        private final int prefixLength;
+        private final boolean transpositions;
+
+        Key(String text, int maxEdits, int prefixLength, boolean transpositions) {
+            this.text = text;
+            this.maxEdits = maxEdits;
+            this.prefixLength = prefixLength;
+            this.transpositions = transpositions;
+        }
+
+        /**
+         * Returns the compiled automata for each edit distance up to {@link #maxEdits}, built the same way as {@link
+         * org.apache.lucene.search.FuzzyTermsEnum} does.
+         *
+         * @return the compiled automata indexed by edit distance
+         */
+        List<CompiledAutomaton> compile() {
+            int length = text.codePointCount(0, text.length());
+            int realPrefixLength = Math.min(prefixLength, length);
+            int prefixEnd = text.offsetByCodePoints(0, realPrefixLength);
+            String prefix = text.substring(0, prefixEnd);
+            LevenshteinAutomata builder = new LevenshteinAutomata(text.substring(prefixEnd), transpositions);
+            List<CompiledAutomaton> automata = new ArrayList<>(maxEdits + 1);
+            for (int i = 0; i <= maxEdits; i++) {
+                automata.add(new CompiledAutomaton(builder.toAutomaton(i, prefix), true, false));
+            }
+            return Collections.unmodifiableList(automata);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key other = (Key) o;
+            return maxEdits == other.maxEdits &&
+                   prefixLength == other.prefixLength &&
+                   transpositions == other.transpositions &&
+                   text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, maxEdits, prefixLength, transpositions);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.search.query;
+
+import org.apache.lucene.index.*;
+import org.apache.lucene.search.*;
+import org.apache.lucene.util.AttributeSource;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link Query} choosing, for each index segment, between a multi-term query over the inverted index and an
+ * equivalent query over doc values, depending on the number of documents estimated to be matched by the former.
+ *
+ * Multi-term queries matching many terms collect all their matching documents up front, even when they are
+ * intersected with a more selective query. Doc values queries only verify the documents proposed by other clauses,
+ * but they must check every document of the segment when they lead the search. This way, the inverted index is used
+ * when the query matches few terms or few documents, and doc values are used otherwise. Scoring searches always use
+ * the inverted index.
+ */
+public class IndexOrDocValuesQuery extends Query {
+
+    /** The max number of terms for which Lucene rewrites multi-term queries to lazy disjunctions. */
+    public static final int BOOLEAN_REWRITE_TERM_COUNT_THRESHOLD = 16;
+
+    /** The inverted index is used if it matches at most one out of this number of documents of the segment. */
+    public static final int INDEX_COST_RATIO = 8;
+
+    private static final TermsEnumProvider TERMS_ENUM_PROVIDER = new TermsEnumProvider();
+
+    private final MultiTermQuery indexQuery;
+    private final Query docValuesQuery;
+
+    /**
+     * Builds a new {@link IndexOrDocValuesQuery}.
+     *
+     * @param indexQuery the query using the inverted index
+     * @param docValuesQuery the query using doc values, matching the same documents as {@code indexQuery}
+     */
+    public IndexOrDocValuesQuery(MultiTermQuery indexQuery, Query docValuesQuery) {
+        this.indexQuery = indexQuery;
+        this.docValuesQuery = docValuesQuery;
+    }
+
+    /**
+     * Returns the query using the inverted index.
+     *
+     * @return the inverted index query
+     */
+    public MultiTermQuery getIndexQuery() {
+        return indexQuery;
+    }
+
+    /**
+     * Returns the query using doc values.
+     *
+     * @return the doc values query
+     */
+    public Query getDocValuesQuery() {
+        return docValuesQuery;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Query rewrite(IndexReader reader) throws IOException {
+        Query rewritten = docValuesQuery.rewrite(reader);
+        if (rewritten != docValuesQuery) {
+            return new IndexOrDocValuesQuery(indexQuery, rewritten);
+        }
+        return super.rewrite(reader);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Weight createWeight(IndexSearcher searcher, boolean needsScores) throws IOException {
+        final Weight indexWeight = searcher.createWeight(searcher.rewrite(indexQuery), needsScores);
+        if (needsScores) {
+            return indexWeight;
+        }
+        final Weight docValuesWeight = searcher.createWeight(docValuesQuery, false);
+        return new Weight(this) {
+
+            /** The choice of inverted index or doc values for each segment core, to enumerate its terms once. */
+            private final Map<Object, Boolean> useIndex = new ConcurrentHashMap<>();
+
+            @Override
+            public void extractTerms(Set<Term> terms) {
+                indexWeight.extractTerms(terms);
+            }
+
+            @Override
+            public Explanation explain(LeafReaderContext context, int doc) throws IOException {
+                return weight(context).explain(context, doc);
+            }
+
+            @Override
+            public float getValueForNormalization() throws IOException {
+                indexWeight.getValueForNormalization();
+                return docValuesWeight.getValueForNormalization();
+            }
+
+            @Override
+            public void normalize(float norm, float boost) {
+                indexWeight.normalize(norm, boost);
+                docValuesWeight.normalize(norm, boost);
+            }
+
+            @Override
+            public Scorer scorer(LeafReaderContext context) throws IOException {
+                return weight(context).scorer(context);
+            }
+
+            @Override
+            public BulkScorer bulkScorer(LeafReaderContext context) throws IOException {
+                return weight(context).bulkScorer(context);
+            }
+
+            private Weight weight(LeafReaderContext context) throws IOException {
+                LeafReader reader = context.reader();
+                Boolean useIndex = this.useIndex.get(reader.getCoreCacheKey());
+                if (useIndex == null) {
+                    useIndex = useIndex(reader);
+                    this.useIndex.put(reader.getCoreCacheKey(), useIndex);
+                }
+                return useIndex ? indexWeight : docValuesWeight;
+            }
+        };
+    }
+
+    /**
+     * Returns if the inverted index query should be used in the specified segment. The terms of the query are
+     * enumerated until their number and their aggregated document frequency exceed the thresholds, without reading
+     * their postings.
+     *
+     * @param reader a segment reader
+     * @return {@code true} if the inverted index should be used, {@code false} if doc values should be used
+     * @throws IOException if the terms can't be read
+     */
+    boolean useIndex(LeafReader reader) throws IOException {
+        Terms terms = reader.terms(indexQuery.getField());
+        if (terms == null) {
+            return true;
+        }
+        long maxCost = reader.maxDoc() / INDEX_COST_RATIO;
+        long cost = 0;
+        int numTerms = 0;
+        TermsEnum termsEnum = TERMS_ENUM_PROVIDER.termsEnum(indexQuery, terms);
+        while (termsEnum.next() != null) {
+            numTerms++;
+            cost += termsEnum.docFreq();
+            if (numTerms > BOOLEAN_REWRITE_TERM_COUNT_THRESHOLD && cost > maxCost) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString(String field) {
+        return "IndexOrDocValuesQuery(indexQuery=" + indexQuery.toString(field) +
+               ", docValuesQuery=" + docValuesQuery.toString(field) + ")";
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        IndexOrDocValuesQuery other = (IndexOrDocValuesQuery) o;
+        return indexQuery.equals(other.indexQuery) && docValuesQuery.equals(other.docValuesQuery);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + indexQuery.hashCode();
+        result = 31 * result + docValuesQuery.hashCode();
+        return result;
+    }
+
+    /**
+     * {@link MultiTermQuery.RewriteMethod} used only to get access to the terms of multi-term queries, which is only
+     * exposed to rewrite methods. It is never used to rewrite queries, but if it were it would behave as the default
+     * constant score rewrite.
+     */
+    private static final class TermsEnumProvider extends MultiTermQuery.RewriteMethod {
+
+        /** {@inheritDoc} */
+        @Override
+        public Query rewrite(IndexReader reader, MultiTermQuery query) throws IOException {
+            return MultiTermQuery.CONSTANT_SCORE_REWRITE.rewrite(reader, query);
+        }
+
+        TermsEnum termsEnum(MultiTermQuery query, Terms terms) throws IOException {
+            return getTermsEnum(query, terms, new AttributeSource());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.search.sort;
+
+import com.spatial4j.core.shape.Point;
+import com.stratio.cassandra.lucene.schema.mapping.GeoPointMapper;
+import org.apache.lucene.index.*;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.SimpleFieldComparator;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import static com.spatial4j.core.distance.DistanceUtils.DEG_TO_KM;
+import static com.stratio.cassandra.lucene.common.GeospatialUtils.CONTEXT;
+import static com.stratio.cassandra.lucene.schema.mapping.GeoPointMapper.decodeLatitude;
+import static com.stratio.cassandra.lucene.schema.mapping.GeoPointMapper.decodeLongitude;
+
+/**
+ * {@link org.apache.lucene.search.FieldComparator} sorting geo points by their haversine distance in kilometres to a
+ * reference point.
+ *
+ * The points are read from the packed latitude and longitude doc values written by {@link GeoPointMapper}, so they
+ * don't need to be deserialized. Documents indexed before these doc values existed fall back to the serialized shape
+ * doc values. The terms of the haversine formula depending only on the reference point are precomputed, and the
+ * documents whose latitude difference alone puts them beyond the compared distance skip the full distance calculation.
+ */
+public class GeoDistanceComparator extends SimpleFieldComparator<Double> {
+
+    /** The distance in kilometres assigned to documents without point. */
+    public static final double MISSING_DISTANCE = 180 * DEG_TO_KM;
+
+    /** The tolerance in kilometres applied to the latitude-based distance lower bound, to absorb rounding errors. */
+    private static final double TOLERANCE = 1e-6;
+
+    private final GeoPointMapper mapper;
+    private final double latitude;
+    private final double latitudeRadians;
+    private final double longitudeRadians;
+    private final double cosLatitude;
+    private final double[] values;
+    private double bottom;
+    private double top;
+
+    private NumericDocValues latLons;
+    private Bits docsWithLatLon;
+    private BinaryDocValues shapes;
+
+    /**
+     * Returns a new {@link GeoDistanceComparator}.
+     *
+     * @param mapper the geo point mapper
+     * @param latitude the latitude of the reference point
+     * @param longitude the longitude of the reference point
+     * @param numHits the number of hits to be collected
+     */
+    public GeoDistanceComparator(GeoPointMapper mapper, double latitude, double longitude, int numHits) {
+        this.mapper = mapper;
+        this.latitude = latitude;
+        this.latitudeRadians = Math.toRadians(latitude);
+        this.longitudeRadians = Math.toRadians(longitude);
+        this.cosLatitude = Math.cos(latitudeRadians);
+        this.values = new double[numHits];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void doSetNextReader(LeafReaderContext context) throws IOException {
+        LeafReader reader = context.reader();
+        latLons = DocValues.getNumeric(reader, mapper.latLonField);
+        docsWithLatLon = DocValues.getDocsWithField(reader, mapper.latLonField);
+        shapes = DocValues.getBinary(reader, mapper.field);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int compare(int slot1, int slot2) {
+        return Double.compare(values[slot1], values[slot2]);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setBottom(int slot) {
+        bottom = values[slot];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setTopValue(Double value) {
+        top = value;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int compareBottom(int doc) throws IOException {
+        return compare(bottom, doc);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int compareTop(int doc) throws IOException {
+        return compare(top, doc);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void copy(int slot, int doc) throws IOException {
+        values[slot] = distance(doc);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Double value(int slot) {
+        return values[slot];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setScorer(Scorer scorer) {
+    }
+
+    private int compare(double distance, int doc) throws IOException {
+        if (docsWithLatLon.get(doc)) {
+            long latLon = latLons.get(doc);
+            double lat = decodeLatitude(latLon);
+            if (Math.abs(lat - latitude) * DEG_TO_KM > distance + TOLERANCE) {
+                return -1;
+            }
+            return Double.compare(distance, distance(lat, decodeLongitude(latLon)));
+        }
+        return Double.compare(distance, distance(doc));
+    }
+
+    private double distance(int doc) throws IOException {
+        if (docsWithLatLon.get(doc)) {
+            long latLon = latLons.get(doc);
+            return distance(decodeLatitude(latLon), decodeLongitude(latLon));
+        }
+        BytesRef bytes = shapes.get(doc);
+        if (bytes.length == 0) {
+            return MISSING_DISTANCE;
+        }
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.bytes, bytes.offset, bytes.length));
+        Point point = CONTEXT.getBinaryCodec().readShape(input).getCenter();
+        return distance(point.getY(), point.getX());
+    }
+
+    /**
+     * Returns the haversine distance in kilometres between the reference point and the specified point.
+     *
+     * @param lat the latitude of the point
+     * @param lon the longitude of the point
+     * @return the distance in kilometres
+     */
+    double distance(double lat, double lon) {
+        double latRadians = Math.toRadians(lat);
+        double sinLat = Math.sin((latRadians - latitudeRadians) * 0.5);
+        double sinLon = Math.sin((Math.toRadians(lon) - longitudeRadians) * 0.5);
+        double h = sinLat * sinLat + cosLatitude * Math.cos(latRadians) * sinLon * sinLon;
+        return Math.toDegrees(2 * Math.asin(Math.min(1, Math.sqrt(h)))) * DEG_TO_KM;
+    }
+}
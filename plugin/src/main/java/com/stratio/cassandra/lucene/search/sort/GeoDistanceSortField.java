@@ -16,22 +16,18 @@
 package com.stratio.cassandra.lucene.search.sort;
 
 import com.google.common.base.MoreObjects;
-import com.spatial4j.core.distance.DistanceUtils;
-import com.spatial4j.core.shape.Point;
 import com.stratio.cassandra.lucene.IndexException;
 import com.stratio.cassandra.lucene.common.GeospatialUtils;
 import com.stratio.cassandra.lucene.schema.Schema;
 import com.stratio.cassandra.lucene.schema.mapping.GeoPointMapper;
 import com.stratio.cassandra.lucene.schema.mapping.Mapper;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.lucene.queries.function.ValueSource;
-import org.apache.lucene.spatial.SpatialStrategy;
+import org.apache.lucene.search.FieldComparator;
+import org.apache.lucene.search.FieldComparatorSource;
 
 import java.util.Collections;
 import java.util.Set;
 
-import static com.stratio.cassandra.lucene.common.GeospatialUtils.CONTEXT;
-
 /**
  * {@link SortField} to sort geo points by their distance to a fixed reference point.
  *
@@ -77,12 +73,14 @@ public class GeoDistanceSortField extends SortField {
         }
         GeoPointMapper geoPointMapper = (GeoPointMapper) mapper;
 
-        Point point = CONTEXT.makePoint(longitude, latitude);
-
         // Use the distance (in km) as source
-        SpatialStrategy strategy = geoPointMapper.strategy.getGeometryStrategy();
-        ValueSource valueSource = strategy.makeDistanceValueSource(point, DistanceUtils.DEG_TO_KM);
-        return valueSource.getSortField(reverse);
+        FieldComparatorSource source = new FieldComparatorSource() {
+            @Override
+            public FieldComparator<?> newComparator(String fieldName, int numHits, int sortPos, boolean reversed) {
+                return new GeoDistanceComparator(geoPointMapper, latitude, longitude, numHits);
+            }
+        };
+        return new org.apache.lucene.search.SortField(geoPointMapper.latLonField, source, reverse);
     }
 
     /** {@inheritDoc} */
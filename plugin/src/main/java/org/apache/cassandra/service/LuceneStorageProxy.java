@@ -17,6 +17,7 @@ package org.apache.cassandra.service;
 
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import com.stratio.cassandra.lucene.Index;
@@ -27,6 +28,8 @@ import org.apache.cassandra.db.PartitionRangeReadCommand;
 import org.apache.cassandra.db.ReadCommand;
 import org.apache.cassandra.db.SinglePartitionReadCommand;
 import org.apache.cassandra.db.partitions.PartitionIterator;
+import org.apache.cassandra.dht.Range;
+import org.apache.cassandra.dht.Token;
 import org.apache.cassandra.exceptions.InvalidRequestException;
 import org.apache.cassandra.exceptions.IsBootstrappingException;
 import org.apache.cassandra.exceptions.ReadFailureException;
@@ -34,6 +37,7 @@ import org.apache.cassandra.exceptions.ReadTimeoutException;
 import org.apache.cassandra.exceptions.UnavailableException;
 import org.apache.cassandra.metrics.ClientRequestMetrics;
 import org.apache.cassandra.schema.TableMetadata;
+import org.apache.cassandra.service.reads.range.LuceneRangeCommands;
 import org.apache.cassandra.service.reads.range.LuceneReplicaPlanIterator;
 import org.apache.cassandra.service.reads.range.LuceneReplicaPlanMerger;
 //import org.apache.cassandra.service.StorageProxy.RangeIterator;
@@ -123,6 +127,45 @@ public class LuceneStorageProxy {
         }
     }
 
+    /**
+     * Reads the specified partition range command requesting all its replica sets in parallel, instead of using the
+     * rounds of increasing concurrency of {@link StorageProxy#getRangeSlice}. It is intended for top-k searches, which
+     * need the local results of every replica set. The range slice metrics are recorded by the underlying range command
+     * iterator, as in {@link StorageProxy#getRangeSlice}.
+     *
+     * @param command the range read command
+     * @param consistencyLevel the consistency level
+     * @param queryStartNanoTime the query start time
+     * @return the reconciled and post processed partitions
+     */
+    public static PartitionIterator scatter(PartitionRangeReadCommand command,
+                                            ConsistencyLevel consistencyLevel,
+                                            long queryStartNanoTime)
+    throws UnavailableException, ReadFailureException, ReadTimeoutException {
+        return LuceneRangeCommands.scatter(command, consistencyLevel, queryStartNanoTime);
+    }
+
+    /**
+     * Returns if reads of the whole token ring of the specified keyspace can be satisfied by the local node alone with
+     * the specified consistency level. That happens if the local node is a full replica of all the token ranges and
+     * the consistency level requires a single replica.
+     *
+     * @param keyspace the keyspace name
+     * @param consistencyLevel the consistency level
+     * @return {@code true} if the local node can answer reads of the whole ring, {@code false} otherwise
+     */
+    public static boolean readsLocally(String keyspace, ConsistencyLevel consistencyLevel) {
+        if (consistencyLevel != ConsistencyLevel.ONE && consistencyLevel != ConsistencyLevel.LOCAL_ONE) {
+            return false;
+        }
+        if (StorageService.instance.isBootstrapMode()) {
+            return false;
+        }
+        Set<Range<Token>> ranges = StorageService.instance.getLocalReplicas(keyspace).onlyFull().ranges();
+        List<Range<Token>> normalized = Range.normalize(ranges);
+        return normalized.size() == 1 && normalized.get(0).left.isMinimum() && normalized.get(0).right.isMinimum();
+    }
+
     public static LuceneReplicaPlanMerger rangeMerger(PartitionRangeReadCommand command, ConsistencyLevel consistency)
     {
         final Keyspace keyspace = Keyspace.open(command.metadata().keyspace);
@@ -0,0 +1,47 @@
+package org.apache.cassandra.service.reads.range;
+
+import org.apache.cassandra.db.ConsistencyLevel;
+import org.apache.cassandra.db.Keyspace;
+import org.apache.cassandra.db.PartitionRangeReadCommand;
+import org.apache.cassandra.db.partitions.PartitionIterator;
+import org.apache.cassandra.tracing.Tracing;
+
+/**
+ * Modified version of Apache Cassandra {@link RangeCommands} to be used with Lucene top-k searches.
+ *
+ * Cassandra reads token ranges in rounds of increasing concurrency until the command limit is reached, but top-k
+ * searches need the local top-k of every replica set before the coordinator can merge them. Here all the replica sets
+ * are requested at once, so the search takes a single round trip.
+ */
+public class LuceneRangeCommands {
+
+    /**
+     * Returns the partitions of the specified range command, requesting all the merged replica plans in parallel.
+     *
+     * @param command the range read command
+     * @param consistency the consistency level
+     * @param queryStartNanoTime the query start time
+     * @return the reconciled and post processed partitions
+     */
+    public static PartitionIterator scatter(PartitionRangeReadCommand command,
+                                            ConsistencyLevel consistency,
+                                            long queryStartNanoTime) {
+        Keyspace keyspace = Keyspace.open(command.metadata().keyspace);
+        LuceneReplicaPlanIterator replicaPlans = new LuceneReplicaPlanIterator(command.dataRange().keyRange(),
+                                                                               keyspace,
+                                                                               consistency);
+        int rangeCount = Math.max(1, replicaPlans.size());
+        Tracing.trace("Scattering Lucene search to {} ranges", rangeCount);
+        LuceneReplicaPlanMerger mergedReplicaPlans = new LuceneReplicaPlanMerger(replicaPlans, keyspace, consistency);
+        RangeCommandIterator ranges = new RangeCommandIterator(mergedReplicaPlans,
+                                                               command,
+                                                               rangeCount,
+                                                               rangeCount,
+                                                               rangeCount,
+                                                               queryStartNanoTime);
+        return command.limits().filter(command.postReconciliationProcessing(ranges),
+                                       command.nowInSec(),
+                                       command.selectsFullPartition(),
+                                       command.metadata().enforceStrictLiveness());
+    }
+}
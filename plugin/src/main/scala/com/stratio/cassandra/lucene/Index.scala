@@ -32,10 +32,8 @@ import org.apache.cassandra.db.marshal.{AbstractType, UTF8Type}
 import org.apache.cassandra.db.partitions._
 import org.apache.cassandra.exceptions.{ConfigurationException, InvalidRequestException}
 import org.apache.cassandra.index.Index.{Indexer, Searcher}
-import org.apache.cassandra.index.internal.CollatedViewIndexBuilder
 import org.apache.cassandra.index.transactions.IndexTransaction
 import org.apache.cassandra.index.{IndexRegistry, Index => CassandraIndex}
-import org.apache.cassandra.io.sstable.ReducingKeyIterator
 import org.apache.cassandra.schema.{ColumnMetadata, IndexMetadata, TableMetadata}
 import org.apache.cassandra.utils.FBUtilities
 
@@ -78,6 +76,8 @@ class Index(table: ColumnFamilyStore, indexMetadata: IndexMetadata)
   private[this] def getBuildIndexTask(): Callable[Unit] =
     new Callable[Unit] {
       override def call(): Unit = {
+        if (service.excludedDataCenter) return
+        service.startTrackingWrites()
         table.forceBlockingFlush(FlushReason.INDEX_BUILD_STARTED)
 
         try {
@@ -91,18 +91,14 @@ class Index(table: ColumnFamilyStore, indexMetadata: IndexMetadata)
               return
             }
             logger.info("Submitting index build of {}", table.name)
-            val builder = new CollatedViewIndexBuilder(table,
-                                                       Collections.singleton(Index.this),
-                                                       new ReducingKeyIterator(sstables),
-                                                       java.Collections.unmodifiableCollection(sstables))
-
+            val builder = new IndexBuilder(service, java.Collections.unmodifiableCollection(sstables))
             val future = CompactionManager.instance.submitIndexBuild(builder)
             FBUtilities.waitOnFuture(future)
           } finally {
             if (viewFragment != null) viewFragment.close()
             if (sstables != null) sstables.close()
           }
-        }
+        } finally service.reindexTrackedWrites()
         logger.info("Index build of {} complete", indexMetadata.name)
       }
     }
@@ -255,11 +251,29 @@ class Index(table: ColumnFamilyStore, indexMetadata: IndexMetadata)
     * Additionally, this is also used by StorageProxy.estimateResultsPerRange to calculate the
     * initial concurrency factor for range requests
     *
+    * The estimate of the search being executed by the current thread is used if it has been set
+    * with [[Index.withEstimatedResultRows]], so range reads start with a concurrency factor suited
+    * to the search selectivity. Otherwise, the index is assumed to be very selective.
+    *
     * @return the estimated average number of results aIndexSearcher may return for any given query
     */
   override def getEstimatedResultRows: Long = {
     logger.trace("Getting the estimated result rows")
-    1
+    Index.estimatedResultRows(this).getOrElse(1L)
+  }
+
+  /** Returns an estimate of the number of rows matching the specified search in this node. The
+    * estimate is at least one, because Cassandra uses the minimum concurrency factor for zero.
+    *
+    * @param search the search to be estimated
+    * @return the estimated number of matching rows
+    */
+  def estimateResultRows(search: Search): Long = {
+    try Math.max(1, service.estimate(search)) catch {
+      case e: Exception =>
+        logger.debug(s"Unable to estimate the result rows of $search", e)
+        1L
+    }
   }
 
   /** Called at write time to ensure that values present in the update are valid according to the
@@ -367,6 +381,28 @@ class Index(table: ColumnFamilyStore, indexMetadata: IndexMetadata)
 /** Companion object for [[Index]]. */
 object Index extends Logging {
 
+  private[this] val estimates = new ThreadLocal[Option[(Index, Long)]] {
+    override def initialValue(): Option[(Index, Long)] = None
+  }
+
+  /** Runs the specified function making [[Index.getEstimatedResultRows]] return the specified
+    * estimate for the specified index in the current thread.
+    *
+    * @param index    the index
+    * @param estimate the estimated result rows of the search being executed
+    * @param f        the function to be run
+    * @return the result of the function
+    */
+  def withEstimatedResultRows[A](index: Index, estimate: Long)(f: => A): A = {
+    val previous = estimates.get
+    estimates.set(Some((index, estimate)))
+    try f finally estimates.set(previous)
+  }
+
+  private def estimatedResultRows(index: Index): Option[Long] = {
+    estimates.get.collect { case (i, estimate) if i eq index => estimate }
+  }
+
   /** Validates the specified index options.
     *
     * @param options  the options to be validated
@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene
+
+import java.nio.file.{Files, Path}
+import java.util.Collections
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.{Callable, ExecutionException, Executors, Future}
+
+import com.stratio.cassandra.lucene.IndexBuilder._
+import com.stratio.cassandra.lucene.index.BulkIndex
+import com.stratio.cassandra.lucene.util.Logging
+import org.apache.cassandra.db.compaction.{CompactionInfo, CompactionInterruptedException, OperationType}
+import org.apache.cassandra.db.partitions.UnfilteredPartitionIterators
+import org.apache.cassandra.dht.{Range, Token}
+import org.apache.cassandra.index.SecondaryIndexBuilder
+import org.apache.cassandra.io.sstable.format.SSTableReader
+import org.apache.cassandra.utils.FBUtilities
+import org.apache.cassandra.utils.TimeUUID.Generator.nextTimeUUID
+import org.apache.commons.io.FileUtils
+import org.apache.commons.lang3.concurrent.BasicThreadFactory
+import org.apache.lucene.search.Sort
+
+import scala.collection.mutable
+import scala.jdk.CollectionConverters._
+
+/** [[SecondaryIndexBuilder]] loading the contents of the specified SSTables into the index.
+  *
+  * The token ring is split in ranges according to the SSTables key samples, and each range is
+  * scanned in parallel merging the SSTables contents. The documents are directly built from the
+  * merged rows, without read-before-write nor indexing queues, and they are written to temporary
+  * per range Lucene indexes that finally replace the contents of the index, so the documents
+  * already in the index, such as those of a previous build, are not duplicated.
+  *
+  * The rows written while building must be reindexed once the build is done, because the built
+  * documents might be outdated versions of them. See [[IndexService.startTrackingWrites]].
+  *
+  * @param service  the index service
+  * @param sstables the SSTables to be indexed
+  */
+class IndexBuilder(service: IndexService, sstables: java.util.Collection[SSTableReader])
+  extends SecondaryIndexBuilder with Logging {
+
+  private[this] val compactionId = nextTimeUUID
+  private[this] val metadata = service.metadata
+  private[this] val numThreads = Math.max(1, service.options.indexingThreads)
+  private[this] val numPartitions = service.partitioner.numPartitions
+  private[this] val ramBufferMB = // Each thread fills a temporary index per partition at once
+    service.options.buildRamBufferMB.toDouble / (numThreads * numPartitions)
+  private[this] val totalBytes = sstables.asScala.map(_.onDiskLength).sum
+  private[this] val completedBytes = new AtomicLong
+
+  /** @inheritdoc */
+  override def getCompactionInfo: CompactionInfo = {
+    new CompactionInfo(
+      metadata,
+      OperationType.INDEX_BUILD,
+      completedBytes.get,
+      totalBytes,
+      compactionId,
+      sstables)
+  }
+
+  /** @inheritdoc */
+  override def isGlobal: Boolean = false
+
+  /** @inheritdoc */
+  override def build() {
+    val nowInSec = FBUtilities.nowInSeconds
+    val ranges = this.ranges(numThreads * RANGES_PER_THREAD)
+    val root = Files.createTempDirectory(
+      Files.createDirectories(service.options.path.toAbsolutePath.getParent),
+      s"${service.idxName}-build-")
+    val executor = Executors.newFixedThreadPool(
+      numThreads,
+      new BasicThreadFactory.Builder().namingPattern("lucene-builder-%d").build())
+    logger.info(s"Building ${service.qualifiedName} from ${sstables.size} SSTables " +
+      s"in ${ranges.size} token ranges with $numThreads threads")
+    try {
+      val futures: Seq[Future[Map[Int, BulkIndex]]] = ranges.zipWithIndex.map {
+        case (range, i) => executor.submit(new Callable[Map[Int, BulkIndex]] {
+          override def call(): Map[Int, BulkIndex] = build(range, root.resolve(i.toString), nowInSec)
+        })
+      }
+      val bulks = futures.map(future => try future.get catch {
+        case e: ExecutionException => throw e.getCause
+      })
+      try {
+        val bulksByPartition = bulks.flatten.groupBy(_._1)
+        (0 until numPartitions).foreach(partition => {
+          val directories = bulksByPartition.getOrElse(partition, Seq.empty).map(_._2.directory)
+          service.replace(partition, directories)
+        })
+      } finally bulks.foreach(_.values.foreach(_.delete()))
+    } finally {
+      executor.shutdownNow()
+      FileUtils.deleteQuietly(root.toFile)
+    }
+    logger.info(s"Built ${service.qualifiedName} from ${sstables.size} SSTables")
+  }
+
+  /** Returns the token ranges in which the ring should be split to be scanned in parallel,
+    * according to the SSTables key samples.
+    *
+    * @param numRanges the desired number of ranges
+    * @return the contiguous token ranges covering all the ring
+    */
+  private[this] def ranges(numRanges: Int): Seq[Range[Token]] = {
+    val min = metadata.partitioner.getMinimumToken
+    val ring = new Range[Token](min, min)
+    val tokens = sstables.asScala.toSeq
+      .flatMap(_.getKeySamples(ring).asScala.map(_.getToken))
+      .distinct
+      .sortWith(_.compareTo(_) < 0)
+      .toIndexedSeq
+    val step = Math.max(1, tokens.size / numRanges)
+    val bounds = (step until tokens.size by step).map(tokens)
+    (min +: bounds :+ min).sliding(2).map(b => new Range[Token](b.head, b.last)).toSeq
+  }
+
+  /** Loads the documents of the specified token range into new per index partition bulk indexes.
+    *
+    * @param range    the token range to be indexed
+    * @param path     the directory where the bulk indexes will be stored
+    * @param nowInSec now in seconds
+    * @return the finished bulk indexes by index partition
+    */
+  private[this] def build(range: Range[Token], path: Path, nowInSec: Int): Map[Int, BulkIndex] = {
+    val indexes = mutable.Map.empty[Int, BulkIndex]
+    val scanners = sstables.asScala.map(_.getScanner(Collections.singleton(range))).toList
+    val partitions = UnfilteredPartitionIterators.filter(
+      UnfilteredPartitionIterators.merge(
+        scanners.asJava,
+        UnfilteredPartitionIterators.MergeListener.NOOP),
+      nowInSec)
+    try {
+      while (partitions.hasNext) {
+        if (isStopRequested) throw new CompactionInterruptedException(getCompactionInfo)
+        val rows = partitions.next
+        try {
+          val key = rows.partitionKey
+          val partition = service.partitioner.partition(key)
+          while (rows.hasNext) {
+            val row = rows.next
+            if (row.hasLiveData(nowInSec, metadata.enforceStrictLiveness)) {
+              service.document(key, row, nowInSec).foreach(document => {
+                indexes.getOrElseUpdate(partition, bulk(path, partition)).add(document)
+              })
+            }
+          }
+        } finally rows.close()
+      }
+      indexes.values.foreach(_.finish())
+      indexes.toMap
+    } catch {
+      case e: Throwable =>
+        indexes.values.foreach(_.delete())
+        throw e
+    } finally {
+      completedBytes.addAndGet(scanners.map(_.getBytesScanned).sum)
+      partitions.close()
+    }
+  }
+
+  private[this] def bulk(path: Path, partition: Int): BulkIndex = {
+    new BulkIndex(
+      path.resolve(partition.toString),
+      service.schema.analyzer,
+      new Sort(service.keySortFields.toArray: _*),
+      Math.min(MAX_RAM_BUFFER_MB, Math.max(1D, ramBufferMB)))
+  }
+
+}
+
+/** Companion object for [[IndexBuilder]]. */
+object IndexBuilder {
+
+  /** The number of token ranges to be scanned per thread, to balance the load. */
+  val RANGES_PER_THREAD = 4
+
+  /** The max RAM buffer size of a temporary index, in MB, as limited by Lucene. */
+  val MAX_RAM_BUFFER_MB = 2048D
+}
@@ -40,9 +40,18 @@ class IndexOptions(tableMetadata: TableMetadata, indexMetadata: IndexMetadata) {
   /** The Lucene index searcher refresh frequency, in seconds */
   val refreshSeconds = parseRefresh(options)
 
+  /** The min time between Lucene index searcher refreshes, in seconds */
+  val minRefreshSeconds = parseMinRefresh(options)
+
+  /** The number of not yet searchable writes triggering an early index searcher refresh */
+  val refreshPendingDocs = parseRefreshPendingDocs(options)
+
   /** The Lucene's max RAM buffer size, in MB */
   val ramBufferMB = parseRamBufferMB(options)
 
+  /** The RAM buffer size shared by all the temporary indexes of a full build, in MB */
+  val buildRamBufferMB = parseBuildRamBufferMB(options)
+
   /** The Lucene's max segments merge size size, in MB */
   val maxMergeMB = parseMaxMergeMB(options)
 
@@ -69,6 +78,9 @@ class IndexOptions(tableMetadata: TableMetadata, indexMetadata: IndexMetadata) {
 
   /** If the index is sparse or not */
   val sparse = parseSparse(options, tableMetadata)
+
+  /** If key-only reads should be answered from the index without reading the table */
+  val covering = parseCovering(options)
 }
 
 /** Companion object for [[IndexOptions]]. */
@@ -77,9 +89,18 @@ object IndexOptions {
   val REFRESH_SECONDS_OPTION = "refresh_seconds"
   val DEFAULT_REFRESH_SECONDS = 60D
 
+  val MIN_REFRESH_SECONDS_OPTION = "min_refresh_seconds"
+  val DEFAULT_MIN_REFRESH_SECONDS = 0.1D
+
+  val REFRESH_PENDING_DOCS_OPTION = "refresh_pending_docs"
+  val DEFAULT_REFRESH_PENDING_DOCS = 100000
+
   val RAM_BUFFER_MB_OPTION = "ram_buffer_mb"
   val DEFAULT_RAM_BUFFER_MB = 64
 
+  val BUILD_RAM_BUFFER_MB_OPTION = "build_ram_buffer_mb"
+  val DEFAULT_BUILD_RAM_BUFFER_MB = 1024
+
   val MAX_MERGE_MB_OPTION = "max_merge_mb"
   val DEFAULT_MAX_MERGE_MB = 5
 
@@ -106,6 +127,9 @@ object IndexOptions {
   val SPARSE_OPTION = "sparse"
   val DEFAULT_SPARSE = false
 
+  val COVERING_OPTION = "covering"
+  val DEFAULT_COVERING = false
+
   /** Validates the specified index options.
     *
     * @param options  the options to be validated
@@ -114,7 +138,10 @@ object IndexOptions {
   def validate(options: java.util.Map[String, String], metadata: TableMetadata) {
     val o = options.asScala.toMap
     parseRefresh(o)
+    parseMinRefresh(o)
+    parseRefreshPendingDocs(o)
     parseRamBufferMB(o)
+    parseBuildRamBufferMB(o)
     parseMaxMergeMB(o)
     parseMaxCachedMB(o)
     parseIndexingThreads(o)
@@ -123,16 +150,29 @@ object IndexOptions {
     parseSchema(o, metadata)
     parsePath(o, metadata, None)
     parsePartitioner(o, metadata)
+    parseCovering(o)
   }
 
   def parseRefresh(options: Map[String, String]): Double = {
     parseStrictlyPositiveDouble(options, REFRESH_SECONDS_OPTION, DEFAULT_REFRESH_SECONDS)
   }
 
+  def parseMinRefresh(options: Map[String, String]): Double = {
+    parseStrictlyPositiveDouble(options, MIN_REFRESH_SECONDS_OPTION, DEFAULT_MIN_REFRESH_SECONDS)
+  }
+
+  def parseRefreshPendingDocs(options: Map[String, String]): Int = {
+    parseStrictlyPositiveInt(options, REFRESH_PENDING_DOCS_OPTION, DEFAULT_REFRESH_PENDING_DOCS)
+  }
+
   def parseRamBufferMB(options: Map[String, String]): Int = {
     parseStrictlyPositiveInt(options, RAM_BUFFER_MB_OPTION, DEFAULT_RAM_BUFFER_MB)
   }
 
+  def parseBuildRamBufferMB(options: Map[String, String]): Int = {
+    parseStrictlyPositiveInt(options, BUILD_RAM_BUFFER_MB_OPTION, DEFAULT_BUILD_RAM_BUFFER_MB)
+  }
+
   def parseMaxMergeMB(options: Map[String, String]): Int = {
     parseStrictlyPositiveInt(options, MAX_MERGE_MB_OPTION, DEFAULT_MAX_MERGE_MB)
   }
@@ -199,6 +239,14 @@ object IndexOptions {
       }).getOrElse(DEFAULT_SPARSE)
   }
 
+  def parseCovering(options: Map[String, String]): Boolean = {
+    options.get(COVERING_OPTION).map(
+      value => try value.toBoolean catch {
+        case e: Exception => throw new IndexException(e,
+          s"'$COVERING_OPTION' is invalid : ${e.getMessage}")
+      }).getOrElse(DEFAULT_COVERING)
+  }
+
   private def parseInt(options: Map[String, String], name: String, default: Int): Int = {
     options.get(name).map(
       string => try string.toInt catch {
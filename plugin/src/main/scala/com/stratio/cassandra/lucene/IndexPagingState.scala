@@ -16,18 +16,21 @@
 package com.stratio.cassandra.lucene
 
 import java.nio.ByteBuffer
+import java.util.concurrent.TimeUnit
 
 import com.google.common.base.MoreObjects
+import com.google.common.cache.{Cache, CacheBuilder}
 import com.stratio.cassandra.lucene.IndexPagingState._
 import com.stratio.cassandra.lucene.partitioning.Partitioner
 import com.stratio.cassandra.lucene.search.SearchBuilder
-import com.stratio.cassandra.lucene.util.{ByteBufferUtils, SimplePartitionIterator, SingleRowIterator}
+import com.stratio.cassandra.lucene.util.{ByteBufferUtils, SingleRowPartitionIterator}
 import org.apache.cassandra.config.DatabaseDescriptor
 import org.apache.cassandra.db._
 import org.apache.cassandra.db.filter.RowFilter
 import org.apache.cassandra.db.marshal.{Int32Type, UTF8Type}
 import org.apache.cassandra.db.partitions.PartitionIterator
-import org.apache.cassandra.service.LuceneStorageProxy
+import org.apache.cassandra.dht.AbstractBounds
+import org.apache.cassandra.service.{LuceneStorageProxy, StorageService}
 import org.apache.cassandra.service.pager.PagingState
 
 import scala.jdk.CollectionConverters._
@@ -123,23 +126,7 @@ class IndexPagingState(var remaining: Int) {
       group: SinglePartitionReadCommand.Group,
       partitions: PartitionIterator,
       partitioner: Partitioner): PartitionIterator = {
-    val rowIterators = mutable.ListBuffer.empty[SingleRowIterator]
-    var count = 0
-    for (partition <- partitions.asScala) {
-      val key = partition.partitionKey
-      val p = partitioner.partition(key)
-      while (partition.hasNext) {
-        val newRowIterator = new SingleRowIterator(partition)
-        rowIterators += newRowIterator
-        entries.put((p, key), newRowIterator.row.clustering())
-        if (remaining > 0) remaining -= 1
-        count += 1
-      }
-      partition.close()
-    }
-    partitions.close()
-    hasMorePages = remaining > 0 && count >= group.limits.count
-    new SimplePartitionIterator(rowIterators.toSeq)
+    track(partitions, group.limits.count, partitioner, _ => None)
   }
 
   private def update(
@@ -149,33 +136,37 @@ class IndexPagingState(var remaining: Int) {
       partitioner: Partitioner): PartitionIterator = {
 
     // Collect query bounds
-    val rangeMerger = LuceneStorageProxy.rangeMerger(command, consistency)
-    val bounds = rangeMerger.asScala.map(_.range).toList
+    val bounds = rangeBounds(command, consistency)
 
-    val rowIterators = mutable.ListBuffer.empty[SingleRowIterator]
+    track(partitions, command.limits.count, partitioner, bounds.find)
+  }
 
+  /** Returns the rows of the specified partitions, updating this paging state as they are read.
+    * Rows are not buffered, so the page is complete once the returned iterator is exhausted.
+    *
+    * @param partitions  the query results
+    * @param limit       the query limit
+    * @param partitioner the index partitioner
+    * @param bound       a function returning the query bound containing a key, if any
+    * @return the rows of `partitions`
+    */
+  private[lucene] def track(
+      partitions: PartitionIterator,
+      limit: Int,
+      partitioner: Partitioner,
+      bound: DecoratedKey => Option[AbstractBounds[PartitionPosition]]): PartitionIterator = {
     var count = 0
-    for (partition <- partitions.asScala) {
-
-      val key = partition.partitionKey
+    hasMorePages = false
+    new SingleRowPartitionIterator(partitions, rowIterator => {
+      val key = rowIterator.partitionKey
       val p = partitioner.partition(key)
-      val bound = bounds.find(_ contains key)
-      while (partition.hasNext) {
-        bound.foreach(bound =>
-          entries.keys.filter(x => bound.contains(x._2) && p == x._1).foreach(entries.remove))
-        val newRowIterator = new SingleRowIterator(partition)
-        rowIterators += newRowIterator
-        val clustering = newRowIterator.row.clustering
-        entries.put((p, key), clustering)
-        if (remaining > 0) remaining -= 1
-        count += 1
-      }
-      partition.close()
-    }
-    partitions.close()
-
-    hasMorePages = remaining > 0 && count >= command.limits.count
-    new SimplePartitionIterator(rowIterators.toSeq)
+      bound(key).foreach(bound =>
+        entries.keys.filter(x => bound.contains(x._2) && p == x._1).foreach(entries.remove))
+      entries.put((p, key), rowIterator.row.clustering)
+      if (remaining > 0) remaining -= 1
+      count += 1
+      hasMorePages = remaining > 0 && count >= limit
+    })
   }
 
   /** Returns a CQL [[PagingState]] containing this Lucene paging state.
@@ -220,9 +211,47 @@ class IndexPagingState(var remaining: Int) {
 /** Companion object for [[IndexPagingState]]. */
 object IndexPagingState {
 
+  /** The max number of cached range bounds. */
+  val MAX_CACHED_BOUNDS = 1000
+
+  /** The max time in seconds that range bounds are cached, so replica liveness changes are seen. */
+  val CACHED_BOUNDS_SECONDS = 10
+
   private lazy val expressionValueField = classOf[RowFilter.Expression].getDeclaredField("value")
   expressionValueField.setAccessible(true)
 
+  private[this] val boundsCache: Cache[BoundsKey, RangeBounds] = CacheBuilder.newBuilder
+    .maximumSize(MAX_CACHED_BOUNDS)
+    .expireAfterWrite(CACHED_BOUNDS_SECONDS, TimeUnit.SECONDS)
+    .build[BoundsKey, RangeBounds]
+
+  /** The cache key of the range bounds of a query. */
+  private case class BoundsKey(
+      keyspace: String,
+      keyRange: AbstractBounds[PartitionPosition],
+      consistency: ConsistencyLevel,
+      ringVersion: Long)
+
+  /** Returns the bounds of the merged replica plans of the specified range read command. Walking
+    * the ring to build them is expensive, so they are cached per ring version and shared by all
+    * the pages of the same query.
+    *
+    * @param command     a partition range read command
+    * @param consistency the query consistency level
+    * @return the bounds of the replica plans of `command`
+    */
+  private def rangeBounds(command: PartitionRangeReadCommand, consistency: ConsistencyLevel): RangeBounds = {
+    val key = BoundsKey(
+      command.metadata.keyspace,
+      command.dataRange.keyRange,
+      consistency,
+      StorageService.instance.getTokenMetadata.getRingVersion)
+    boundsCache.get(key, () => {
+      val rangeMerger = LuceneStorageProxy.rangeMerger(command, consistency)
+      RangeBounds(rangeMerger.asScala.map(_.range).toIndexedSeq)
+    })
+  }
+
   /** Returns the paging state represented by the specified byte buffer, which should have been
     * generated with [[IndexPagingState.toByteBuffer]].
     *
@@ -254,3 +283,35 @@ object IndexPagingState {
     if (state == null) new IndexPagingState(limit) else fromByteBuffer(state.partitionKey)
   }
 }
+
+/** The non-overlapping bounds of the replica plans of a range read, sorted by right bound so the
+  * bound containing a key can be found by binary search. A minimum right bound stands for the end
+  * of the ring.
+  *
+  * @param unsorted the bounds in any order
+  */
+case class RangeBounds(unsorted: IndexedSeq[AbstractBounds[PartitionPosition]]) {
+
+  private[this] val bounds = unsorted.sortWith((a, b) =>
+    !a.right.isMinimum && (b.right.isMinimum || a.right.compareTo(b.right) < 0))
+
+  private[this] def compareRight(bound: AbstractBounds[PartitionPosition], position: PartitionPosition): Int = {
+    if (bound.right.isMinimum) 1 else bound.right.compareTo(position)
+  }
+
+  /** Returns the bound containing the specified position, if any.
+    *
+    * @param position a ring position
+    * @return the bound containing `position`
+    */
+  def find(position: PartitionPosition): Option[AbstractBounds[PartitionPosition]] = {
+    var low = 0
+    var high = bounds.size - 1
+    while (low < high) {
+      val mid = (low + high) >>> 1
+      if (compareRight(bounds(mid), position) < 0) low = mid + 1 else high = mid
+    }
+    if (bounds.nonEmpty && bounds(low).contains(position)) Some(bounds(low))
+    else bounds.find(_ contains position)
+  }
+}
@@ -27,9 +27,10 @@ import org.apache.cassandra.db.partitions.PartitionIterator
 import org.apache.cassandra.db.rows.Row
 import org.apache.cassandra.db.{DecoratedKey, ReadCommand, ReadQuery, SinglePartitionReadCommand}
 import org.apache.lucene.document.{Document, StoredField}
+import org.apache.lucene.search.ScoreDoc
 
-import scala.jdk.CollectionConverters._
 import scala.collection.mutable
+import scala.jdk.CollectionConverters._
 
 /** Post processes in the coordinator node the results of a distributed search. In other words,
   * gets the k globally best results from all the k best node-local results.
@@ -51,59 +52,69 @@ sealed abstract class IndexPostProcessor[A <: ReadQuery](service: IndexService)
     */
   protected def process(partitions: PartitionIterator, search: Search, limit: Int, now: Int)
   : PartitionIterator = {
-    if (search.requiresFullScan) {
-      val rows = collect(partitions)
-      if (search.requiresPostProcessing && rows.nonEmpty) {
-        return top(rows, search, limit, now)
-      }
-    }
-    partitions
+    if (search.requiresPostProcessing) top(partitions, search, limit, now) else partitions
   }
 
-  /** Collects the rows of the specified partition iterator. The iterator gets traversed after this
-    * operation so it can't be reused.
+  /** Takes the k best rows of the specified partitions according to the specified search.
     *
-    * @param partitions a partition iterator
-    * @return the rows contained in the partition iterator
+    * Rows are read in chunks, which are merged with the best rows found so far, so at most
+    * `limit` plus [[MIN_CHUNK_SIZE]] rows are kept in memory when the search only uses field
+    * sorting. Searches using relevance need all the rows at once because their scores depend on
+    * the statistics of the whole collected result set.
+    *
+    * @param partitions the partitions to be sorted
+    * @param search     a search defining the ordering
+    * @param limit      the number of results to be returned
+    * @param now        the operation time in seconds
+    * @return
     */
-  private def collect(partitions: PartitionIterator): List[(DecoratedKey, SingleRowIterator)] = {
+  private def top(
+      partitions: PartitionIterator,
+      search: Search,
+      limit: Int,
+      now: Int): PartitionIterator = {
+
     val time = TimeCounter.start
-    val rows = mutable.ListBuffer[(DecoratedKey, SingleRowIterator)]()
-    for (partition <- partitions.asScala) {
-      try {
-        val key = partition.partitionKey
-        while (partition.hasNext) {
-          rows += ((key, new SingleRowIterator(partition)))
-        }
-      } finally partition.close()
+    val chunkSize = if (search.usesRelevance) Int.MaxValue else Math.max(limit, MIN_CHUNK_SIZE)
+    var count = 0
+    val rows = new SingleRowPartitionIterator(partitions, _ => count += 1)
+    val best = try {
+      merge(rows.asScala.collect { case row: SingleRowIterator => row }, chunkSize)(
+        sort(_, search, limit, now))
+    } finally rows.close()
+
+    // Decorate
+    val merged = for ((rowIterator, score) <- best) yield {
+      rowIterator.decorated(row => service.expressionMapper.decorate(row, score, now))
     }
-    logger.debug(s"Collected ${rows.size} rows in $time")
-    rows.toList
+
+    tracer.trace(s"Lucene post-process $count collected rows to ${merged.size} rows")
+    logger.debug(s"Post-processed $count rows to ${merged.size} rows in $time")
+    new SimplePartitionIterator(merged)
   }
 
-  /** Takes the k best rows of the specified rows according to the specified search.
+  /** Returns the k best rows of the specified rows according to the specified search, along with
+    * their scores.
     *
     * @param rows   the rows to be sorted
     * @param search a search defining the ordering
     * @param limit  the number of results to be returned
     * @param now    the operation time in seconds
-    * @return
+    * @return the best rows and their scores
     */
-  private def top(
-      rows: List[(DecoratedKey, SingleRowIterator)],
+  private def sort(
+      rows: IndexedSeq[SingleRowIterator],
       search: Search,
       limit: Int,
-      now: Int): PartitionIterator = {
+      now: Int): IndexedSeq[(SingleRowIterator, ScoreDoc)] = {
 
-    val time = TimeCounter.start
     val index = new RAMIndex(service.schema.analyzer)
     try {
 
-      // Index collected rows in memory
+      // Index rows in memory
       for (id <- rows.indices) {
-        val (key, rowIterator) = rows(id)
-        val row = rowIterator.row
-        val doc = document(key, row, search, now)
+        val rowIterator = rows(id)
+        val doc = document(rowIterator.partitionKey, rowIterator.row, search, now)
         doc.add(new StoredField(ID_FIELD, id)) // Mark document
         index.add(doc)
       }
@@ -112,17 +123,7 @@ sealed abstract class IndexPostProcessor[A <: ReadQuery](service: IndexService)
       val query = search.postProcessingQuery(service.schema)
       val sort = service.sort(search)
       val docs = index.search(query, sort, limit, FIELDS_TO_LOAD)
-
-      // Collect and decorate
-      val merged = for ((doc, score) <- docs) yield {
-        val id = doc.get(ID_FIELD).toInt
-        val rowIterator = rows(id)._2
-        rowIterator.decorated(row => service.expressionMapper.decorate(row, score, now))
-      }
-
-      tracer.trace(s"Lucene post-process ${rows.size} collected rows to ${merged.size} rows")
-      logger.debug(s"Post-processed ${rows.size} rows to ${merged.size} rows in $time")
-      new SimplePartitionIterator(merged)
+      docs.map { case (doc, score) => (rows(doc.get(ID_FIELD).toInt), score) }.toIndexedSeq
 
     } finally index.close()
   }
@@ -151,6 +152,33 @@ object IndexPostProcessor {
   val ID_FIELD = "_id"
   val FIELDS_TO_LOAD: java.util.Set[String] = Collections.singleton(ID_FIELD)
 
+  /** The min number of rows to be read between partial sorts of field sorting searches. */
+  val MIN_CHUNK_SIZE = 1000
+
+  /** Returns the best of the specified rows according to the specified sort function, which
+    * returns the best rows of a sequence along with their scores. Rows are read in chunks of the
+    * specified size, and each chunk is sorted after the best rows found so far, so they keep their
+    * precedence over the rows of the chunk on ties.
+    *
+    * @param rows      the rows to be sorted
+    * @param chunkSize the max number of rows to be read between sorts
+    * @param sort      the function returning the best rows of a sequence along with their scores
+    * @return the best rows and their scores
+    */
+  def merge[T, S](rows: Iterator[T], chunkSize: Int)
+    (sort: IndexedSeq[T] => IndexedSeq[(T, S)]): IndexedSeq[(T, S)] = {
+    var best = IndexedSeq.empty[(T, S)]
+    while (rows.hasNext) {
+      val chunk = mutable.ArrayBuffer.empty[T]
+      chunk ++= best.map(_._1)
+      while (rows.hasNext && chunk.size - best.size < chunkSize) {
+        chunk += rows.next()
+      }
+      best = sort(chunk.toIndexedSeq)
+    }
+    best
+  }
+
 }
 
 /** An [[IndexPostProcessor]] for [[ReadCommand]]s.
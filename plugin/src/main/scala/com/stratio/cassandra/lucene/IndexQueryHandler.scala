@@ -18,10 +18,14 @@ package com.stratio.cassandra.lucene
 import java.lang.Class
 import java.lang.reflect.{Field, Method, Modifier}
 import java.nio.ByteBuffer
+import java.util.Collections
 import com.stratio.cassandra.lucene.IndexQueryHandler._
+import com.stratio.cassandra.lucene.common.JsonSerializer
 import com.stratio.cassandra.lucene.partitioning.Partitioner
+import com.stratio.cassandra.lucene.search.Search
 import com.stratio.cassandra.lucene.util.{Logging, TimeCounter}
 import org.apache.cassandra.cql3._
+import org.apache.cassandra.cql3.functions.AggregateFcts
 import org.apache.cassandra.cql3.selection.Selection.Selectors
 import org.apache.cassandra.cql3.statements.RequestValidations.checkNotNull
 import org.apache.cassandra.cql3.statements.schema.IndexTarget
@@ -30,12 +34,14 @@ import org.apache.cassandra.db.SinglePartitionReadCommand.Group
 import org.apache.cassandra.db._
 import org.apache.cassandra.db.aggregation.AggregationSpecification
 import org.apache.cassandra.db.filter.RowFilter.{CustomExpression, Expression}
+import org.apache.cassandra.db.marshal.LongType
 import org.apache.cassandra.db.partitions.PartitionIterator
 import org.apache.cassandra.exceptions.InvalidRequestException
 import org.apache.cassandra.service.{ClientState, LuceneStorageProxy, QueryState}
+import org.apache.cassandra.transport.ProtocolVersion
 import org.apache.cassandra.transport.messages.ResultMessage
 import org.apache.cassandra.transport.messages.ResultMessage.Rows
-import org.apache.cassandra.utils.{FBUtilities, MD5Digest}
+import org.apache.cassandra.utils.{ByteBufferUtil, FBUtilities, MD5Digest}
 
 import scala.jdk.CollectionConverters._
 import scala.collection.mutable
@@ -172,6 +178,16 @@ class IndexQueryHandler extends QueryHandler with Logging {
     val (expression, index) = expressions.head
     val search = index.validate(expression)
 
+    // Count facets in the local index if required
+    val facets = if (search.usesFaceting) executeLocalFacets(select, options, index, search) else None
+    def withFacets(result: ResultMessage): ResultMessage = {
+      facets.foreach(result.setCustomPayload)
+      result
+    }
+
+    // Count matches in the local index if possible
+    executeLocalCount(select, options, index, search).foreach(result => return withFacets(result))
+
     // Get partitioner
     val partitioner = index.service.partitioner
 
@@ -180,12 +196,109 @@ class IndexQueryHandler extends QueryHandler with Logging {
     val page = if (select.getSelection.isAggregate && options.getPageSize <= 0)
       SelectStatement.DEFAULT_PAGE_SIZE else options.getPageSize
 
-    // Take control of paging if there is paging and the query requires post processing
-    if (search.requiresPostProcessing && page > 0 && page < limit) {
-      executeSortedLuceneQuery(select, state, options, partitioner, queryStartNanoTime)
-    } else {
-      execute(select, state, options, queryStartNanoTime)
+    // Estimate matches to size the concurrency of range reads
+    val isKeyRange = select.getRestrictions.isKeyRange
+    val estimate = if (isKeyRange) index.estimateResultRows(search) else 1L
+
+    // Take control of paging and scattering if the query requires post processing
+    val isAggregate = select.getSelection.isAggregate
+    withFacets(Index.withEstimatedResultRows(index, estimate) {
+      sortedPageSize(search.requiresPostProcessing, isKeyRange, isAggregate, page, limit) match {
+        case Some(size) =>
+          executeSortedLuceneQuery(select, state, options, partitioner, search, size, queryStartNanoTime)
+        case None => execute(select, state, options, queryStartNanoTime)
+      }
+    })
+  }
+
+  /** Returns the result of the specified query if it just counts the rows matching the search and
+    * it can be computed with the local index, without reading any rows. That happens if the query
+    * only selects `COUNT(*)`, it has no other restrictions than the search, and the local node can
+    * answer it alone with the requested consistency level.
+    *
+    * @param select  the CQL select statement
+    * @param options the query options
+    * @param index   the index targeted by the search
+    * @param search  the search
+    * @return the count result, or `None` if it can't be computed locally
+    */
+  def executeLocalCount(
+      select: SelectStatement,
+      options: QueryOptions,
+      index: Index,
+      search: Search): Option[ResultMessage] = {
+
+    // Only plain COUNT(*) and COUNT(1) selections, other aggregates can look the same
+    val selection = select.getSelection
+    val metadata = selection.getResultMetadata
+    val isCount = selection.isAggregate &&
+      selection.getColumns.isEmpty &&
+      metadata.names.size == 1 &&
+      select.getFunctions.asScala.toList == List(AggregateFcts.countRowsFunction) &&
+      select.getAggregationSpec(options) == null
+    if (!isCount || !isFullScan(select, options)) return None
+    if (!LuceneStorageProxy.readsLocally(select.keyspace, options.getConsistency)) return None
+
+    index.service.count(search, FBUtilities.nowInSeconds).map(count => {
+      logger.debug(s"Counted $count rows in the local index")
+      val row = Collections.singletonList(LongType.instance.decompose(count))
+      new Rows(new ResultSet(metadata, Collections.singletonList(row)))
+    })
+  }
+
+  /** Returns the custom payload with the facets of the specified search, serialized as JSON,
+    * counted with the local index without reading any rows, and with whether they are exact.
+    * Facets are only computed for the first page of the query, which must have no other
+    * restrictions than the search, and the local node must be able to answer it alone with the
+    * requested consistency level.
+    *
+    * @param select  the CQL select statement
+    * @param options the query options
+    * @param index   the index targeted by the search
+    * @param search  the search
+    * @return the facets payload, or `None` if the query is not asking for the first page
+    */
+  def executeLocalFacets(
+      select: SelectStatement,
+      options: QueryOptions,
+      index: Index,
+      search: Search): Option[java.util.Map[String, ByteBuffer]] = {
+
+    if (options.getProtocolVersion.isSmallerThan(ProtocolVersion.V4)) {
+      throw new InvalidRequestException("Lucene facets require native protocol version 4 or above")
+    }
+    if (!isFullScan(select, options)) {
+      throw new InvalidRequestException(
+        "Lucene facets don't support other restrictions than the search expression")
     }
+    if (!LuceneStorageProxy.readsLocally(select.keyspace, options.getConsistency)) {
+      throw new InvalidRequestException(
+        "Lucene facets require consistency level ONE or LOCAL_ONE in a node replicating all data")
+    }
+    if (options.getPagingState != null) return None
+
+    val time = TimeCounter.start
+    val (facets, exact) = index.service.facets(search, FBUtilities.nowInSeconds)
+    logger.debug(s"Counted facets in the local index in ${time.stop}, exact: $exact")
+    val payload = new java.util.HashMap[String, ByteBuffer]
+    payload.put(FACETS_PAYLOAD, ByteBufferUtil.bytes(JsonSerializer.toString(facets)))
+    payload.put(FACETS_EXACT_PAYLOAD, ByteBufferUtil.bytes(exact.toString))
+    Some(payload)
+  }
+
+  /** Returns if the specified query has no other restrictions than one expression, so it scans all
+    * the rows matching the search.
+    *
+    * @param select  the CQL select statement
+    * @param options the query options
+    * @return `true` if the query has no restrictions other than the search, `false` otherwise
+    */
+  private def isFullScan(select: SelectStatement, options: QueryOptions): Boolean = {
+    val restrictions = select.getRestrictions
+    restrictions.isKeyRange &&
+      !restrictions.hasPartitionKeyRestrictions &&
+      !restrictions.hasClusteringColumnsRestrictions &&
+      select.getRowFilter(options).getExpressions.size == 1
   }
 
   def executeSortedLuceneQuery(
@@ -193,6 +306,8 @@ class IndexQueryHandler extends QueryHandler with Logging {
       state: QueryState,
       options: QueryOptions,
       partitioner: Partitioner,
+      search: Search,
+      page: Int,
       queryStartNanoTime: Long): Rows = {
 
     // Check consistency level
@@ -204,7 +319,6 @@ class IndexQueryHandler extends QueryHandler with Logging {
     val now = FBUtilities.nowInSeconds
     val limit = select.getLimit(options)
     val userPerPartitionLimit = select.getPerPartitionLimit(options)
-    val page = options.getPageSize
 
     // Read paging state and write it to query
     val pagingState = IndexPagingState.build(options.getPagingState, limit)
@@ -217,6 +331,8 @@ class IndexQueryHandler extends QueryHandler with Logging {
     val data = query match {
       case group: Group if group.queries.size > 1 =>
         LuceneStorageProxy.read(group, consistency, queryStartNanoTime)
+      case command: PartitionRangeReadCommand if search.requiresPostProcessing =>
+        LuceneStorageProxy.scatter(command, consistency, queryStartNanoTime)
       case _ => query.execute(consistency, state.getClientState, queryStartNanoTime)
     }
 
@@ -245,6 +361,12 @@ class IndexQueryHandler extends QueryHandler with Logging {
 /** Companion object for [[IndexQueryHandler]]. */
 object IndexQueryHandler {
 
+  /** The name of the custom payload entry containing the JSON facets of a search. */
+  val FACETS_PAYLOAD = "lucene_facets"
+
+  /** The name of the custom payload entry telling if the facets of a search are exact. */
+  val FACETS_EXACT_PAYLOAD = "lucene_facets_exact"
+
   val processResults: Method = classOf[SelectStatement].getDeclaredMethod(
     "processResults",
     classOf[PartitionIterator],
@@ -255,6 +377,30 @@ object IndexQueryHandler {
     classOf[AggregationSpecification])
   processResults.setAccessible(true)
 
+  /** Returns the page size to be used to execute a search with [[IndexQueryHandler]]'s sorted
+    * execution, or `None` if it should be executed by Cassandra. Searches requiring post processing
+    * are taken when they are paged, to keep their order across pages, and when they are key range
+    * searches fitting in a single page, to scatter them to all the replica sets at once.
+    *
+    * @param requiresPostProcessing if the search requires post processing
+    * @param isKeyRange             if the query is a key range query
+    * @param isAggregate            if the query selects aggregates
+    * @param page                   the page size
+    * @param limit                  the query limit
+    * @return the page size of the sorted execution, if any
+    */
+  def sortedPageSize(
+      requiresPostProcessing: Boolean,
+      isKeyRange: Boolean,
+      isAggregate: Boolean,
+      page: Int,
+      limit: Int): Option[Int] = {
+    if (!requiresPostProcessing) None
+    else if (page > 0 && page < limit) Some(page)
+    else if (isKeyRange && !isAggregate) Some(limit)
+    else None
+  }
+
   /** Sets this query handler as the Cassandra CQL query handler, replacing the previous one. */
   def activate(): Unit = {
     this.synchronized {
@@ -19,7 +19,8 @@ import com.stratio.cassandra.lucene.index.DocumentIterator
 import org.apache.cassandra.db._
 import org.apache.cassandra.db.filter.ClusteringIndexFilter
 import org.apache.cassandra.db.partitions.UnfilteredPartitionIterator
-import org.apache.cassandra.db.rows.UnfilteredRowIterator
+import org.apache.cassandra.db.rows._
+import org.apache.cassandra.db.transform.Transformation
 import org.apache.cassandra.schema.TableMetadata
 
 /** [[UnfilteredPartitionIterator]] for retrieving rows from a [[DocumentIterator]].
@@ -37,7 +38,7 @@ abstract class IndexReader(
     documents: DocumentIterator)
   extends UnfilteredPartitionIterator {
 
-  private lazy val metadataVal: TableMetadata = table.metadata.get()
+  private lazy val metadataVal: TableMetadata = command.metadata
 
   protected var nextData: Option[UnfilteredRowIterator] = None
 
@@ -82,5 +83,47 @@ abstract class IndexReader(
       filter).queryMemtableAndDisk(table, controller)
   }
 
+  /** Returns the specified rows read from the table in the form of the rows built from the index
+    * by [[covered]], that is, without the cells of the rows with live primary key liveness info.
+    * This way, the replicas answering a covered read from the index and those falling back to the
+    * table return the same rows, and so the same digests.
+    *
+    * @param data the rows read from the table
+    * @return the rows without the cells not required by covered reads
+    */
+  protected def uncovered(data: UnfilteredRowIterator): UnfilteredRowIterator = {
+    val now = command.nowInSec
+    Transformation.apply(data, new Transformation[UnfilteredRowIterator] {
+      override protected def applyToRow(row: Row): Row = {
+        val liveness = row.primaryKeyLivenessInfo
+        if (liveness.isLive(now)) BTreeRow.noCellLiveRow(row.clustering, liveness) else row
+      }
+    })
+  }
+
+  /** Returns an [[UnfilteredRowIterator]] with the specified rows built from the index, without
+    * reading the table.
+    *
+    * @param key  the partition key
+    * @param rows the rows sorted by clustering key
+    * @return the rows of the partition
+    */
+  protected def covered(key: DecoratedKey, rows: Seq[Row]): UnfilteredRowIterator = {
+    new AbstractUnfilteredRowIterator(
+      metadataVal,
+      key,
+      DeletionTime.LIVE,
+      command.columnFilter.fetchedColumns,
+      Rows.EMPTY_STATIC_ROW,
+      false,
+      EncodingStats.NO_STATS) {
+
+      private[this] val iterator = rows.iterator
+
+      override protected def computeNext(): Unfiltered = {
+        if (iterator.hasNext) iterator.next() else endOfData()
+      }
+    }
+  }
 
 }
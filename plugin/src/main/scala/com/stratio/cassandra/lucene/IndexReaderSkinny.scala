@@ -35,13 +35,20 @@ class IndexReaderSkinny(
     documents: DocumentIterator)
   extends IndexReader(command, table, controller, documents) {
 
+  private[this] val covering = service.covers(command)
+
   /** @inheritdoc */
   override protected def prepareNext(): Boolean = {
     while (nextData.isEmpty && documents.hasNext) {
       val nextDoc = documents.next
       val key = service.decoratedKey(nextDoc._1)
-      val filter = command.clusteringIndexFilter(key)
-      nextData = Some(read(key, filter))
+      val row = if (covering) {
+        service.livenessMapper.row(nextDoc._1, Clustering.EMPTY, command.nowInSec)
+      } else None
+      nextData = Some(row.map(row => covered(key, Seq(row))).getOrElse {
+        val filter = command.clusteringIndexFilter(key)
+        if (covering) uncovered(read(key, filter)) else read(key, filter)
+      })
       nextData.foreach(d => if (d.isEmpty) d.close())
     }
     nextData.isDefined
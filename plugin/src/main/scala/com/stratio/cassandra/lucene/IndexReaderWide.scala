@@ -22,6 +22,8 @@ import org.apache.cassandra.db._
 import org.apache.cassandra.db.filter.ClusteringIndexNamesFilter
 import org.apache.lucene.document.Document
 
+import scala.jdk.CollectionConverters._
+
 /** [[IndexReader]] for wide rows.
   *
   * @param service    the index service
@@ -40,10 +42,12 @@ class IndexReaderWide(
   extends IndexReader(command, table, controller, documents) {
 
   private[this] val comparator = service.metadata.comparator
+  private[this] val covering = service.covers(command)
   private[this] var nextDoc: Document = _
 
-  private[this] def readClusterings(key: DecoratedKey): java.NavigableSet[Clustering[_]] = {
-    val clusterings = new java.TreeSet[Clustering[_]](comparator)
+  private[this] def readClusterings(key: DecoratedKey)
+  : java.NavigableMap[Clustering[_], Document] = {
+    val clusterings = new java.TreeMap[Clustering[_], Document](comparator)
     var clustering = service.clustering(nextDoc)
     var lastClustering: Clustering[_] = null
     var continue = true
@@ -51,7 +55,7 @@ class IndexReaderWide(
       (lastClustering == null || comparator.compare(lastClustering, clustering) < 0)) {
       if (command.selectsKey(key) && command.selectsClustering(key, clustering)) {
         lastClustering = clustering
-        clusterings.add(clustering)
+        clusterings.put(clustering, nextDoc)
       }
       if (documents.hasNext) {
         nextDoc = documents.next._1
@@ -78,8 +82,16 @@ class IndexReaderWide(
 
     if (clusterings.isEmpty) return prepareNext()
 
-    val filter = new ClusteringIndexNamesFilter(clusterings, false)
-    nextData = Some(read(key, filter))
+    val now = command.nowInSec
+    val rows = if (covering) {
+      clusterings.asScala.toSeq.map { case (c, doc) => service.livenessMapper.row(doc, c, now) }
+    } else Seq(None)
+
+    // Read the table only if any of the rows can't be built from the index
+    nextData = Some(if (rows.forall(_.isDefined)) covered(key, rows.flatten) else {
+      val filter = new ClusteringIndexNamesFilter(clusterings.navigableKeySet, false)
+      if (covering) uncovered(read(key, filter)) else read(key, filter)
+    })
 
     nextData.foreach(
       data => if (data.isEmpty) {
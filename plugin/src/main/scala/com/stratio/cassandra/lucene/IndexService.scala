@@ -16,11 +16,15 @@
 package com.stratio.cassandra.lucene
 
 import java.lang.management.ManagementFactory
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicReference
 
+import com.google.common.cache.{Cache, CacheBuilder}
 import javax.management.{JMException, ObjectName}
 import com.stratio.cassandra.lucene.index.{DocumentIterator, PartitionedIndex}
 import com.stratio.cassandra.lucene.mapping._
 import com.stratio.cassandra.lucene.search.Search
+import com.stratio.cassandra.lucene.search.facet.FacetCollector
 import com.stratio.cassandra.lucene.util._
 import org.apache.cassandra.config.DatabaseDescriptor
 import org.apache.cassandra.db._
@@ -33,7 +37,9 @@ import org.apache.cassandra.utils.FBUtilities
 import org.apache.cassandra.utils.concurrent.OpOrder
 import org.apache.lucene.document.Document
 import org.apache.lucene.index.{IndexableField, Term}
-import org.apache.lucene.search.{Query, Sort, SortField}
+import org.apache.lucene.search.BooleanClause.Occur.{FILTER, MUST_NOT}
+import org.apache.lucene.search.{BooleanQuery, Query, Sort, SortField}
+import org.apache.lucene.store.Directory
 
 import scala.jdk.CollectionConverters._
 import scala.collection.mutable
@@ -60,7 +66,8 @@ abstract class IndexService(
   // Setup schema
   val schema = options.schema
   val regulars = metadata.regularColumns().asScala.toSet
-  val mappedRegulars = regulars.map(_.name.toString).filter(schema.mappedCells.contains)
+  val mappedRegularColumns = regulars.filter(x => schema.mappedCells.contains(x.name.toString))
+  val mappedRegulars = mappedRegularColumns.map(_.name.toString)
   val mapsMultiCell = regulars.exists(x => x.`type`.isMultiCell && schema.mapsCell(x.name.toString))
   val mapsPrimaryKey = metadata.primaryKeyColumns().asScala.exists(x => schema.mapsCell(x.name.toString))
 
@@ -71,6 +78,7 @@ abstract class IndexService(
   val partitionMapper = new PartitionMapper(metadata)
   val columnsMapper = new ColumnsMapper(schema, metadata)
   val expressionMapper = ExpressionMapper(metadata, indexMetadata)
+  val livenessMapper = new LivenessMapper
 
   // Setup FS index and write queue
   val queue = TaskQueue.build(options.indexingThreads, options.indexingQueuesSize)
@@ -82,21 +90,35 @@ abstract class IndexService(
     options.refreshSeconds,
     options.ramBufferMB,
     options.maxMergeMB,
-    options.maxCachedMB)
+    options.maxCachedMB,
+    options.minRefreshSeconds,
+    options.refreshPendingDocs)
 
   // Delay JMX MBean creation
   var mBean: ObjectName = _
 
-  // Setup indexing read-before-write lock provider
-  val readBeforeWriteLocker = new Locker(DatabaseDescriptor.getConcurrentWriters * 128)
+  // Setup indexing read-before-write mutual exclusion per partition, coalescing concurrent commits
+  val writeCommitCoalescer = new Coalescer[DecoratedKey, IndexWriter](
+    writer => writer.commit(),
+    (pending, writer) => writer.defer(pending))
+
+  // Setup tracking of the partition keys written during index builds
+  private[this] val trackedWrites = new AtomicReference[java.util.Set[DecoratedKey]]
+
+  // Setup tracking of the index generations of the last writes per partition key
+  val generations: Cache[DecoratedKey, java.lang.Long] = CacheBuilder.newBuilder
+    .maximumSize(IndexService.MAX_TRACKED_GENERATIONS)
+    .build[DecoratedKey, java.lang.Long]
 
   def init() {
 
     // Initialize index
     try {
       val sort = new Sort(keySortFields.toArray: _*)
+      val fields = new java.util.HashSet[String](fieldsToLoad)
+      if (options.covering) fields.add(LivenessMapper.FIELD_NAME)
       if (!excludedDataCenter)
-        lucene.init(sort, fieldsToLoad)
+        lucene.init(sort, fields)
     } catch {
       case e: Exception =>
         logger.error(s"Initialization of Lucene FS directory for index '$idxName' has failed", e)
@@ -164,14 +186,47 @@ abstract class IndexService(
   }
 
   /** Returns if SSTables can contain additional columns of the specified row so read-before-write
-    * is required prior to indexing.
+    * is required prior to indexing. That happens if any mapped column is missing in the row, or if
+    * any mapped multi-cell column has been partially updated, without deleting its previous cells.
+    * Covering indexes always read before write, because the stored liveness info must be the one
+    * of the merged row, which might not be the one of the written row.
     *
     * @param key the partition key
     * @param row the row
     * @return `true` if read-before-write is required, `false` otherwise
     */
   def needsReadBeforeWrite(key: DecoratedKey, row: Row): Boolean = {
-    mapsMultiCell || !mappedRegulars.subsetOf(row.columns.asScala.map(_.name.toString).toSet)
+    options.covering || mappedRegularColumns.exists(column => row.getColumnData(column) match {
+      case null => true
+      case data: ComplexColumnData => data.complexDeletion.isLive
+      case _ => false
+    })
+  }
+
+  /** Returns if the specified update of a row can change its indexed document. That happens if the
+    * row liveness changes, if its primary key liveness info changes or if any of the mapped columns
+    * has changed.
+    *
+    * @param oldRow   the row before the update
+    * @param newRow   the row after the update
+    * @param nowInSec now in seconds
+    * @return `true` if the index must be updated, `false` otherwise
+    */
+  def doesChangeIndex(oldRow: Row, newRow: Row, nowInSec: Int): Boolean = {
+    !oldRow.hasLiveData(nowInSec, metadata.enforceStrictLiveness) ||
+      !newRow.hasLiveData(nowInSec, metadata.enforceStrictLiveness) ||
+      oldRow.primaryKeyLivenessInfo != newRow.primaryKeyLivenessInfo ||
+      mappedRegularColumns.exists(c => oldRow.getColumnData(c) != newRow.getColumnData(c))
+  }
+
+  /** Returns if the specified row, removed by a compaction, contains expired data. Otherwise, the
+    * removed data has been shadowed by writes that have already been indexed.
+    *
+    * @param row the row removed by the compaction
+    * @return `true` if the row contains expiring data, `false` otherwise
+    */
+  def hasExpiredData(row: Row): Boolean = {
+    row.primaryKeyLivenessInfo.isExpiring || row.cells.asScala.exists(_.isExpiring)
   }
 
   /**
@@ -185,6 +240,21 @@ abstract class IndexService(
     !options.sparse || mapsPrimaryKey || row.columns().asScala.exists(c => mappedRegulars.contains(c.name.toString))
   }
 
+  /** Returns if the specified read command can be answered with the rows stored in the index,
+    * without reading the table. That happens if the index stores the liveness info of the rows and
+    * the command doesn't query any regular or static column, nor has any filtering expression to
+    * be applied after the index search.
+    *
+    * @param command a read command
+    * @return `true` if the command is covered by the index, `false` otherwise
+    */
+  def covers(command: ReadCommand): Boolean = {
+    options.covering &&
+      !metadata.enforceStrictLiveness &&
+      command.columnFilter.queriedColumns.isEmpty &&
+      expressionMapper.postIndexQueryFilter(command.rowFilter).asScala.forall(_.isCustom)
+  }
+
   /** Returns the [[DecoratedKey]] contained in the specified Lucene document.
     *
     * @param document the document containing the partition key to be get
@@ -228,6 +298,25 @@ abstract class IndexService(
     }
   }
 
+  /** Returns the Lucene document representing the specified row, if it has any indexable field.
+    *
+    * @param key      the partition key
+    * @param row      the row
+    * @param nowInSec now in seconds
+    * @return the document representing `row`, or `None` if there are no indexable fields
+    */
+  def document(key: DecoratedKey, row: Row, nowInSec: Int): Option[Document] = {
+    val columns = columnsMapper.columns(key, row, nowInSec)
+    val fields = schema.indexableFields(columns)
+    if (fields.isEmpty) None else {
+      val doc = new Document
+      keyIndexableFields(key, row.clustering()).foreach(doc.add)
+      fields.forEach(f => doc.add(f))
+      if (options.covering) livenessMapper.indexableFields(row).foreach(doc.add)
+      Some(doc)
+    }
+  }
+
   /** Upserts the specified row.
     *
     * @param key      the partition key
@@ -236,21 +325,16 @@ abstract class IndexService(
     */
   def upsert(key: DecoratedKey, row: Row, nowInSec: Int) {
     if (!excludedDataCenter) {
+      trackWrite(key)
       queue.submitAsynchronous(key, () => {
           val partition = partitioner.partition(key)
-          val clustering = row.clustering()
-          val term = this.term(key, clustering)
+          val term = this.term(key, row.clustering())
           try {
-            val columns = columnsMapper.columns(key, row, nowInSec)
-            val fields = schema.indexableFields(columns)
-            if (fields.isEmpty) {
-              lucene.delete(partition, term)
-            } else {
-              val doc = new Document
-              keyIndexableFields(key, clustering).foreach(doc.add)
-              fields.forEach(f => doc.add(f))
-              lucene.upsert(partition, term, doc)
+            val generation = document(key, row, nowInSec) match {
+              case Some(doc) => lucene.upsert(partition, term, doc)
+              case None => lucene.delete(partition, term)
             }
+            generations.put(key, generation)
           } catch {
             case ex: Throwable => {
               ex.printStackTrace()
@@ -268,12 +352,14 @@ abstract class IndexService(
     * @param clustering the clustering key
     */
   def delete(key: DecoratedKey, clustering: Clustering[_]) {
-    if (!excludedDataCenter)
+    if (!excludedDataCenter) {
+      trackWrite(key)
       queue.submitAsynchronous(key, () => {
         val partition = partitioner.partition(key)
         val term = this.term(key, clustering)
-        lucene.delete(partition, term)
+        generations.put(key, lucene.delete(partition, term))
       })
+    }
   }
 
   /** Deletes the partition identified by the specified key.
@@ -281,12 +367,62 @@ abstract class IndexService(
     * @param key the partition key
     */
   def delete(key: DecoratedKey) {
-    if (!excludedDataCenter)
+    if (!excludedDataCenter) {
+      trackWrite(key)
       queue.submitAsynchronous(key, () => {
         val partition = partitioner.partition(key)
         val term = this.term(key)
-        lucene.delete(partition, term)
+        generations.put(key, lucene.delete(partition, term))
       })
+    }
+  }
+
+  /** Starts tracking the partition keys written from now on, so they can be reindexed after an
+    * index build that could have loaded outdated versions of them.
+    */
+  def startTrackingWrites() {
+    trackedWrites.set(ConcurrentHashMap.newKeySet[DecoratedKey])
+  }
+
+  /** Records the specified partition key as written if writes are being tracked.
+    *
+    * @param key the written partition key
+    */
+  protected def trackWrite(key: DecoratedKey) {
+    val keys = trackedWrites.get
+    if (keys != null) keys.add(key)
+  }
+
+  /** Stops tracking writes and reindexes from the local storage all the partitions written since
+    * [[startTrackingWrites]] was called.
+    */
+  def reindexTrackedWrites() {
+    val keys = trackedWrites.getAndSet(null)
+    if (keys != null) {
+      logger.info(s"Reindexing ${keys.size} partitions written during build of $qualifiedName")
+      keys.forEach(key => reindex(key))
+    }
+  }
+
+  /** Reindexes all the rows of the specified partition reading them from the local storage.
+    *
+    * @param key the partition key
+    */
+  def reindex(key: DecoratedKey) {
+    val writer = this.writer(key, FBUtilities.nowInSeconds, null, IndexTransaction.Type.WRITE_TIME)
+    writer.reindexPartition()
+    writer.finish()
+  }
+
+  /** Replaces all the documents of the specified index partition with the documents of the
+    * specified Lucene directories.
+    *
+    * @param partition   the index partition
+    * @param directories the directories containing the new documents
+    */
+  def replace(partition: Int, directories: Seq[Directory]) {
+    if (!excludedDataCenter)
+      lucene.replace(partition, directories)
   }
 
   /** Returns a new index searcher for the specified read command.
@@ -307,17 +443,16 @@ abstract class IndexService(
       val afters = this.after(search.paging, command)
       val sort = this.sort(search)
       val count = command.limits.count
+      val partitions = partitioner.partitions(command)
 
       // Refresh if required
       if (search.refresh) {
-        tracer.trace("Refreshing Lucene index searcher")
-        refresh()
+        tracer.trace("Waiting for Lucene index searcher refresh")
+        awaitRefresh(command, partitions)
       }
 
-
       // Search
       tracer.trace(s"Lucene index searching for $count rows")
-      val partitions = partitioner.partitions(command)
       val readers = afters.filter(a => partitions.contains(a._1))
       val documents = lucene.search(readers, query, sort, count)
       reader(documents, command, controller)
@@ -327,6 +462,88 @@ abstract class IndexService(
 
   }
 
+  /** Returns an estimate of the number of rows matching the specified search in this node, based
+    * on the match costs of the search query in a sample of the index segments.
+    *
+    * @param search the search to be estimated
+    * @return the estimated number of matching rows in this node
+    */
+  def estimate(search: Search): Long = {
+    if (!excludedDataCenter) {
+      lucene.estimate(search.query(schema, null))
+    } else 0
+  }
+
+  /** Returns the number of live rows matching the specified search in this node, counted in the
+    * index without reading the table. The count is only possible if all the matching rows have
+    * live primary key liveness info in the index. Rows without it, or with expired liveness info,
+    * might still be alive because of their cells, so only the table can tell if they should be
+    * counted.
+    *
+    * @param search   the search to be counted
+    * @param nowInSec now in seconds
+    * @return the number of matching rows, or `None` if they can't be counted in the index
+    */
+  def count(search: Search, nowInSec: Int): Option[Long] = {
+    if (excludedDataCenter || !options.covering || metadata.enforceStrictLiveness) return None
+    awaitRefresh(search)
+    val query = search.query(schema, null)
+    if (!matchesLiveRows(query, nowInSec)) None else {
+      tracer.trace("Lucene index counting rows")
+      Some(lucene.count(query))
+    }
+  }
+
+  /** Returns the most frequent values of the facets of the specified search in the rows of this
+    * node, counted in the index without reading the table. The counts are exact under the same
+    * conditions as [[count]]. Otherwise, they include all the matching documents, which might
+    * belong to rows that are not alive anymore.
+    *
+    * @param search   the search defining the facets
+    * @param nowInSec now in seconds
+    * @return the counts of the most frequent values indexed by facet field, and if they are exact
+    */
+  def facets(search: Search, nowInSec: Int)
+  : (java.util.Map[String, java.util.Map[AnyRef, java.lang.Long]], Boolean) = {
+    val collector = new FacetCollector(search.facets, schema)
+    var exact = false
+    if (!excludedDataCenter) {
+      awaitRefresh(search)
+      val query = search.query(schema, null)
+      exact = options.covering && !metadata.enforceStrictLiveness && matchesLiveRows(query, nowInSec)
+      tracer.trace("Lucene index counting facets")
+      lucene.collect(query, collector)
+    }
+    (collector.facets, exact)
+  }
+
+  /** Returns if all the documents matching the specified query have live primary key liveness
+    * info, so they are known to be alive without reading the table.
+    *
+    * @param query    a Lucene query
+    * @param nowInSec now in seconds
+    * @return `true` if all the matching rows are alive by their liveness info, `false` otherwise
+    */
+  private def matchesLiveRows(query: Query, nowInSec: Int): Boolean = {
+    val notLive = new BooleanQuery.Builder()
+      .add(query, FILTER)
+      .add(livenessMapper.liveQuery(nowInSec), MUST_NOT)
+      .build
+    lucene.count(notLive) == 0
+  }
+
+  /** Waits until all the writes submitted so far are searchable if the specified search requires
+    * a refresh.
+    *
+    * @param search a search
+    */
+  private def awaitRefresh(search: Search) {
+    if (search.refresh) {
+      tracer.trace("Waiting for Lucene index searcher refresh")
+      awaitRefresh((0 until partitioner.numPartitions).toList)
+    }
+  }
+
   /** Returns the key range query represented by the specified read command.
     *
     * @param command the read command } else {
@@ -418,6 +635,15 @@ abstract class IndexService(
       queue.submitSynchronous(lucene.commit)
   }
 
+  /** @inheritdoc */
+  override def getWriteCommits: Long = writeCommitCoalescer.getSubmitted
+
+  /** @inheritdoc */
+  override def getDeferredWriteCommits: Long = writeCommitCoalescer.getDeferred
+
+  /** @inheritdoc */
+  override def getCoalescedWriteCommits: Long = writeCommitCoalescer.getCoalesced
+
   /** @inheritdoc */
   override def getNumDocs: Long = {
     if (!excludedDataCenter) {
@@ -450,11 +676,53 @@ abstract class IndexService(
       queue.submitSynchronous(lucene.refresh)
   }
 
+  /** Waits until all the writes submitted so far to the specified index partitions are searchable,
+    * without blocking the indexing queues nor forcing a reopen of the index searchers.
+    *
+    * @param partitions the index partitions to be waited for
+    */
+  def awaitRefresh(partitions: List[Int]) {
+    queue.await()
+    lucene.awaitRefresh(partitions)
+  }
+
+  /** Waits until all the writes submitted so far that can be read by the specified command are
+    * searchable. Single partition commands only wait for the writes done in their partition key,
+    * without waiting for the rest of the indexing queues.
+    *
+    * @param command    the read command
+    * @param partitions the index partitions involved in the command
+    */
+  def awaitRefresh(command: ReadCommand, partitions: List[Int]) {
+    command match {
+      case command: SinglePartitionReadCommand => awaitRefresh(command.partitionKey)
+      case _ => awaitRefresh(partitions)
+    }
+  }
+
+  /** Waits until all the writes submitted so far for the specified partition key are searchable.
+    * If the generation of the last write of the key is not tracked anymore, then it waits for
+    * all the writes done so far in the index partition containing the key.
+    *
+    * @param key the partition key
+    */
+  def awaitRefresh(key: DecoratedKey) {
+    queue.await(key)
+    val partition = partitioner.partition(key)
+    val generation = Option(generations.getIfPresent(key))
+      .map(_.longValue)
+      .getOrElse(lucene.generation(partition))
+    lucene.waitForGeneration(partition, generation)
+  }
+
 }
 
 /** Companion object for [[IndexService]]. */
 object IndexService {
 
+  /** The max number of partition keys whose last write generation is tracked. */
+  val MAX_TRACKED_GENERATIONS = 100000
+
   /** Returns a new index service for the specified indexed table and index metadata.
     *
     * @param table         the indexed table
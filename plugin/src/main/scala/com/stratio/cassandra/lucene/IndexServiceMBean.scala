@@ -24,6 +24,26 @@ trait IndexServiceMBean {
   /** Commits the pending changes. */
   def commit()
 
+  /** Returns the total number of partition writes committed to this index.
+    *
+    * @return the number of write commits
+    */
+  def getWriteCommits: Long
+
+  /** Returns the number of partition write commits that have found another commit for the same
+    * partition in progress, so they have been deferred.
+    *
+    * @return the number of deferred write commits
+    */
+  def getDeferredWriteCommits: Long
+
+  /** Returns the number of deferred partition write commits that have been coalesced with other
+    * deferred commits for the same partition, sharing the same read-before-write.
+    *
+    * @return the number of coalesced write commits
+    */
+  def getCoalescedWriteCommits: Long
+
   /** Returns the total number of documents in this index.
     *
     * @return the number of documents
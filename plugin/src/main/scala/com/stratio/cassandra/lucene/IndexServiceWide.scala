@@ -172,10 +172,11 @@ class IndexServiceWide(table: ColumnFamilyStore, index: IndexMetadata)
   }
 
   def delete(key: DecoratedKey, slice: Slice) {
+    trackWrite(key)
     queue.submitAsynchronous(key, () => {
       val partition = partitioner.partition(key)
       val query = clusteringMapper.query(key, slice)
-      lucene.delete(partition, query)
+      generations.put(key, lucene.delete(partition, query))
     })
   }
 }
@@ -20,7 +20,7 @@ import org.apache.cassandra.db._
 import org.apache.cassandra.db.rows.{Row, RowIterator, UnfilteredRowIterators}
 import org.apache.cassandra.index.Index.Indexer
 import org.apache.cassandra.index.transactions.IndexTransaction
-import org.apache.cassandra.index.transactions.IndexTransaction.Type.CLEANUP
+import org.apache.cassandra.index.transactions.IndexTransaction.Type.{CLEANUP, COMPACTION}
 import org.apache.cassandra.utils.concurrent.OpOrder
 
 /** [[Indexer]] for Lucene-based index.
@@ -68,13 +68,22 @@ abstract class IndexWriter(
   /** @inheritdoc */
   override def updateRow(oldRowData: Row, newRowData: Row): Unit = {
     logger.trace(s"Update row during $transactionType: $oldRowData TO $newRowData on key $key")
-    tryIndex(newRowData)
+    if (service.doesChangeIndex(oldRowData, newRowData, nowInSec)) {
+      tryIndex(newRowData)
+    } else {
+      tracer.trace("Lucene index skipping not changed row")
+    }
   }
 
   /** @inheritdoc */
   override def removeRow(row: Row): Unit = {
     logger.trace(s"Remove row during $transactionType: $row")
-    tryIndex(row)
+    // Liveness info expired by compactions is caught by covered reads, so it isn't reindexed
+    if (transactionType != COMPACTION || service.hasExpiredData(row)) {
+      tryIndex(row)
+    } else {
+      tracer.trace("Lucene index skipping row without expired data")
+    }
   }
 
   /** Deletes all the partition. */
@@ -117,10 +126,44 @@ abstract class IndexWriter(
     if (transactionType == CLEANUP) return
 
     // Finish with mutual exclusion on partition
-    service.readBeforeWriteLocker.run(key, () => commit())
+    service.writeCommitCoalescer.run(key, this)
   }
 
   /** Commits all pending writes */
-  protected def commit()
+  protected[lucene] def commit()
+
+  /** If all the pending rows must be read before write, because the commit has been deferred. */
+  protected var forcesReadBeforeWrite = false
+
+  /** If all the partition rows must be read and reindexed. */
+  protected var readsPartition = false
+
+  /** Marks this writer to read and reindex all the rows of the partition during commit. */
+  private[lucene] def reindexPartition() {
+    readsPartition = true
+  }
+
+  /** Returns a writer to be committed later instead of this and the specified previously deferred
+    * writer for the same partition, if any. Deferred commits read all their rows before write,
+    * because the storage state might have changed since they were indexed, so the pending writes of
+    * several deferred writers can be committed with a single read-before-write.
+    *
+    * @param pending the already deferred writer for the same partition, if any
+    * @return a writer containing the pending writes of both writers
+    */
+  private[lucene] def defer(pending: Option[IndexWriter]): IndexWriter = {
+    forcesReadBeforeWrite = true
+    pending.foreach(writer => {
+      readsPartition |= writer.readsPartition
+      absorb(writer)
+    })
+    this
+  }
+
+  /** Adds to this writer the pending writes of the specified older writer for the same partition.
+    *
+    * @param writer a writer of the same type
+    */
+  protected def absorb(writer: IndexWriter)
 
 }
\ No newline at end of file
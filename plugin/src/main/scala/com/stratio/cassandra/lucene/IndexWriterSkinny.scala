@@ -40,10 +40,14 @@ class IndexWriterSkinny(
 
   private var row: Option[Row] = None
 
+  /** If this writer has deleted the partition. */
+  private var deleted = false
+
   /** @inheritdoc */
   override def delete() {
     service.delete(key)
     row = None
+    deleted = true
   }
 
   /** @inheritdoc */
@@ -56,25 +60,55 @@ class IndexWriterSkinny(
     this.row = Option(row)
   }
 
+  /** @inheritdoc */
+  override def absorb(writer: IndexWriter) {
+    writer match {
+      case writer: IndexWriterSkinny =>
+        // The older row might have survived the deletion if it has a newer timestamp, so it is
+        // verified reading the partition instead of being written
+        if (deleted) readsPartition |= writer.row.isDefined
+        else if (row.isEmpty) row = writer.row
+      case _ => throw new IndexException(s"Unexpected writer $writer")
+    }
+  }
+
   /** @inheritdoc */
   override def commit() {
-    row.map(
-      row => {
-        if (transactionType == COMPACTION || service.needsReadBeforeWrite(key, row)) {
-          tracer.trace("Lucene index reading before write")
-          val command = SinglePartitionReadCommand.fullPartitionRead(metadata, nowInSec, key)
-          val readRows = read(command)
-          if (readRows.hasNext) readRows.next else row
-        } else row
-      }).foreach(
-      row => {
-        if (row.hasLiveData(nowInSec, metadata.enforceStrictLiveness )) {
-          tracer.trace("Lucene index writing document")
-          service.upsert(key, row, nowInSec)
-        } else {
-          tracer.trace("Lucene index deleting document")
-          service.delete(key)
-        }
-      })
+    if (readsPartition) {
+      tracer.trace("Lucene index reading partition")
+      readAndWrite()
+    } else {
+      row.foreach(
+        row => {
+          if (transactionType == COMPACTION ||
+            forcesReadBeforeWrite ||
+            service.needsReadBeforeWrite(key, row)) {
+            tracer.trace("Lucene index reading before write")
+            readAndWrite()
+          } else write(row)
+        })
+    }
+  }
+
+  /** Reads the row from the local storage and writes it, or deletes its document if it doesn't
+    * exist anymore.
+    */
+  private[this] def readAndWrite() {
+    val command = SinglePartitionReadCommand.fullPartitionRead(metadata, nowInSec, key)
+    val readRows = read(command)
+    if (readRows.hasNext) write(readRows.next) else {
+      tracer.trace("Lucene index deleting document")
+      service.delete(key)
+    }
+  }
+
+  private[this] def write(row: Row) {
+    if (row.hasLiveData(nowInSec, metadata.enforceStrictLiveness)) {
+      tracer.trace("Lucene index writing document")
+      service.upsert(key, row, nowInSec)
+    } else {
+      tracer.trace("Lucene index deleting document")
+      service.delete(key)
+    }
   }
 }
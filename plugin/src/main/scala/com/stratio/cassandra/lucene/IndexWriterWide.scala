@@ -18,6 +18,7 @@ package com.stratio.cassandra.lucene
 import org.apache.cassandra.db.rows.Row
 import org.apache.cassandra.db.{Clustering, DecoratedKey, RangeTombstone, SinglePartitionReadCommand}
 import org.apache.cassandra.index.transactions.IndexTransaction
+import org.apache.cassandra.index.transactions.IndexTransaction.Type.COMPACTION
 import org.apache.cassandra.utils.concurrent.OpOrder
 
 import scala.jdk.CollectionConverters._
@@ -65,7 +66,7 @@ class IndexWriterWide(
   /** @inheritdoc */
   override def index(row: Row) {
     val clustering = row.clustering
-    if (service.needsReadBeforeWrite(key, row)) {
+    if (transactionType == COMPACTION || service.needsReadBeforeWrite(key, row)) {
       tracer.trace("Lucene index doing read before write")
       clusterings.add(clustering)
     } else {
@@ -74,10 +75,36 @@ class IndexWriterWide(
     }
   }
 
+  /** @inheritdoc */
+  override def absorb(writer: IndexWriter) {
+    writer match {
+      case writer: IndexWriterWide =>
+        clusterings.addAll(writer.clusterings)
+        clusterings.addAll(writer.rows.keySet)
+      case _ => throw new IndexException(s"Unexpected writer $writer")
+    }
+  }
+
   /** @inheritdoc */
   override def commit() {
     var rowsToDelete = new ListBuffer[Clustering[_]]()
 
+    // Read the whole partition if required
+    if (readsPartition) {
+      tracer.trace("Lucene index reading partition")
+      service.delete(key)
+      clusterings.clear()
+      rows.clear()
+      val command = SinglePartitionReadCommand.fullPartitionRead(metadata, nowInSec, key)
+      read(command).asScala.foreach(row => rows.put(row.clustering(), row))
+    }
+
+    // Read all the rows if the commit has been deferred
+    else if (forcesReadBeforeWrite) {
+      clusterings.addAll(rows.keySet)
+      rows.clear()
+    }
+
     // Read required rows from storage engine
     if (!clusterings.isEmpty) {
       val command = SinglePartitionReadCommand.create(metadata, nowInSec, key, clusterings)
@@ -17,6 +17,8 @@ package com.stratio.cassandra.lucene.column
 
 import com.google.common.base.MoreObjects.toStringHelper
 
+import scala.collection.mutable.ListBuffer
+
 /** An immutable sorted list of CQL3 logic [[Column]]s.
   *
   * @param columns the [[Column]]s composing this
@@ -80,4 +82,28 @@ object Columns {
   /** Returns a new [[Columns]] composed by the specified [[Column]]s. */
   def apply(columns: Column*): Columns = new Columns(columns.toList)
 
+  /** Returns a new empty [[Builder]]. */
+  def builder: Builder = new Builder
+
+  /** Mutable builder for [[Columns]], appending columns in O(1) time without copying. */
+  class Builder {
+
+    private[this] val columns = ListBuffer.empty[Column]
+
+    /** Appends the specified column. */
+    def +=(column: Column): Builder = {
+      columns += column
+      this
+    }
+
+    /** Appends the specified columns. */
+    def ++=(columns: Columns): Builder = {
+      columns.foreach(this.columns += _)
+      this
+    }
+
+    /** Returns the [[Columns]] composed by the appended columns, without copying them. */
+    def build: Columns = new Columns(columns.toList)
+  }
+
 }
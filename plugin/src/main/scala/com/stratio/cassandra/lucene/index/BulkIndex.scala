@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.index
+
+import java.nio.file.Path
+
+import org.apache.commons.io.FileUtils
+import org.apache.lucene.analysis.Analyzer
+import org.apache.lucene.document.Document
+import org.apache.lucene.index._
+import org.apache.lucene.search.Sort
+import org.apache.lucene.store.{Directory, FSDirectory}
+
+/** Class wrapping a temporary Lucene file system-based directory to be loaded by a single thread.
+  * It has neither readers, nor deletions, nor refreshes, so its documents are only flushed when the
+  * RAM buffer is full. Once finished, its directory can be added to a [[FSIndex]].
+  *
+  * @param path        the directory path
+  * @param analyzer    the index writer analyzer
+  * @param mergeSort   the sort to be applied to the index during merges
+  * @param ramBufferMB the index writer RAM buffer size in MB
+  */
+class BulkIndex(path: Path, analyzer: Analyzer, mergeSort: Sort, ramBufferMB: Double) {
+
+  /** The directory containing the loaded documents. */
+  val directory: Directory = FSDirectory.open(path)
+
+  private[this] val writer = {
+    val indexWriterConfig = new IndexWriterConfig(analyzer)
+    indexWriterConfig.setRAMBufferSizeMB(ramBufferMB)
+    indexWriterConfig.setOpenMode(IndexWriterConfig.OpenMode.CREATE)
+    indexWriterConfig.setUseCompoundFile(false)
+    indexWriterConfig.setMergePolicy(new SortingMergePolicy(new TieredMergePolicy, mergeSort))
+    new IndexWriter(directory, indexWriterConfig)
+  }
+
+  private[this] var finished = false
+
+  /** Adds the specified document.
+    *
+    * @param document the document to be added
+    */
+  def add(document: Document) {
+    writer.addDocument(document)
+  }
+
+  /** Commits all the added documents and closes the writer. The flushed segments are left as they
+    * are, to be merged by the merge policy of the index they are added to.
+    */
+  def finish() {
+    writer.close()
+    finished = true
+  }
+
+  /** Closes the index and removes all its files. */
+  def delete() {
+    try if (!finished) writer.rollback() finally {
+      directory.close()
+      FileUtils.deleteQuietly(path.toFile)
+    }
+  }
+}
@@ -16,6 +16,8 @@
 package com.stratio.cassandra.lucene.index
 
 import java.nio.file.Path
+import java.util.concurrent.atomic.AtomicLong
+
 import com.stratio.cassandra.lucene.util.Logging
 import org.apache.commons.io.FileUtils
 import org.apache.lucene.analysis.Analyzer
@@ -29,10 +31,12 @@ import org.apache.lucene.store.{Directory, FSDirectory, NRTCachingDirectory}
   * @param name           the index name
   * @param path           the directory path
   * @param analyzer       the index writer analyzer
-  * @param refreshSeconds the index reader refresh frequency in seconds
-  * @param ramBufferMB    the index writer RAM buffer size in MB
-  * @param maxMergeMB     the directory max merge size in MB
-  * @param maxCachedMB    the directory max cache size in MB
+  * @param refreshSeconds     the index reader refresh frequency in seconds
+  * @param ramBufferMB        the index writer RAM buffer size in MB
+  * @param maxMergeMB         the directory max merge size in MB
+  * @param maxCachedMB        the directory max cache size in MB
+  * @param minRefreshSeconds  the min time between index reader refreshes in seconds
+  * @param refreshPendingDocs the number of not searchable writes triggering an early refresh
   * @author Andres de la Pena `adelapena@stratio.com`
   */
 class FSIndex(
@@ -42,14 +46,18 @@ class FSIndex(
     refreshSeconds: Double,
     ramBufferMB: Int,
     maxMergeMB: Int,
-    maxCachedMB: Int) extends Logging {
+    maxCachedMB: Int,
+    minRefreshSeconds: Double,
+    refreshPendingDocs: Int) extends Logging {
 
   private[this] var mergeSort: Sort = _
   private[this] var fields: java.util.Set[String] = _
   private[this] var directory: Directory = _
   private[this] var writer: IndexWriter = _
+  private[this] var tracker: TrackingIndexWriter = _
   private[this] var manager: SearcherManager = _
   private[this] var reopener: ControlledRealTimeReopenThread[IndexSearcher] = _
+  private[this] val pendingWrites = new AtomicLong
 
   /** Initializes this index with the specified merge sort and fields to be loaded.
     *
@@ -76,15 +84,42 @@ class FSIndex(
       override def newSearcher(reader: IndexReader, previousReader: IndexReader): IndexSearcher = {
         val searcher = new IndexSearcher(reader)
         searcher.setSimilarity(new NoIDFSimilarity)
+        QueryCache.configure(searcher)
         searcher
       }
     }
-    val tracker = new TrackingIndexWriter(writer)
+    tracker = new TrackingIndexWriter(writer)
     manager = new SearcherManager(writer, true, searcherFactory)
-    reopener = new ControlledRealTimeReopenThread(tracker, manager, refreshSeconds, refreshSeconds)
+    manager.addListener(new ReferenceManager.RefreshListener {
+      override def beforeRefresh() {
+        pendingWrites.set(0)
+      }
+
+      override def afterRefresh(didRefresh: Boolean) {}
+    })
+    reopener = new ControlledRealTimeReopenThread(
+      tracker,
+      manager,
+      refreshSeconds,
+      Math.min(minRefreshSeconds, refreshSeconds))
     reopener.start()
   }
 
+  /** Requests a non-blocking early refresh if there are too many not yet searchable writes. The
+    * reopen thread will perform it as soon as the min refresh time has elapsed. Writes are counted
+    * here because write generations are only increased by refreshes, not by writes.
+    *
+    * @param generation the generation of the last write
+    * @return the generation of the last write
+    */
+  private[this] def maybeRequestRefresh(generation: Long): Long = {
+    if (pendingWrites.incrementAndGet >= refreshPendingDocs) {
+      pendingWrites.set(0)
+      reopener.waitForGeneration(generation, 0)
+    }
+    generation
+  }
+
   private[this] def doWithSearcher[A](f: IndexSearcher => A): A = {
     val searcher = manager.acquire
     try f.apply(searcher) finally manager.release(searcher)
@@ -98,30 +133,44 @@ class FSIndex(
     *
     * @param term     the term to identify the document(s) to be deleted
     * @param document the document to be added
+    * @return the generation of the operation
     */
-  def upsert(term: Term, document: Document) {
-    writer.updateDocument(term, document)
+  def upsert(term: Term, document: Document): Long = {
+    maybeRequestRefresh(tracker.updateDocument(term, document))
   }
 
   /** Deletes all the documents containing the specified term.
     *
     * @param term the term identifying the documents to be deleted
+    * @return the generation of the operation
     */
-  def delete(term: Term) {
-    writer.deleteDocuments(term)
+  def delete(term: Term): Long = {
+    maybeRequestRefresh(tracker.deleteDocuments(term))
   }
 
   /** Deletes all the documents satisfying the specified query.
     *
     * @param query the query identifying the documents to be deleted
+    * @return the generation of the operation
+    */
+  def delete(query: Query): Long = {
+    maybeRequestRefresh(tracker.deleteDocuments(query))
+  }
+
+  /** Replaces all the documents with the documents in the specified directories, which must not be
+    * open for writing.
+    *
+    * @param directories the directories containing the new documents
+    * @return the generation of the operation
     */
-  def delete(query: Query) {
-    writer.deleteDocuments(query)
+  def replace(directories: Seq[Directory]): Long = {
+    tracker.deleteAll()
+    maybeRequestRefresh(tracker.addIndexes(directories: _*))
   }
 
   /** Deletes all the documents. */
   def truncate() {
-    writer.deleteAll()
+    tracker.deleteAll()
     writer.commit()
   }
 
@@ -161,6 +210,54 @@ class FSIndex(
     doWithSearcher(searcher => searcher.getIndexReader.numDeletedDocs)
   }
 
+  /** Collects all the documents matching the specified query with the specified collector.
+    *
+    * @param query     the query to be matched
+    * @param collector the collector
+    */
+  def collect(query: Query, collector: Collector) {
+    doWithSearcher(searcher => searcher.search(query, collector))
+  }
+
+  /** Returns the exact number of documents matching the specified query. Matches are counted
+    * without scoring, sorting nor loading them.
+    *
+    * @param query the query to be counted
+    * @return the number of matching documents
+    */
+  def count(query: Query): Long = {
+    doWithSearcher(searcher => searcher.count(query).toLong)
+  }
+
+  /** Returns an estimate of the number of documents matching the specified query, without
+    * collecting them. The match costs reported by the query scorers in a sample of the index
+    * segments are extrapolated to the whole index. Costs are upper bounds, so the estimate is
+    * accurate for term queries and pessimistic for conjunctions.
+    *
+    * @param query       the query to be estimated
+    * @param maxSegments the max number of segments to be sampled
+    * @return the estimated number of matching documents
+    */
+  def estimate(query: Query, maxSegments: Int): Long = {
+    doWithSearcher(searcher => {
+      val reader = searcher.getIndexReader
+      val leaves = reader.leaves
+      if (leaves.isEmpty) 0 else {
+        val weight = searcher.createNormalizedWeight(query, false)
+        val stride = (leaves.size + maxSegments - 1) / maxSegments
+        var sampledDocs = 0L
+        var cost = 0L
+        for (i <- 0 until leaves.size by stride) {
+          val leaf = leaves.get(i)
+          sampledDocs += leaf.reader.maxDoc
+          val scorer = weight.scorer(leaf)
+          if (scorer != null) cost += scorer.iterator.cost
+        }
+        if (sampledDocs == 0) 0 else Math.min(reader.numDocs, cost * reader.maxDoc / sampledDocs)
+      }
+    })
+  }
+
   /** Optimizes the index forcing merge segments leaving the specified number of segments.
     * This operation may block until all merging completes.
     *
@@ -186,6 +283,30 @@ class FSIndex(
   def refresh() {
     manager.maybeRefreshBlocking()
   }
+
+  /** Waits until all the writes done so far are searchable. Instead of forcing a reopen, this waits
+    * for the reopen thread to refresh the readers after the min refresh time, so concurrent callers
+    * share the same reopen.
+    */
+  def awaitRefresh() {
+    waitForGeneration(generation)
+  }
+
+  /** Returns the generation of the last write operation. Generations are increased by each
+    * refresh rather than by each write, so all the writes between two refreshes share the same
+    * generation, and waiting for it makes all of them searchable.
+    *
+    * @return the last write generation
+    */
+  def generation: Long = tracker.getGeneration
+
+  /** Waits until the writes up to the specified generation are searchable.
+    *
+    * @param generation a generation returned by a write operation
+    */
+  def waitForGeneration(generation: Long) {
+    reopener.waitForGeneration(generation)
+  }
 }
 
 /** Companion object for [[FSIndex]]. */
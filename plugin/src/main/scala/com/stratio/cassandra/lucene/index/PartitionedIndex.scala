@@ -24,7 +24,8 @@ import org.apache.commons.io.FileUtils
 import org.apache.lucene.analysis.Analyzer
 import org.apache.lucene.document.Document
 import org.apache.lucene.index.Term
-import org.apache.lucene.search.{Query, Sort}
+import org.apache.lucene.search.{Collector, Query, Sort}
+import org.apache.lucene.store.Directory
 
 /** An [[FSIndex]] partitioned by some not specified criterion.
   *
@@ -32,10 +33,12 @@ import org.apache.lucene.search.{Query, Sort}
   * @param name           the index name
   * @param path           the directory path
   * @param analyzer       the index writer analyzer
-  * @param refreshSeconds the index reader refresh frequency in seconds
-  * @param ramBufferMB    the index writer RAM buffer size in MB
-  * @param maxMergeMB     the directory max merge size in MB
-  * @param maxCachedMB    the directory max cache size in MB
+  * @param refreshSeconds     the index reader refresh frequency in seconds
+  * @param ramBufferMB        the index writer RAM buffer size in MB
+  * @param maxMergeMB         the directory max merge size in MB
+  * @param maxCachedMB        the directory max cache size in MB
+  * @param minRefreshSeconds  the min time between index reader refreshes in seconds
+  * @param refreshPendingDocs the number of not searchable writes triggering an early refresh
   * @author Andres de la Pena `adelapena@stratio.com`
   */
 class PartitionedIndex(
@@ -46,17 +49,21 @@ class PartitionedIndex(
     refreshSeconds: Double,
     ramBufferMB: Int,
     maxMergeMB: Int,
-    maxCachedMB: Int) extends Logging {
+    maxCachedMB: Int,
+    minRefreshSeconds: Double,
+    refreshPendingDocs: Int) extends Logging {
 
   private[this] val indexes: List[FSIndex] = partitions match {
     case 1 =>
-      List(new FSIndex(name, path, analyzer, refreshSeconds, ramBufferMB, maxMergeMB, maxCachedMB))
+      List(new FSIndex(name, path, analyzer, refreshSeconds, ramBufferMB, maxMergeMB, maxCachedMB,
+        minRefreshSeconds, refreshPendingDocs))
     case n if n > 1 =>
       val root = path.toFile.getAbsolutePath + File.separator
       (0 until n)
         .map(root + File.separator + _)
         .map(Paths.get(_))
-        .map(new FSIndex(name, _, analyzer, refreshSeconds, ramBufferMB, maxMergeMB, maxCachedMB))
+        .map(new FSIndex(name, _, analyzer, refreshSeconds, ramBufferMB, maxMergeMB, maxCachedMB,
+          minRefreshSeconds, refreshPendingDocs))
         .toList
     case _ => throw new IndexException(
       s"The number of partitions should be strictly positive but found $partitions")
@@ -131,6 +138,35 @@ class PartitionedIndex(
     logger.debug(s"Refreshed $name readers")
   }
 
+  /** Waits until all the writes done so far in the specified partitions are searchable.
+    *
+    * @param partitions the index partitions to be waited for
+    */
+  def awaitRefresh(partitions: List[Int]): Unit = {
+    partitions.foreach(indexes(_).awaitRefresh())
+    logger.debug(s"Awaited $name readers refresh in partitions ${partitions.mkString(", ")}")
+  }
+
+  /** Returns the generation of the last write operation in the specified partition.
+    *
+    * @param partition the index partition
+    * @return the last write generation
+    */
+  def generation(partition: Int): Long = {
+    indexes(partition).generation
+  }
+
+  /** Waits until the writes in the specified partition up to the specified generation are
+    * searchable.
+    *
+    * @param partition  the index partition
+    * @param generation a generation returned by a write operation in `partition`
+    */
+  def waitForGeneration(partition: Int, generation: Long): Unit = {
+    indexes(partition).waitForGeneration(generation)
+    logger.debug(s"Awaited $name generation $generation in partition $partition")
+  }
+
   /** Returns the total number of documents in this index.
     *
     * @return the number of documents
@@ -149,6 +185,36 @@ class PartitionedIndex(
     (0L /: indexes) (_ + _.getNumDeletedDocs)
   }
 
+  /** Collects all the documents matching the specified query in all the index partitions with the
+    * specified collector.
+    *
+    * @param query     the query to be matched
+    * @param collector the collector
+    */
+  def collect(query: Query, collector: Collector) {
+    indexes.foreach(_.collect(query, collector))
+  }
+
+  /** Returns the exact number of documents matching the specified query in all the index
+    * partitions.
+    *
+    * @param query the query to be counted
+    * @return the number of matching documents
+    */
+  def count(query: Query): Long = {
+    (0L /: indexes) (_ + _.count(query))
+  }
+
+  /** Returns an estimate of the number of documents matching the specified query in all the index
+    * partitions, based on the match costs in a sample of the segments of each partition.
+    *
+    * @param query the query to be estimated
+    * @return the estimated number of matching documents
+    */
+  def estimate(query: Query): Long = {
+    (0L /: indexes) (_ + _.estimate(query, PartitionedIndex.MAX_SAMPLED_SEGMENTS))
+  }
+
   /** Upserts the specified document by first deleting the documents containing the specified term
     * and then adding the new document. The delete and then add are atomic as seen by a reader on
     * the same index (flush may happen only after the addition).
@@ -156,8 +222,9 @@ class PartitionedIndex(
     * @param partition the index partition where the operation will be done
     * @param term      the term to identify the document(s) to be deleted
     * @param document  the document to be added
+    * @return the generation of the operation in the index partition
     */
-  def upsert(partition: Int, term: Term, document: Document) {
+  def upsert(partition: Int, term: Term, document: Document): Long = {
     logger.debug(s"Indexing $document with term $term in $name in partition $partition")
     indexes(partition).upsert(term, document)
   }
@@ -166,8 +233,9 @@ class PartitionedIndex(
     *
     * @param partition the index partition where the operation will be done
     * @param term      the term identifying the documents to be deleted
+    * @return the generation of the operation in the index partition
     */
-  def delete(partition: Int, term: Term) {
+  def delete(partition: Int, term: Term): Long = {
     logger.debug(s"Deleting $term from $name in partition $partition")
     indexes(partition).delete(term)
   }
@@ -176,12 +244,25 @@ class PartitionedIndex(
     *
     * @param partition the index partition where the operation will be done
     * @param query     the query identifying the documents to be deleted
+    * @return the generation of the operation in the index partition
     */
-  def delete(partition: Int, query: Query) {
+  def delete(partition: Int, query: Query): Long = {
     logger.debug(s"Deleting $query from $name in partition $partition")
     indexes(partition).delete(query)
   }
 
+  /** Replaces all the documents in the specified partition with the documents in the specified
+    * directories.
+    *
+    * @param partition   the index partition where the operation will be done
+    * @param directories the directories containing the new documents
+    * @return the generation of the operation in the index partition
+    */
+  def replace(partition: Int, directories: Seq[Directory]): Long = {
+    logger.debug(s"Replacing $name in partition $partition with ${directories.mkString(", ")}")
+    indexes(partition).replace(directories)
+  }
+
   /** Finds the top hits for a query and sort, starting from an optional position.
     *
     * @param partitions the index partitions where the operation will be done
@@ -204,4 +285,11 @@ class PartitionedIndex(
     new DocumentIterator(cursors, mergeSort, sort, query, count, fields)
   }
 
-}
\ No newline at end of file
+}
+
+/** Companion object for [[PartitionedIndex]]. */
+object PartitionedIndex {
+
+  /** The max number of segments of each partition to be sampled when estimating matches. */
+  val MAX_SAMPLED_SEGMENTS = 4
+}
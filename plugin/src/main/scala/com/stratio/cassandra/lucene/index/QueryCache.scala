@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.index
+
+import java.lang.management.ManagementFactory
+import javax.management.{JMException, ObjectName}
+
+import com.stratio.cassandra.lucene.index.QueryCache._
+import com.stratio.cassandra.lucene.mapping.LivenessMapper
+import com.stratio.cassandra.lucene.util.Logging
+import org.apache.lucene.index.LeafReaderContext
+import org.apache.lucene.search._
+
+import scala.jdk.CollectionConverters._
+
+/** [[LRUQueryCache]] shared by the searchers of all the Lucene indexes in the node, caching the
+  * per-segment documents matched by the non-scoring parts of the searches, such as filters.
+  *
+  * @param maxQueries the max number of queries to be cached
+  * @param maxRamMB   the max memory to be used by the cache in MB
+  */
+class QueryCache(maxQueries: Int, maxRamMB: Long)
+  extends LRUQueryCache(maxQueries, maxRamMB * 1024 * 1024) with QueryCacheMBean {
+
+  /** The policy deciding which queries are cached. */
+  val policy: QueryCachingPolicy = new Policy
+
+  /** @inheritdoc */
+  override def getRamBytesUsed: Long = ramBytesUsed
+
+  /** Sets this cache and its caching policy as the query cache of the specified searcher.
+    *
+    * @param searcher a searcher
+    */
+  def configure(searcher: IndexSearcher) {
+    searcher.setQueryCache(this)
+    searcher.setQueryCachingPolicy(policy)
+  }
+}
+
+/** Companion object for [[QueryCache]]. */
+object QueryCache extends Logging {
+
+  /** The system property with the max number of queries to be cached in the node. */
+  val MAX_QUERIES_PROPERTY = "cassandra.lucene.query_cache_max_queries"
+  val DEFAULT_MAX_QUERIES = 1000
+
+  /** The system property with the max memory to be used by the cache in MB, 0 disables it. */
+  val MAX_RAM_MB_PROPERTY = "cassandra.lucene.query_cache_max_mb"
+  val DEFAULT_MAX_RAM_MB: Long = Math.min(64, Runtime.getRuntime.maxMemory / 20 / 1024 / 1024)
+
+  val MBEAN_NAME = "com.stratio.cassandra.lucene:type=QueryCache"
+
+  /** The node-wide query cache, if it is enabled. */
+  lazy val instance: Option[QueryCache] = {
+    val maxQueries = Integer.getInteger(MAX_QUERIES_PROPERTY, DEFAULT_MAX_QUERIES)
+    val maxRamMB = java.lang.Long.getLong(MAX_RAM_MB_PROPERTY, DEFAULT_MAX_RAM_MB)
+    if (maxQueries <= 0 || maxRamMB <= 0) {
+      logger.info("Lucene query cache is disabled")
+      None
+    } else {
+      logger.info(s"Lucene query cache caches up to $maxQueries queries in $maxRamMB MB")
+      val cache = new QueryCache(maxQueries, maxRamMB)
+      try {
+        ManagementFactory.getPlatformMBeanServer.registerMBean(cache, new ObjectName(MBEAN_NAME))
+      } catch {
+        case e: JMException => logger.error("Error while registering Lucene query cache MBean", e)
+      }
+      Some(cache)
+    }
+  }
+
+  /** Sets the node-wide query cache as the query cache of the specified searcher, or disables its
+    * query cache if the node-wide cache is disabled.
+    *
+    * @param searcher a searcher
+    */
+  def configure(searcher: IndexSearcher) {
+    instance match {
+      case Some(cache) => cache.configure(searcher)
+      case None => searcher.setQueryCache(null)
+    }
+  }
+
+  /** [[QueryCachingPolicy]] caching the queries that are used frequently in large segments, as
+    * [[UsageTrackingQueryCachingPolicy]] does, except the queries on the expiration time of the
+    * rows and the compound queries containing them, such as the ones built to count rows. These
+    * queries depend on the current time, so they are never reused. Their other clauses can still
+    * be cached on their own.
+    */
+  class Policy extends QueryCachingPolicy {
+
+    private val delegate = new UsageTrackingQueryCachingPolicy
+
+    /** @inheritdoc */
+    override def onUse(query: Query) {
+      if (isCacheable(query)) delegate.onUse(query)
+    }
+
+    /** @inheritdoc */
+    override def shouldCache(query: Query, context: LeafReaderContext): Boolean = {
+      isCacheable(query) && delegate.shouldCache(query, context)
+    }
+
+    private def isCacheable(query: Query): Boolean = query match {
+      case q: NumericRangeQuery[_] => q.getField != LivenessMapper.EXPIRATION_FIELD_NAME
+      case q: BooleanQuery => q.clauses.asScala.forall(clause => isCacheable(clause.getQuery))
+      case q: BoostQuery => isCacheable(q.getQuery)
+      case q: ConstantScoreQuery => isCacheable(q.getQuery)
+      case q: DisjunctionMaxQuery => q.getDisjuncts.asScala.forall(isCacheable)
+      case _ => true
+    }
+  }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.index
+
+/** JMX methods to be exposed by [[QueryCache]]. */
+trait QueryCacheMBean {
+
+  /** Returns the total number of times that a query has been looked up in the cache.
+    *
+    * @return the number of lookups
+    */
+  def getTotalCount: Long
+
+  /** Returns the number of lookups that found the query in the cache.
+    *
+    * @return the number of hits
+    */
+  def getHitCount: Long
+
+  /** Returns the number of lookups that didn't find the query in the cache.
+    *
+    * @return the number of misses
+    */
+  def getMissCount: Long
+
+  /** Returns the number of segment query results that have been evicted from the cache.
+    *
+    * @return the number of evictions
+    */
+  def getEvictionCount: Long
+
+  /** Returns the number of segment query results currently in the cache.
+    *
+    * @return the cache size
+    */
+  def getCacheSize: Long
+
+  /** Returns the memory used by the cache in bytes.
+    *
+    * @return the used memory in bytes
+    */
+  def getRamBytesUsed: Long
+
+  /** Removes all the cached query results. */
+  def clear()
+}
@@ -63,6 +63,7 @@ class RAMIndex(analyzer: Analyzer) {
     indexWriter.commit()
     val reader = DirectoryReader.open(directory)
     val searcher = new IndexSearcher(reader)
+    searcher.setQueryCache(null) // Searched only once, so don't pollute the node query cache
     try {
       val newSort = sort.rewrite(searcher)
       val topDocs = searcher.search(query, count, newSort, true, true)
@@ -55,30 +55,25 @@ class ColumnsMapper(schema: Schema, metadata: TableMetadata) extends Logging {
     * @param now now in seconds
     */
   def columns(key: DecoratedKey, row: Row, now: Int): Columns = {
-    columns(key) ++ columns(row.clustering()) ++ columns(row, now)
+    val builder = Columns.builder
+    addColumns(builder, key)
+    addColumns(builder, row.clustering())
+    addColumns(builder, row, now)
+    builder.build
   }
 
   /** Returns the mapped [[Columns]] contained in the specified partition key. */
   private[mapping] def columns(key: DecoratedKey): Columns = {
-    val components = metadata.partitionKeyType match {
-      case c: CompositeType => c.split(key.getKey)
-      case _ => Array[ByteBuffer](key.getKey)
-    }
-    (keyColumns :\ Columns()) ((definition, columns) => {
-      val name = definition.name.toString
-      val value = components(definition.position)
-      val valueType = definition.cellValueType
-      Column(name).withValue(value, valueType) :: columns
-    })
+    val builder = Columns.builder
+    addColumns(builder, key)
+    builder.build
   }
 
   /** Returns the mapped [[Columns]] contained in the specified clustering key. */
   private[mapping] def columns(clustering: Clustering[_]): Columns = {
-    (clusteringColumns foldRight  Columns()) ((definition, columns_s) => {
-      columns_s ++ ColumnsMapper.columns(Column(definition.name.toString),
-                                         definition.`type`,
-                                         clustering.getBufferArray()(definition.position()))
-    })
+    val builder = Columns.builder
+    addColumns(builder, clustering)
+    builder.build
   }
 
   /** Returns the mapped, not deleted at the specified time in seconds and not null [[Columns]]
@@ -88,13 +83,69 @@ class ColumnsMapper(schema: Schema, metadata: TableMetadata) extends Logging {
     * @param now now in seconds
     */
   private[mapping] def columns(row: Row, now: Int): Columns = {
-    (row.columns.asScala :\ Columns()) ((definition, columns) =>
-                                          if (definition.isComplex) {
-                                            this.columns(row.getComplexColumnData(definition), now) ++ columns
-                                          } else {
-                                            this.columns(row.getCell(definition).asInstanceOf[Cell[ByteBuffer]], now) ++ columns
-                                          }
-                                        )
+    val builder = Columns.builder
+    addColumns(builder, row, now)
+    builder.build
+  }
+
+  /** Adds the mapped [[Columns]] contained in the specified partition key. */
+  private[this] def addColumns(builder: Columns.Builder, key: DecoratedKey) {
+    if (keyColumns.nonEmpty) {
+      val components = metadata.partitionKeyType match {
+        case c: CompositeType => c.split(key.getKey)
+        case _ => Array[ByteBuffer](key.getKey)
+      }
+      keyColumns.foreach(definition => {
+        val name = definition.name.toString
+        val value = components(definition.position)
+        val valueType = definition.cellValueType
+        builder += Column(name).withValue(value, valueType)
+      })
+    }
+  }
+
+  /** Adds the mapped [[Columns]] contained in the specified clustering key. */
+  private[this] def addColumns(builder: Columns.Builder, clustering: Clustering[_]) {
+    clusteringColumns.foreach(definition => {
+      ColumnsMapper.addColumns(
+        builder,
+        Column(definition.name.toString),
+        definition.`type`,
+        clustering.bufferAt(definition.position))
+    })
+  }
+
+  /** Adds the mapped, not deleted at the specified time in seconds and not null [[Columns]]
+    * contained in the regular columns of the specified row.
+    *
+    * @param builder the columns builder
+    * @param row     a row
+    * @param now     now in seconds
+    */
+  private[this] def addColumns(builder: Columns.Builder, row: Row, now: Int) {
+    row.columns.forEach(definition => if (mappedCells.contains(definition.name.toString)) {
+      if (definition.isComplex) {
+        val complexColumnData = row.getComplexColumnData(definition)
+        if (complexColumnData != null) {
+          complexColumnData.forEach(cell => addColumns(builder, cell.asInstanceOf[Cell[ByteBuffer]], now))
+        }
+      } else {
+        addColumns(builder, row.getCell(definition).asInstanceOf[Cell[ByteBuffer]], now)
+      }
+    })
+  }
+
+  /** Adds the not deleted at the specified time in seconds and not null [[Columns]] contained in
+    * the specified cell.
+    *
+    * @param builder the columns builder
+    * @param cell    a cell
+    * @param now     now in seconds
+    */
+  private[this] def addColumns(builder: Columns.Builder, cell: Cell[ByteBuffer], now: Int) {
+    if (cell != null && !cell.isTombstone && cell.localDeletionTime > now) {
+      ColumnsMapper.addColumns(builder, cell)
+    }
   }
 
   /** Returns the mapped, not deleted at the specified time in seconds and not null [[Columns]]
@@ -104,9 +155,11 @@ class ColumnsMapper(schema: Schema, metadata: TableMetadata) extends Logging {
     * @param now               now in seconds
     */
   private[mapping] def columns(complexColumnData: ComplexColumnData, now: Int): Columns = {
-    (complexColumnData.asScala :\ Columns()) ((cell, columns) => {
-      this.columns(cell.asInstanceOf[Cell[ByteBuffer]], now) ++ columns
-    })
+    val builder = Columns.builder
+    if (mappedCells.contains(complexColumnData.column.name.toString)) {
+      complexColumnData.forEach(cell => addColumns(builder, cell.asInstanceOf[Cell[ByteBuffer]], now))
+    }
+    builder.build
   }
 
   /** Returns the mapped, not deleted at the specified time in seconds and not null [[Columns]]
@@ -115,16 +168,20 @@ class ColumnsMapper(schema: Schema, metadata: TableMetadata) extends Logging {
     * @param cell a cell
     * @param now  now in seconds
     */
-  private[mapping] def columns(cell: Cell[ByteBuffer], now: Int): Columns =
-    if (cell.isTombstone
-      || cell.localDeletionTime <= now
-      || !mappedCells.contains(cell.column.name.toString))
-      Columns.empty()
-    else ColumnsMapper.columns(cell)
+  private[mapping] def columns(cell: Cell[ByteBuffer], now: Int): Columns = {
+    val builder = Columns.builder
+    if (mappedCells.contains(cell.column.name.toString)) addColumns(builder, cell, now)
+    builder.build
+  }
 
 }
 
-/** Companion object for [[ColumnsMapper]]. */
+/** Companion object for [[ColumnsMapper]].
+  *
+  * The columns are appended to a mutable [[Columns.Builder]] while decoding the cells, so building
+  * the columns of a row takes time linear to the number of produced columns. The items of
+  * collections are added in reverse order of serialization, as they always have been.
+  */
 object ColumnsMapper {
 
   /** Returns [[Columns]] contained in the specified cell.
@@ -132,7 +189,24 @@ object ColumnsMapper {
     * @param cell a cell
     */
   private[mapping] def columns(cell: Cell[ByteBuffer]): Columns = {
-    if (cell == null) return Columns()
+    val builder = Columns.builder
+    if (cell != null) addColumns(builder, cell)
+    builder.build
+  }
+
+  private[mapping] def columns(column: Column, serializer: AbstractType[_], value: ByteBuffer)
+  : Columns = {
+    val builder = Columns.builder
+    addColumns(builder, column, serializer, value)
+    builder.build
+  }
+
+  /** Adds the [[Columns]] contained in the specified not null cell.
+    *
+    * @param builder the columns builder
+    * @param cell    a cell
+    */
+  private def addColumns(builder: Columns.Builder, cell: Cell[ByteBuffer]) {
     val name = cell.column.name.toString
     val comparator = cell.column.`type`
 
@@ -141,118 +215,122 @@ object ColumnsMapper {
       case setType: SetType[_] if !setType.isFrozenCollection =>
         val itemComparator = setType.nameComparator
         val itemValue = cell.path.get(0)
-        columns(column, itemComparator, itemValue)
+        addColumns(builder, column, itemComparator, itemValue)
       case listType: ListType[_] if !listType.isFrozenCollection =>
         val itemComparator = listType.valueComparator()
-        columns(column, itemComparator, cell.buffer())
+        addColumns(builder, column, itemComparator, cell.buffer())
       case mapType: MapType[_, _] if !mapType.isFrozenCollection =>
-        val valueType = mapType.valueComparator
-        val keyValue = cell.path.get(0)
-        val keyType = mapType.nameComparator
-        val keyName = keyType.compose(keyValue).toString
-        val keyColumn = column.withUDTName(Column.MAP_KEY_SUFFIX).withValue(keyValue, keyType)
-        val buffer = cell.buffer()
-        val valueColumn = columns(column.withUDTName(Column.MAP_VALUE_SUFFIX), valueType, buffer)
-        val entryColumn = columns(column.withMapName(keyName), valueType, buffer)
-        keyColumn + valueColumn ++ entryColumn
+        addMapEntry(builder, column, mapType, cell.path.get(0), cell.buffer())
       case userType: UserType =>
         val cellPath = cell.path
         if (cellPath == null) {
-          columns(column, comparator, cell.buffer())
+          addColumns(builder, column, comparator, cell.buffer())
         } else {
           val position = ByteBufferUtil.toShort(cellPath.get(0))
           val name = userType.fieldNameAsString(position)
           val typo = userType.`type`(position)
-          columns(column.withUDTName(name), typo, cellPath.get(0))
+          addColumns(builder, column.withUDTName(name), typo, cellPath.get(0))
         }
       case _ =>
-        columns(column, comparator, cell.buffer())
+        addColumns(builder, column, comparator, cell.buffer())
     }
   }
 
-  private[mapping] def columns(column: Column, serializer: AbstractType[_], value: ByteBuffer)
-  : Columns = serializer match {
-    case t: SetType[_] => columns(column, t, value)
-    case t: ListType[_] => columns(column, t, value)
-    case t: MapType[_, _] => columns(column, t, value)
-    case t: UserType => columns(column, t, value)
-    case t: TupleType => columns(column, t, value)
-    case _ => Columns(column.withValue(value, serializer))
+  private def addColumns(
+      builder: Columns.Builder,
+      column: Column,
+      serializer: AbstractType[_],
+      value: ByteBuffer): Unit = serializer match {
+    case t: SetType[_] => addColumns(builder, column, t, value)
+    case t: ListType[_] => addColumns(builder, column, t, value)
+    case t: MapType[_, _] => addColumns(builder, column, t, value)
+    case t: UserType => addColumns(builder, column, t, value)
+    case t: TupleType => addColumns(builder, column, t, value)
+    case _ => builder += column.withValue(value, serializer)
   }
 
-  private[mapping] def columns(column: Column, set: SetType[_], value: ByteBuffer): Columns = {
+  private def addColumns(builder: Columns.Builder, column: Column, set: SetType[_], value: ByteBuffer) {
     val nameType = set.nameComparator()
-    val bb = ByteBufferUtil.clone(value)
-
-    val n: Int = CollectionSerializer.readCollectionSize(value, CURRENT)
-    var offset: Int = CollectionSerializer.sizeOfCollectionSize(n, CURRENT)
-
-    ((0 until n) foldRight  Columns()) ((_, columns) => {
-      val databb = CollectionSerializer.readValue(value, ByteBufferAccessor.instance, offset, CURRENT)
-      offset += CollectionSerializer.sizeOfValue(databb, ByteBufferAccessor.instance, CURRENT)
-      this.columns(column, nameType, databb) ++ columns
-    })
+    val items = this.items(value, 1, CURRENT)
+    var i = items.length
+    while (i > 0) {
+      i -= 1
+      addColumns(builder, column, nameType, items(i))
+    }
   }
 
-  private[mapping] def columns(column: Column, list: ListType[_], value: ByteBuffer): Columns = {
+  private def addColumns(builder: Columns.Builder, column: Column, list: ListType[_], value: ByteBuffer) {
     val valueType = list.valueComparator()
-    val n: Int = CollectionSerializer.readCollectionSize(value, ProtocolVersion.V3)
-    var offset: Int = CollectionSerializer.sizeOfCollectionSize(n, ProtocolVersion.V3)
+    val items = this.items(value, 1, ProtocolVersion.V3)
+    var i = items.length
+    while (i > 0) {
+      i -= 1
+      addColumns(builder, column, valueType, items(i))
+    }
+  }
 
-    ((0 until n) foldRight  Columns()) ((_, columns) => {
-      val databb = CollectionSerializer.readValue(value, ByteBufferAccessor.instance, offset, CURRENT)
-      offset += CollectionSerializer.sizeOfValue(databb, ByteBufferAccessor.instance, CURRENT)
-      this.columns(column, valueType, databb) ++ columns
-    })
+  private def addColumns(builder: Columns.Builder, column: Column, map: MapType[_, _], value: ByteBuffer) {
+    val items = this.items(value, 2, ProtocolVersion.V3)
+    var i = items.length
+    while (i > 0) {
+      i -= 2
+      addMapEntry(builder, column, map, items(i), items(i + 1))
+    }
   }
 
-  private[mapping] def columns(column: Column, map: MapType[_, _], value: ByteBuffer): Columns = {
+  private def addMapEntry(
+      builder: Columns.Builder,
+      column: Column,
+      map: MapType[_, _],
+      itemKey: ByteBuffer,
+      itemValue: ByteBuffer) {
     val itemKeysType = map.nameComparator
     val itemValuesType = map.valueComparator
-
-    val n: Int = CollectionSerializer.readCollectionSize(value, ProtocolVersion.V3)
-    var offset: Int = CollectionSerializer.sizeOfCollectionSize(n, ProtocolVersion.V3)
-
-    ((0 until n) :\  Columns()) ((_, columns) => {
-      val itemKey = CollectionSerializer.readValue(value, ByteBufferAccessor.instance, offset, CURRENT)
-      offset += CollectionSerializer.sizeOfValue(itemKey, ByteBufferAccessor.instance, CURRENT)
-      val itemValue = CollectionSerializer.readValue(value, ByteBufferAccessor.instance, offset, CURRENT)
-      offset += CollectionSerializer.sizeOfValue(itemValue, ByteBufferAccessor.instance, CURRENT)
-      val itemName = itemKeysType.compose(itemKey).toString
-      val keyColumn = column.withUDTName(Column.MAP_KEY_SUFFIX).withValue(itemKey, itemKeysType)
-      val valueColumn = this.columns(column.withUDTName(Column.MAP_VALUE_SUFFIX), itemValuesType, itemValue)
-      val entryColumn = this.columns(column.withMapName(itemName), itemValuesType, itemValue)
-      keyColumn + valueColumn ++ entryColumn ++ columns
-    })
+    val itemName = itemKeysType.compose(itemKey).toString
+    builder += column.withUDTName(Column.MAP_KEY_SUFFIX).withValue(itemKey, itemKeysType)
+    addColumns(builder, column.withUDTName(Column.MAP_VALUE_SUFFIX), itemValuesType, itemValue)
+    addColumns(builder, column.withMapName(itemName), itemValuesType, itemValue)
   }
 
-  private[mapping] def columns(column: Column, udt: UserType, value: ByteBuffer): Columns = {
+  private def addColumns(builder: Columns.Builder, column: Column, udt: UserType, value: ByteBuffer) {
     val itemValues = udt.split(value)
-    ((0 until udt.fieldNames.size) foldRight Columns()) ((i, columns) => {
+    for (i <- 0 until udt.fieldNames.size) {
       val itemValue = itemValues(i)
-      if (itemValue == null) {
-        columns
-      } else {
+      if (itemValue != null) {
         val itemName = udt.fieldNameAsString(i)
         val itemType = udt.fieldType(i)
-        val itemColumn = column.withUDTName(itemName)
-        this.columns(itemColumn, itemType, itemValue) ++ columns
+        addColumns(builder, column.withUDTName(itemName), itemType, itemValue)
       }
-    })
+    }
   }
 
-  private[mapping] def columns(column: Column, tuple: TupleType, value: ByteBuffer): Columns = {
+  private def addColumns(builder: Columns.Builder, column: Column, tuple: TupleType, value: ByteBuffer) {
     val itemValues = tuple.split(value)
-    ((0 until tuple.size) foldRight  Columns()) ((i, columns) => {
+    for (i <- 0 until tuple.size) {
       val itemValue = itemValues(i)
-      if (itemValue == null) {
-        columns
-      } else {
-        val itemName = i.toString
+      if (itemValue != null) {
         val itemType = tuple.`type`(i)
-        val itemColumn = column.withUDTName(itemName)
-        this.columns(itemColumn, itemType, itemValue) ++ columns
+        addColumns(builder, column.withUDTName(i.toString), itemType, itemValue)
       }
-    })
+    }
   }
-}
\ No newline at end of file
+
+  /** Returns the serialized values contained in the specified serialized collection.
+    *
+    * @param value         a serialized collection
+    * @param valuesPerItem the number of values per collection item, 2 for maps and 1 otherwise
+    * @param version       the protocol version used to read the collection size
+    * @return the serialized values, in order of serialization
+    */
+  private def items(value: ByteBuffer, valuesPerItem: Int, version: ProtocolVersion): Array[ByteBuffer] = {
+    val n: Int = CollectionSerializer.readCollectionSize(value, version)
+    var offset: Int = CollectionSerializer.sizeOfCollectionSize(n, version)
+    val items = new Array[ByteBuffer](n * valuesPerItem)
+    for (i <- items.indices) {
+      val item = CollectionSerializer.readValue(value, ByteBufferAccessor.instance, offset, CURRENT)
+      offset += CollectionSerializer.sizeOfValue(item, ByteBufferAccessor.instance, CURRENT)
+      items(i) = item
+    }
+    items
+  }
+}
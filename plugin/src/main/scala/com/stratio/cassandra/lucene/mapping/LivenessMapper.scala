@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.mapping
+
+import java.nio.ByteBuffer
+
+import com.stratio.cassandra.lucene.mapping.LivenessMapper._
+import org.apache.cassandra.db.{Clustering, LivenessInfo}
+import org.apache.cassandra.db.rows.{BTreeRow, Row}
+import org.apache.lucene.document.{Document, Field, IntField, StoredField}
+import org.apache.lucene.index.IndexableField
+import org.apache.lucene.search.{NumericRangeQuery, Query}
+
+/** Class for mapping the primary key liveness info of rows between Cassandra and Lucene, so reads
+  * that only need the primary key can be answered from the index without reading the table.
+  */
+class LivenessMapper {
+
+  /** Returns the Lucene [[IndexableField]]s storing the primary key liveness info of the specified
+    * row and indexing its expiration time, if it has any liveness info. Rows without primary key
+    * liveness info are only alive because of their cells, so they can't be rebuilt from the index.
+    *
+    * @param row the row to be mapped
+    * @return the liveness fields, empty if `row` has no primary key liveness info
+    */
+  def indexableFields(row: Row): List[IndexableField] = {
+    val info = row.primaryKeyLivenessInfo
+    if (info.isEmpty) Nil else {
+      val bb = ByteBuffer.allocate(SIZE)
+      bb.putLong(info.timestamp).putInt(info.ttl).putInt(info.localExpirationTime)
+      List(
+        new StoredField(FIELD_NAME, bb.array),
+        new IntField(EXPIRATION_FIELD_NAME, info.localExpirationTime, Field.Store.NO))
+    }
+  }
+
+  /** Returns a Lucene [[Query]] matching the documents with liveness info alive at the specified
+    * time.
+    *
+    * @param nowInSec now in seconds
+    * @return a query matching the alive documents
+    */
+  def liveQuery(nowInSec: Int): Query = {
+    NumericRangeQuery.newIntRange(EXPIRATION_FIELD_NAME, nowInSec, Int.MaxValue, false, true)
+  }
+
+  /** Returns the primary key liveness info stored in the specified document, if any.
+    *
+    * @param document a document loaded with the [[LivenessMapper.FIELD_NAME]] field
+    * @return the liveness info, or `None` if `document` has no liveness info
+    */
+  def liveness(document: Document): Option[LivenessInfo] = {
+    Option(document.getBinaryValue(FIELD_NAME)).map(bytesRef => {
+      val bb = ByteBuffer.wrap(bytesRef.bytes, bytesRef.offset, bytesRef.length)
+      val timestamp = bb.getLong
+      val ttl = bb.getInt
+      val localExpirationTime = bb.getInt
+      LivenessInfo.withExpirationTime(timestamp, ttl, localExpirationTime)
+    })
+  }
+
+  /** Returns a row without cells with the specified clustering key and the primary key liveness
+    * info stored in the specified document, if it is alive at the specified time.
+    *
+    * @param document   a document loaded with the [[LivenessMapper.FIELD_NAME]] field
+    * @param clustering the clustering key of the row
+    * @param nowInSec   now in seconds
+    * @return a row, or `None` if the document has no liveness info or it is not alive
+    */
+  def row(document: Document, clustering: Clustering[_], nowInSec: Int): Option[Row] = {
+    liveness(document).filter(_.isLive(nowInSec)).map(BTreeRow.noCellLiveRow(clustering, _))
+  }
+
+}
+
+/** Companion object for [[LivenessMapper]]. */
+object LivenessMapper {
+
+  /** The Lucene field name. */
+  val FIELD_NAME = "_liveness"
+
+  /** The Lucene field name of the indexed local expiration time. */
+  val EXPIRATION_FIELD_NAME = "_expiration"
+
+  /** The size in bytes of the stored liveness info. */
+  val SIZE = 16
+}
@@ -17,6 +17,7 @@ package com.stratio.cassandra.lucene.mapping
 
 import com.stratio.cassandra.lucene.IndexException
 import com.stratio.cassandra.lucene.mapping.TokenMapper._
+import com.stratio.cassandra.lucene.search.query.IndexOrDocValuesQuery
 import org.apache.cassandra.config.DatabaseDescriptor
 import org.apache.cassandra.db.DecoratedKey
 import org.apache.cassandra.dht.{Murmur3Partitioner, Token}
@@ -75,12 +76,10 @@ class TokenMapper {
     val min: java.lang.Long = if (lower.isMinimum) Long.MinValue else longValue(lower)
     val max: java.lang.Long = if (upper.isMinimum) Long.MaxValue else longValue(upper)
 
-    // Do query using doc values or inverted index depending on empirical heuristic
-    if (max / 10 - min / 10 > 1222337203685480000L) {
-      Some(DocValuesRangeQuery.newLongRange(FIELD_NAME, min, max, includeLower, includeUpper))
-    } else {
-      Some(NumericRangeQuery.newLongRange(FIELD_NAME, min, max, includeLower, includeUpper))
-    }
+    // Choose between doc values and inverted index per segment at search time
+    Some(new IndexOrDocValuesQuery(
+      NumericRangeQuery.newLongRange(FIELD_NAME, min, max, includeLower, includeUpper),
+      DocValuesRangeQuery.newLongRange(FIELD_NAME, min, max, includeLower, includeUpper)))
   }
 
   /** Returns a Lucene query to find the documents containing the specified token.
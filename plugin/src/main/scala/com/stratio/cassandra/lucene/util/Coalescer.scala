@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.util
+
+import java.util.concurrent.atomic.{AtomicBoolean, AtomicLong}
+import java.util.concurrent.{ConcurrentHashMap, CountDownLatch}
+
+import com.google.common.util.concurrent.Uninterruptibles
+import com.stratio.cassandra.lucene.util.Coalescer.Batch
+
+/** Class to execute tasks in mutual exclusion based on a key. Differently to a fixed set of locks,
+  * tasks with different keys never collide.
+  *
+  * A task submitted while another task with the same key is running is handed off to be executed
+  * once the running task has finished. All the tasks handed off during the same execution are
+  * coalesced into a single task, which is executed by one of its waiting submitters, which holds the
+  * key until then. The rest of submitters of the coalesced task wait until it has been executed, and
+  * they get its failure if it fails, so a task has always been executed when [[run]] returns. This
+  * way, each submitter executes at most one task before returning, even under a continuous stream
+  * of tasks for the same key.
+  *
+  * @param execute the function executing a task
+  * @param defer   the function returning the task to be executed instead of the specified task and
+  *                the previously deferred task with the same key, if any
+  */
+class Coalescer[K <: AnyRef, T](execute: T => Unit, defer: (Option[T], T) => T) {
+
+  /** The coalesced tasks handed off for each running key, with the batch waiting for them. */
+  private[this] val deferred = new ConcurrentHashMap[K, Option[(T, Batch[T])]]
+
+  private[this] val submittedCount = new AtomicLong
+  private[this] val deferredCount = new AtomicLong
+  private[this] val coalescedCount = new AtomicLong
+
+  /** Runs the specified task in mutual exclusion based on the specified key. If there is another
+    * task running with the same key, it hands off the task and waits until it has been executed.
+    *
+    * @param key  the key of the task
+    * @param task the task to be executed
+    */
+  def run(key: K, task: T) {
+    submittedCount.incrementAndGet
+    var owner = false
+    var batch: Batch[T] = null
+    deferred.compute(key, (_, pending) => if (pending == null) {
+      owner = true
+      None
+    } else {
+      deferredCount.incrementAndGet
+      batch = pending.map(_._2).getOrElse(new Batch[T])
+      if (pending.isDefined) coalescedCount.incrementAndGet
+      Some((defer(pending.map(_._1), task), batch))
+    })
+    if (owner) {
+      try execute(task) finally release(key)
+    } else batch.await().foreach(coalesced => try execute(coalesced) catch {
+      case e: Throwable =>
+        batch.error = e
+        throw e
+    } finally {
+      batch.done()
+      release(key)
+    })
+  }
+
+  /** Releases the specified key, handing it off to the batch of the tasks deferred for it, if any.
+    *
+    * @param key the key of the tasks
+    */
+  private[this] def release(key: K) {
+    var next: Option[(T, Batch[T])] = None
+    deferred.compute(key, (_, pending) => {
+      next = pending
+      if (pending.isEmpty) null else None
+    })
+    next.foreach { case (task, batch) => batch.handOff(task) }
+  }
+
+  /** Returns the total number of submitted tasks.
+    *
+    * @return the number of submitted tasks
+    */
+  def getSubmitted: Long = submittedCount.get
+
+  /** Returns the number of tasks that have found their key locked, so they have been handed off.
+    *
+    * @return the number of deferred tasks
+    */
+  def getDeferred: Long = deferredCount.get
+
+  /** Returns the number of deferred tasks that have been coalesced with other deferred tasks.
+    *
+    * @return the number of coalesced tasks
+    */
+  def getCoalesced: Long = coalescedCount.get
+
+}
+
+/** Companion object for [[Coalescer]]. */
+object Coalescer {
+
+  /** The submitters of a coalesced task, waiting for its execution by one of them. */
+  private[util] class Batch[T] {
+
+    private[this] val handedOff = new CountDownLatch(1)
+    private[this] val executed = new CountDownLatch(1)
+    private[this] val claimed = new AtomicBoolean
+    private[this] var task: T = _
+
+    /** The failure of the coalesced task, if any. */
+    @volatile var error: Throwable = _
+
+    /** Hands off the coalesced task and its key to the submitters, so one of them executes it.
+      *
+      * @param task the coalesced task
+      */
+    def handOff(task: T) {
+      this.task = task
+      handedOff.countDown()
+    }
+
+    /** Signals the end of the execution of the coalesced task. */
+    def done() {
+      executed.countDown()
+    }
+
+    /** Waits until the coalesced task is handed off. The first submitter getting it must execute it,
+      * while the rest wait until it has been executed, throwing its failure, if any.
+      *
+      * @return the coalesced task if it must be executed by the caller, none otherwise
+      */
+    def await(): Option[T] = {
+      Uninterruptibles.awaitUninterruptibly(handedOff)
+      if (claimed.compareAndSet(false, true)) Some(task) else {
+        Uninterruptibles.awaitUninterruptibly(executed)
+        if (error != null) throw error
+        None
+      }
+    }
+  }
+
+}
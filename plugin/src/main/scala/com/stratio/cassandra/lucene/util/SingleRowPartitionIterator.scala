@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.util
+
+import org.apache.cassandra.db.partitions.PartitionIterator
+import org.apache.cassandra.db.rows.RowIterator
+
+/** [[PartitionIterator]] splitting the rows of another [[PartitionIterator]] into
+  * [[SingleRowIterator]]s as they are read, so rows can be processed one at a time without
+  * buffering the whole iterator.
+  *
+  * @param partitions the partitions to be split
+  * @param onRow      a function to be called with each row before returning it
+  */
+class SingleRowPartitionIterator(
+    partitions: PartitionIterator,
+    onRow: SingleRowIterator => Unit = _ => ())
+  extends PartitionIterator {
+
+  private[this] var partition: Option[RowIterator] = None
+
+  /** @inheritdoc */
+  override def hasNext: Boolean = {
+    while (partition.forall(!_.hasNext)) {
+      partition.foreach(_.close())
+      partition = None
+      if (!partitions.hasNext) return false
+      partition = Some(partitions.next)
+    }
+    true
+  }
+
+  /** @inheritdoc */
+  override def next(): SingleRowIterator = {
+    if (!hasNext) throw new NoSuchElementException
+    val row = new SingleRowIterator(partition.get)
+    onRow(row)
+    row
+  }
+
+  /** @inheritdoc */
+  override def close(): Unit = {
+    try partition.foreach(_.close()) finally partitions.close()
+  }
+}
@@ -51,6 +51,18 @@ sealed trait TaskQueue extends Closeable with Logging {
     * @return the result of the task
     */
   def submitSynchronous[A](task: () => A): A
+
+  /** Waits for the completion of all the tasks submitted so far. Differently to
+    * [[submitSynchronous]], it doesn't prevent the submission of new tasks while waiting.
+    */
+  def await(): Unit
+
+  /** Waits for the completion of all the tasks submitted so far with the specified identifier,
+    * without preventing the submission of new tasks while waiting.
+    *
+    * @param id the identifier of the tasks to be waited for
+    */
+  def await(id: AnyRef): Unit
 }
 
 /** Trivial [[TaskQueue]] not using parallel nor asynchronous processing */
@@ -62,6 +74,12 @@ private class TaskQueueSync extends TaskQueue {
   /** @inheritdoc */
   override def submitSynchronous[A](task: () => A): A = task.apply
 
+  /** @inheritdoc */
+  override def await(): Unit = {}
+
+  /** @inheritdoc */
+  override def await(id: AnyRef): Unit = {}
+
   /** @inheritdoc */
   override def close(): Unit = {}
 
@@ -118,6 +136,32 @@ private class TaskQueueAsync(numThreads: Int, queuesSize: Int) extends TaskQueue
     } finally lock.writeLock.unlock()
   }
 
+  /** @inheritdoc */
+  override def await(): Unit = {
+    lock.readLock.lock()
+    val futures = try pools.map(_.submit(() => None)) finally lock.readLock.unlock()
+    awaitAll(futures)
+  }
+
+  /** @inheritdoc */
+  override def await(id: AnyRef): Unit = {
+    lock.readLock.lock()
+    val future = try pools(Math.abs(id.hashCode % numThreads)).submit(() => None)
+    finally lock.readLock.unlock()
+    awaitAll(List(future))
+  }
+
+  private def awaitAll(futures: Seq[Future[_]]): Unit = {
+    try futures.foreach(_.get()) catch {
+      case e: InterruptedException =>
+        logger.error("Task queue await interrupted", e)
+        throw new IndexException(e)
+      case e: ExecutionException =>
+        logger.error("Task queue await failed", e)
+        throw new IndexException(e)
+    }
+  }
+
   /** @inheritdoc */
   override def close(): Unit = {
     lock.writeLock.lock()
@@ -25,6 +25,7 @@ import org.junit.Test;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Random;
 import java.util.UUID;
 
 /**
@@ -184,5 +185,87 @@ public class DateParserTest {
         assertEquals("yyyyMMdd", timeUUID.asUUID(), expected);
     }
 
+    @Test
+    public void testParseUUIDWithTime() throws ParseException {
+        TimeUUID timeUUID = TimeUUID.Generator.atUnixMillis(date("yyyy-MM-dd HH:mm:ss", "2015-11-03 06:23:41").getTime());
+        Date expected = date("yyyy-MM-dd HH:mm", "2015-11-03 06:23");
+        assertEquals("yyyy-MM-dd HH:mm", timeUUID.asUUID(), expected);
+    }
+
+    @Test
+    public void testParseDateWithoutYear() throws ParseException {
+        Date date = date("yyyy/MM/dd HH:mm", "2015/11/03 01:02");
+        Date expected = date("yyyy/MM/dd", "1970/11/03");
+        assertEquals("MM/dd", date, expected);
+    }
+
+    @Test
+    public void testParseDateWithTimeZone() throws ParseException {
+        Date date = date("yyyy/MM/dd HH:mm:ss.SSS Z", "2015/11/03 01:02:03.004 +0100");
+        assertEquals("yyyy/MM/dd HH:mm:ss.SSS Z", "2015/11/03 01:02:03.004 +0100", date);
+        assertEquals("yyyy/MM/dd HH:mm:ss.SSS Z", "2015/11/03 03:02:03.004 +0300", date);
+    }
+
+    @Test
+    public void testParseStringWithTrailingText() throws ParseException {
+        Date expected = date("yyyy/MM/dd", "2015/11/03");
+        assertEquals("yyyy/MM/dd", "2015/11/03 01:02:03", expected);
+    }
+
+    @Test
+    public void testParseStringWithNonPaddedFields() throws ParseException {
+        Date expected = date("yyyy/MM/dd", "2015/01/03");
+        assertEquals("yyyy/MM/dd", "2015/1/3", expected);
+    }
+
+    @Test
+    public void testParseStringInvalidDay() throws ParseException {
+        assertFail("yyyy/MM/dd", "2015/11/31");
+    }
+
+    @Test
+    public void testParseStringWithQuotedText() throws ParseException {
+        Date expected = date("yyyy/MM/dd HH:mm", "2015/11/03 01:02");
+        assertEquals("yyyy-MM-dd'T'HH:mm''", "2015-11-03T01:02'", expected);
+    }
+
+    @Test
+    public void testParseStringWithTextPattern() throws ParseException {
+        Date expected = date("yyyy/MM/dd", "2015/11/03");
+        assertEquals("dd MMM yy", "03 Nov 15", expected);
+    }
+
+    @Test
+    public void testParseStringWithGeneralTimeZone() throws ParseException {
+        String pattern = DateParser.DEFAULT_PATTERN;
+        assertEquals(pattern, "2015/11/03 01:02:03.004 UTC", date(pattern, "2015/11/03 01:02:03.004 UTC"));
+        assertEquals(pattern, "2015/11/03 01:02:03.004 GMT+01:00", date(pattern, "2015/11/03 01:02:03.004 GMT+01:00"));
+        assertEquals(pattern, "2015/11/03 01:02:03.004 CET", date(pattern, "2015/11/03 01:02:03.004 CET"));
+    }
+
+    @Test
+    public void testParseStringWithLeadingWhitespace() throws ParseException {
+        Date expected = date("yyyy/MM/dd", "2015/11/03");
+        assertEquals("yyyy/MM/dd", " 2015/11/03", expected);
+    }
+
+    @Test
+    public void testParseConsistentWithSimpleDateFormat() throws ParseException {
+        String[] patterns = {DateParser.DEFAULT_PATTERN, "yyyy/MM/dd", "yyyyMMddHHmmssSSS", "MM/dd HH:mm", "dd MMM yy"};
+        Random random = new Random(0);
+        for (String pattern : patterns) {
+            SimpleDateFormat format = new SimpleDateFormat(pattern);
+            format.setLenient(false);
+            DateParser parser = new DateParser(pattern);
+            for (int i = 0; i < 1000; i++) {
+                Date date = new Date(random.nextLong() % 10000000000000L);
+                Date expected = format.parse(format.format(date));
+                Assert.assertEquals("Truncation should be equal", expected, parser.parse(date));
+                Assert.assertEquals("Formatting should be equal", format.format(date), parser.toString(date));
+                Assert.assertEquals("Parsing should be equal", expected, parser.parse(format.format(date)));
+            }
+        }
+    }
+
 }
 
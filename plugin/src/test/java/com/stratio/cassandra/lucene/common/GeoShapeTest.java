@@ -21,6 +21,7 @@ import java.io.IOException;
 
 import static com.stratio.cassandra.lucene.common.GeoShape.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 /**
  * Class for testing {@link GeoShape}s.
@@ -87,4 +88,15 @@ public class GeoShapeTest {
                      "8.308636809455255 3.441550051308651, 8.820401790674602 1.7544870014228233, " +
                      "8.993203677616636 0))", buffer.apply().toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testEquals() throws IOException {
+        String json = "{type:\"buffer\", max_distance:\"10km\", shape:{type:\"wkt\", value:\"POINT(0 0)\"}}";
+        GeoShape shape = parse(json);
+        GeoShape other = parse(json);
+        assertEquals("Geo shape equality is wrong", shape, other);
+        assertEquals("Geo shape hash code is wrong", shape.hashCode(), other.hashCode());
+        assertNotEquals("Geo shape equality is wrong", shape, parse(json.replace("10km", "11km")));
+        assertNotEquals("Geo shape equality is wrong", shape, parse(json.replace("0 0", "0 1")));
+    }
+}
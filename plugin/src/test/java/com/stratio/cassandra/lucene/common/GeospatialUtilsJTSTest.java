@@ -21,6 +21,7 @@ import org.junit.Test;
 
 import static com.stratio.cassandra.lucene.common.GeospatialUtilsJTS.geometry;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 /**
  * Class for testing {@link GeospatialUtilsJTS}.
@@ -79,4 +80,13 @@ public class GeospatialUtilsJTSTest {
                      "POLYGON ((5 0, 0 0, 0 10, 10 10, 10 0, 5 0), (5 0, 7 3, 5 6, 3 3, 5 0))",
                      geometry.toString());
     }
+
+    @Test
+    public void testShapeGeometryIsCached() throws Exception {
+        GeoShape shape = new GeoShape.Centroid(new GeoShape.WKT("POLYGON((-1 1, 1 1, 1 -1, -1 -1, -1 1))"));
+        JtsGeometry geometry = geometry(shape);
+        assertEquals("Shape geometry is wrong", "POINT (-0 -0)", geometry.toString());
+        GeoShape other = new GeoShape.Centroid(new GeoShape.WKT("POLYGON((-1 1, 1 1, 1 -1, -1 -1, -1 1))"));
+        assertSame("Shape geometry is not cached", geometry, geometry(other));
+    }
 }
@@ -16,6 +16,7 @@
 package com.stratio.cassandra.lucene.schema;
 
 import com.stratio.cassandra.lucene.IndexException;
+import com.stratio.cassandra.lucene.column.Column;
 import com.stratio.cassandra.lucene.column.Columns;
 import com.stratio.cassandra.lucene.schema.mapping.Mapper;
 import org.apache.lucene.analysis.Analyzer;
@@ -119,6 +120,25 @@ public class SchemaTest {
         schema.close();
     }
 
+    @Test
+    public void testIndexableFieldsDispatch() {
+        Schema schema = SchemaBuilders.schema()
+                                      .mapper("a", stringMapper())
+                                      .mapper("b", stringMapper().column("a.u"))
+                                      .mapper("c", stringMapper().column("a"))
+                                      .build();
+        Columns columns = new Columns().add("a", "1")
+                                       .add("a.u", "2")
+                                       .add("a.v", "3")
+                                       .add("x", "4")
+                                       .$plus(Column.apply("a").withMapName("k").withValue("5"));
+        List<IndexableField> fields = schema.indexableFields(columns);
+        assertEquals("Expected 4 fields for a", 4, fields.stream().filter(f -> f.name().startsWith("a")).count());
+        assertEquals("Expected 2 fields for b", 2, fields.stream().filter(f -> f.name().startsWith("b")).count());
+        assertEquals("Expected 4 fields for c", 4, fields.stream().filter(f -> f.name().startsWith("c")).count());
+        schema.close();
+    }
+
     @Test
     public void testGetMapper() {
         Schema schema = SchemaBuilders.schema()
@@ -19,6 +19,7 @@ import com.stratio.cassandra.lucene.IndexException;
 import com.stratio.cassandra.lucene.column.Columns;
 import com.stratio.cassandra.lucene.schema.mapping.builder.GeoPointMapperBuilder;
 import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.spatial.query.SpatialOperation;
 import org.junit.Test;
 
 import java.util.List;
@@ -315,7 +316,22 @@ public class GeoPointMapperTest extends AbstractMapperTest {
         GeoPointMapper mapper = geoPointMapper("lat", "lon").maxLevels(10).build("field");
         Columns columns = new Columns().add("lat", 20).add("lon", "30");
         List<IndexableField> fields = mapper.indexableFields(columns);
-        assertEquals("Fields are not properly created", 2, fields.size());
+        assertEquals("Fields are not properly created", 3, fields.size());
+        IndexableField latLon = fields.get(2);
+        assertEquals("Lat/lon field is not properly created", "field.latlon", latLon.name());
+        assertEquals("Lat/lon field is not properly created",
+                     GeoPointMapper.encodeLatLon(20, 30),
+                     latLon.numericValue().longValue());
+    }
+
+    @Test
+    public void testEncodeLatLon() {
+        double[][] points = {{0, 0}, {90, 180}, {-90, -180}, {40.4165, -3.70256}, {-33.8688, 151.2093}};
+        for (double[] point : points) {
+            long latLon = GeoPointMapper.encodeLatLon(point[0], point[1]);
+            assertEquals("Latitude is not properly encoded", point[0], GeoPointMapper.decodeLatitude(latLon), 1e-7);
+            assertEquals("Longitude is not properly encoded", point[1], GeoPointMapper.decodeLongitude(latLon), 1e-7);
+        }
     }
 
     @Test
@@ -346,6 +362,19 @@ public class GeoPointMapperTest extends AbstractMapperTest {
         assertNull("Analyzer must be null", mapper.analyzer);
     }
 
+    @Test
+    public void testSearchOperation() {
+        assertEquals("Search operation is wrong",
+                     SpatialOperation.Intersects,
+                     GeoPointMapper.searchOperation(SpatialOperation.Intersects));
+        assertEquals("Search operation is wrong",
+                     SpatialOperation.Intersects,
+                     GeoPointMapper.searchOperation(SpatialOperation.IsWithin));
+        assertEquals("Search operation is wrong",
+                     SpatialOperation.Contains,
+                     GeoPointMapper.searchOperation(SpatialOperation.Contains));
+    }
+
     @Test
     public void testToString() {
         GeoPointMapper mapper = geoPointMapper("lat", "lon").validated(true).maxLevels(7).build("field");
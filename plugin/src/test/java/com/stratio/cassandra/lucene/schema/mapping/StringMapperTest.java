@@ -46,23 +46,33 @@ public class StringMapperTest extends AbstractMapperTest {
         assertEquals("Case sensitive is not set to default value",
                      StringMapper.DEFAULT_CASE_SENSITIVE,
                      mapper.caseSensitive);
+        assertEquals("Reversed is not set to default value", StringMapper.DEFAULT_REVERSED, mapper.reversed);
     }
 
     @Test
     public void testConstructorWithAllArgs() {
-        StringMapper mapper = stringMapper().validated(true).column("column").caseSensitive(false).build("field");
+        StringMapper mapper = stringMapper().validated(true)
+                                            .column("column")
+                                            .caseSensitive(false)
+                                            .reversed(true)
+                                            .build("field");
         assertEquals("Field is not set", "field", mapper.field);
         assertTrue("Validated is not properly set", mapper.validated);
         assertEquals("Column is not set", "column", mapper.column);
         assertEquals("Mapped columns are not set", 1, mapper.mappedColumns.size());
         assertTrue("Mapped columns are not set", mapper.mappedColumns.contains("column"));
         assertFalse("Case sensitive is not set", mapper.caseSensitive);
+        assertTrue("Reversed is not set", mapper.reversed);
     }
 
     @Test
     public void testJsonSerialization() {
-        StringMapperBuilder builder = stringMapper().validated(true).column("column").caseSensitive(false);
-        testJson(builder, "{type:\"string\",validated:true,column:\"column\",case_sensitive:false}");
+        StringMapperBuilder builder = stringMapper().validated(true)
+                                                    .column("column")
+                                                    .caseSensitive(false)
+                                                    .reversed(true);
+        testJson(builder,
+                 "{type:\"string\",validated:true,column:\"column\",case_sensitive:false,reversed:true}");
     }
 
     @Test
@@ -229,6 +239,24 @@ public class StringMapperTest extends AbstractMapperTest {
         assertTrue("Sorted field is not properly created", fields.get(1) instanceof SortedSetDocValuesField);
     }
 
+    @Test
+    public void testAddFieldsReversed() {
+        StringMapper mapper = stringMapper().reversed(true).build("field");
+        Columns columns = new Columns().add("field", "value");
+        List<IndexableField> fields = mapper.indexableFields(columns);
+        assertEquals("Number of created fields is wrong", 3, fields.size());
+        assertEquals("Reversed field name is wrong", "field.reversed", fields.get(2).name());
+        assertEquals("Reversed field value is wrong", "eulav", fields.get(2).stringValue());
+        assertEquals("Reversed field type is wrong", KeywordMapper.FIELD_TYPE, fields.get(2).fieldType());
+    }
+
+    @Test
+    public void testReverse() {
+        assertEquals("Reverse is wrong", "", StringMapper.reverse(""));
+        assertEquals("Reverse is wrong", "cba", StringMapper.reverse("abc"));
+        assertEquals("Reverse is wrong", "b\uD801\uDC00a", StringMapper.reverse("a\uD801\uDC00b"));
+    }
+
     @Test
     public void testExtractAnalyzers() {
         StringMapper mapper = stringMapper().caseSensitive(true).build("field");
@@ -240,7 +268,7 @@ public class StringMapperTest extends AbstractMapperTest {
     public void testToString() {
         StringMapper mapper = stringMapper().validated(true).caseSensitive(true).build("field");
         assertEquals("Method #toString is wrong",
-                     "StringMapper{field=field, validated=true, column=field, caseSensitive=true}",
+                     "StringMapper{field=field, validated=true, column=field, caseSensitive=true, reversed=false}",
                      mapper.toString());
     }
 }
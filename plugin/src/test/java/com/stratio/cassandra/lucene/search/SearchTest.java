@@ -16,6 +16,7 @@
 package com.stratio.cassandra.lucene.search;
 
 import com.google.common.collect.Sets;
+import com.stratio.cassandra.lucene.IndexException;
 import com.stratio.cassandra.lucene.schema.Schema;
 import com.stratio.cassandra.lucene.search.condition.builder.MatchConditionBuilder;
 import com.stratio.cassandra.lucene.search.sort.builder.SortFieldBuilder;
@@ -103,6 +104,13 @@ public class SearchTest {
                    search().filter(MATCH).query(MATCH).sort(FIELD).build().requiresPostProcessing());
     }
 
+    @Test
+    public void testUsesFaceting() {
+        assertFalse("Use faceting is wrong", filter(MATCH).build().usesFaceting());
+        assertTrue("Use faceting is wrong", filter(MATCH).facets(facet("f")).build().usesFaceting());
+        assertEquals("Facets are wrong", 2, search().facets(facet("f"), facet("g").limit(3)).build().facets().size());
+    }
+
     @Test
     public void testSort() {
         Schema schema = schema().mapper("f", stringMapper()).build();
@@ -116,10 +124,17 @@ public class SearchTest {
         search().filter(MATCH)
                 .query(MATCH)
                 .sort(FIELD)
+                .facets(facet("f"))
                 .build()
                 .validate(schema);
     }
 
+    @Test(expected = IndexException.class)
+    public void testValidateFacetWithoutMapper() {
+        Schema schema = schema().mapper("f", stringMapper()).build();
+        search().facets(facet("g")).build().validate(schema);
+    }
+
     @Test
     public void testEmptyQuery() {
         Query query = search().build().query(schema().build(), null);
@@ -152,7 +167,7 @@ public class SearchTest {
                      "MatchCondition{boost=null, field=f2, value=v2, docValues=false}], " +
                      "query=[MatchCondition{boost=null, field=f3, value=v3, docValues=false}, " +
                      "MatchCondition{boost=0.3, field=f4, value=v4, docValues=false}], " +
-                     "sort=[SimpleSortField{field=f5, reverse=true}], refresh=true, paging=null}",
+                     "sort=[SimpleSortField{field=f5, reverse=true}], refresh=true, paging=null, facets=[]}",
                      search.toString());
     }
 
@@ -16,13 +16,26 @@
 package com.stratio.cassandra.lucene.search.condition;
 
 import com.stratio.cassandra.lucene.IndexException;
+import com.stratio.cassandra.lucene.column.Columns;
 import com.stratio.cassandra.lucene.schema.Schema;
 import com.stratio.cassandra.lucene.schema.mapping.builder.MapperBuilder;
 import com.stratio.cassandra.lucene.search.condition.builder.BitemporalConditionBuilder;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.store.RAMDirectory;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.util.Date;
+import java.util.Random;
+
 import static com.stratio.cassandra.lucene.schema.SchemaBuilders.*;
 import static com.stratio.cassandra.lucene.search.SearchBuilders.bitemporal;
 import static org.junit.Assert.*;
@@ -102,6 +115,78 @@ public class BitemporalConditionTest extends AbstractConditionTest {
         assertTrue("Query type is wrong", query instanceof BooleanQuery);
     }
 
+    @Test
+    public void testQueryClauses() {
+        MapperBuilder<?, ?> mapperBuilder = bitemporalMapper("vtFrom", "vtTo", "ttFrom", "ttTo").pattern("yyyy");
+        Schema schema = schema().mapper("name", mapperBuilder).build();
+
+        Condition condition = new BitemporalCondition(null, "name", 2001, 2002, 2003, 2004);
+        BooleanQuery query = (BooleanQuery) condition.doQuery(schema);
+        assertEquals("Query is wrong", 4, query.clauses().size());
+        for (BooleanClause clause : query.clauses()) {
+            assertEquals("Query is wrong", BooleanClause.Occur.FILTER, clause.getOccur());
+        }
+
+        query = (BooleanQuery) new BitemporalCondition(null, "name", 2001, 2001, null, null).doQuery(schema);
+        assertEquals("Query is wrong", 2, query.clauses().size());
+
+        query = (BooleanQuery) new BitemporalCondition(null, "name", null, 2002, null, 2004).doQuery(schema);
+        assertEquals("Query is wrong", 2, query.clauses().size());
+    }
+
+    private static Date randomTime(Random random) {
+        return random.nextInt(4) == 0 ? null : new Date(random.nextInt(20));
+    }
+
+    private static boolean intersects(long from, long to, Date queryFrom, Date queryTo) {
+        long min = queryFrom == null ? 0L : queryFrom.getTime();
+        long max = queryTo == null ? Long.MAX_VALUE : queryTo.getTime();
+        return from <= Math.max(min, max) && to >= Math.min(min, max);
+    }
+
+    @Test
+    public void testQueryMatches() throws IOException {
+        Schema schema = schema().mapper("name", bitemporalMapper("vtFrom", "vtTo", "ttFrom", "ttTo")).build();
+        Random random = new Random(0);
+        int numDocs = 200;
+        long[][] times = new long[numDocs][];
+        RAMDirectory directory = new RAMDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()))) {
+            for (int i = 0; i < numDocs; i++) {
+                long vtFrom = random.nextInt(20);
+                long ttFrom = random.nextInt(20);
+                times[i] = new long[]{vtFrom, vtFrom + random.nextInt(5), ttFrom, ttFrom + random.nextInt(5)};
+                Columns columns = new Columns().add("vtFrom", new Date(times[i][0]))
+                                               .add("vtTo", new Date(times[i][1]))
+                                               .add("ttFrom", new Date(times[i][2]))
+                                               .add("ttTo", new Date(times[i][3]));
+                Document document = new Document();
+                schema.indexableFields(columns).forEach(document::add);
+                writer.addDocument(document);
+            }
+        }
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            IndexSearcher searcher = new IndexSearcher(reader);
+            for (int i = 0; i < 500; i++) {
+                Date vtFrom = randomTime(random);
+                Date vtTo = randomTime(random);
+                Date ttFrom = randomTime(random);
+                Date ttTo = randomTime(random);
+                if (vtFrom == null && vtTo == null && ttFrom == null && ttTo == null) {
+                    continue;
+                }
+                int expected = 0;
+                for (long[] time : times) {
+                    if (intersects(time[0], time[1], vtFrom, vtTo) && intersects(time[2], time[3], ttFrom, ttTo)) {
+                        expected++;
+                    }
+                }
+                Query query = new BitemporalCondition(null, "name", vtFrom, vtTo, ttFrom, ttTo).doQuery(schema);
+                assertEquals("Query matches are wrong", expected, searcher.count(query));
+            }
+        }
+    }
+
     @Test(expected = IndexException.class)
     public void testQueryWithoutValidMapper() {
         Schema schema = schema().mapper("name", uuidMapper()).build();
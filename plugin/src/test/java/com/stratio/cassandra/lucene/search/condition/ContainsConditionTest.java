@@ -19,12 +19,19 @@ import com.stratio.cassandra.lucene.IndexException;
 import com.stratio.cassandra.lucene.schema.Schema;
 import com.stratio.cassandra.lucene.search.condition.builder.ContainsConditionBuilder;
 import com.stratio.cassandra.lucene.util.ByteBufferUtils;
-import org.apache.lucene.search.BooleanClause;
-import org.apache.lucene.search.BooleanQuery;
-import org.apache.lucene.search.Query;
-import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.queries.TermsQuery;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.NumericUtils;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.util.List;
 
 import static com.stratio.cassandra.lucene.schema.SchemaBuilders.*;
@@ -107,17 +114,43 @@ public class ContainsConditionTest extends AbstractConditionTest {
         ContainsCondition condition = contains("name", values).build();
         Query query = condition.doQuery(schema);
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", BooleanQuery.class, query.getClass());
+        assertEquals("Query type is wrong", TermsQuery.class, query.getClass());
+        assertEquals("Query is wrong",
+                     new TermsQuery("name",
+                                    ContainsCondition.term(0),
+                                    ContainsCondition.term(1),
+                                    ContainsCondition.term(2)),
+                     query);
+    }
 
-        BooleanQuery booleanQuery = (BooleanQuery) query;
-        List<BooleanClause> clauses = booleanQuery.clauses();
-        assertEquals("Query is wrong", values.length, clauses.size());
-        TermQuery query0 = (TermQuery) clauses.get(0).getQuery();
-        TermQuery query1 = (TermQuery) clauses.get(1).getQuery();
-        TermQuery query2 = (TermQuery) clauses.get(2).getQuery();
-        assertEquals("Query value is wrong", "600800000000", ByteBufferUtils.toHex(query0.getTerm().bytes()));
-        assertEquals("Query value is wrong", "600800000001", ByteBufferUtils.toHex(query1.getTerm().bytes()));
-        assertEquals("Query value is wrong", "600800000002", ByteBufferUtils.toHex(query2.getTerm().bytes()));
+    @Test
+    public void testQueryNumericDocValues() {
+
+        Object[] values = new Object[]{0, 1, 2};
+
+        Schema schema = schema().mapper("name", longMapper()).build();
+
+        ContainsCondition condition = contains("name", values).docValues(true).build();
+        Query query = condition.doQuery(schema);
+        assertNotNull("Query is not built", query);
+        assertEquals("Query type is wrong", DocValuesNumbersQuery.class, query.getClass());
+        assertEquals("Query is wrong", new DocValuesNumbersQuery("name", 0L, 1L, 2L), query);
+    }
+
+    @Test
+    public void testQueryFloat() {
+
+        Object[] values = new Object[]{0.5f, 1.5f};
+
+        Schema schema = schema().mapper("name", floatMapper()).build();
+
+        ContainsCondition condition = contains("name", values).build();
+        Query query = condition.doQuery(schema);
+        assertNotNull("Query is not built", query);
+        assertEquals("Query type is wrong", TermsQuery.class, query.getClass());
+        assertEquals("Query is wrong",
+                     new TermsQuery("name", ContainsCondition.term(0.5f), ContainsCondition.term(1.5f)),
+                     query);
     }
 
     @Test
@@ -130,14 +163,64 @@ public class ContainsConditionTest extends AbstractConditionTest {
         ContainsCondition condition = contains("name", values).build();
         Query query = condition.doQuery(schema);
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", BooleanQuery.class, query.getClass());
+        assertEquals("Query type is wrong", TermsQuery.class, query.getClass());
+        assertEquals("Query is wrong",
+                     new TermsQuery("name", new BytesRef("houses"), new BytesRef("cats")),
+                     query);
+    }
 
-        BooleanQuery booleanQuery = (BooleanQuery) query;
-        List<BooleanClause> clauses = booleanQuery.clauses();
-        TermQuery query1 = (TermQuery) clauses.get(0).getQuery();
-        TermQuery query2 = (TermQuery) clauses.get(1).getQuery();
-        assertEquals("Query is wrong", "houses", query1.getTerm().bytes().utf8ToString());
-        assertEquals("Query is wrong", "cats", query2.getTerm().bytes().utf8ToString());
+    @Test
+    public void testQueryStringDocValues() {
+
+        Object[] values = new Object[]{"houses", "cats"};
+
+        Schema schema = schema().mapper("name", stringMapper()).build();
+
+        ContainsCondition condition = contains("name", values).docValues(true).build();
+        Query query = condition.doQuery(schema);
+        assertNotNull("Query is not built", query);
+        assertEquals("Query type is wrong", DocValuesTermsQuery.class, query.getClass());
+        assertEquals("Query is wrong", new DocValuesTermsQuery("name", "houses", "cats"), query);
+    }
+
+    @Test
+    public void testTerm() {
+        assertEquals("Term is wrong", "600800000000", ByteBufferUtils.toHex(ContainsCondition.term(0)));
+        assertEquals("Term is wrong", "600800000001", ByteBufferUtils.toHex(ContainsCondition.term(1)));
+        assertEquals("Term is wrong", "houses", ContainsCondition.term("houses").utf8ToString());
+    }
+
+    @Test
+    public void testMatches() throws IOException {
+        Schema schema = schema().mapper("s", stringMapper())
+                                .mapper("i", integerMapper())
+                                .mapper("d", doubleMapper())
+                                .build();
+        RAMDirectory directory = new RAMDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()))) {
+            for (int i = 0; i < 100; i++) {
+                Document document = new Document();
+                document.add(new StringField("s", String.valueOf(i), Field.Store.NO));
+                document.add(new SortedSetDocValuesField("s", new BytesRef(String.valueOf(i))));
+                document.add(new IntField("i", i, Field.Store.NO));
+                document.add(new SortedNumericDocValuesField("i", i));
+                document.add(new DoubleField("d", i, Field.Store.NO));
+                document.add(new SortedNumericDocValuesField("d", NumericUtils.doubleToSortableLong(i)));
+                writer.addDocument(document);
+            }
+        }
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            IndexSearcher searcher = new IndexSearcher(reader);
+            for (boolean docValues : new boolean[]{false, true}) {
+                assertEquals("Matches are wrong", 3, searcher.count(
+                        contains("s", "1", "50", "99", "200").docValues(docValues).build().doQuery(schema)));
+                assertEquals("Matches are wrong", 3, searcher.count(
+                        contains("i", 1, 50, 99, 200, 50).docValues(docValues).build().doQuery(schema)));
+                assertEquals("Matches are wrong", 2, searcher.count(
+                        contains("d", 1.0, 1.5, 99.0).docValues(docValues).build().doQuery(schema)));
+            }
+        }
+        directory.close();
     }
 
     @Test
@@ -18,6 +18,7 @@ package com.stratio.cassandra.lucene.search.condition;
 import com.stratio.cassandra.lucene.IndexException;
 import com.stratio.cassandra.lucene.schema.Schema;
 import com.stratio.cassandra.lucene.search.condition.builder.FuzzyConditionBuilder;
+import com.stratio.cassandra.lucene.search.query.CachedFuzzyQuery;
 import org.apache.lucene.search.FuzzyQuery;
 import org.apache.lucene.search.Query;
 import org.junit.Test;
@@ -120,7 +121,7 @@ public class FuzzyConditionTest extends AbstractConditionTest {
         Query query = condition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", FuzzyQuery.class, query.getClass());
+        assertEquals("Query type is wrong", CachedFuzzyQuery.class, query.getClass());
 
         FuzzyQuery fuzzyQuery = (FuzzyQuery) query;
         assertEquals("Query field is wrong", "name", fuzzyQuery.getField());
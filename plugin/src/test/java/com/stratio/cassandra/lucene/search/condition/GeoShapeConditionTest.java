@@ -99,10 +99,23 @@ public class GeoShapeConditionTest extends AbstractConditionTest {
         Query query = condition.doQuery(schema);
         assertNotNull("Query is not built", query);
 
+        assertEquals("Query type is wrong", IntersectsRPTVerifyQuery.class, query.getClass());
+        assertEquals("Query is wrong", "IntersectsVerified(fieldName=)", query.toString());
+    }
+
+    @Test
+    public void testQueryIsWithInShape() {
+        Schema schema = schema().mapper("geo_shape", geoShapeMapper().maxLevels(8)).build();
+
+        Condition condition = new GeoShapeCondition(0.1f, "geo_shape", SHAPE, GeoOperation.IS_WITHIN);
+
+        Query query = condition.doQuery(schema);
+        assertNotNull("Query is not built", query);
+
         assertEquals("Query type is wrong", CompositeVerifyQuery.class, query.getClass());
         assertTrue("Query is wrong",
                    query.toString()
-                        .startsWith("CompositeVerifyQuery(IntersectsPrefixTreeQuery(fieldName=geo_point,queryShape="));
+                        .startsWith("CompositeVerifyQuery(IntersectsPrefixTreeQuery(fieldName=geo_shape,queryShape="));
     }
 
     @Test
@@ -91,6 +91,23 @@ public class LuceneConditionTest extends AbstractConditionTest {
         condition.query(schema);
     }
 
+    @Test
+    public void testQueryIsCached() {
+        Schema schema = schema().defaultAnalyzer("english").build();
+        Query query = new LuceneCondition(0.7f, "field_1", "field_2:houses").doQuery(schema);
+        assertSame("Query is not cached",
+                   query,
+                   new LuceneCondition(0.5f, "field_1", "field_2:houses").doQuery(schema));
+        assertNotSame("Query is wrongly cached",
+                      query,
+                      new LuceneCondition(0.7f, "field_3", "field_2:houses").doQuery(schema));
+        assertNotSame("Query is wrongly cached",
+                      query,
+                      new LuceneCondition(0.7f, "field_1", "field_2:houses").doQuery(schema().build()));
+        Query otherQuery = new LuceneCondition(0.7f, "field_1", "houses").doQuery(schema().build());
+        assertEquals("Query is wrong", "field_1:houses", otherQuery.toString());
+    }
+
     @Test
     public void testInvolvedFields() {
         assertEquals("Involved fields is wrong",
@@ -102,6 +119,9 @@ public class LuceneConditionTest extends AbstractConditionTest {
         assertEquals("Involved fields is wrong with complex expressions",
                      Sets.newHashSet(LuceneCondition.DEFAULT_FIELD, "date"),
                      lucene("\"jakarta apache\"^4 date:[20020101 TO 20030101]").build().postProcessingFields());
+        assertEquals("Involved fields is wrong with operators",
+                     Sets.newHashSet(LuceneCondition.DEFAULT_FIELD, "f1", "f2", "f3", "udt.f4", "map$key"),
+                     lucene("+f1:a (f2:b OR -f3:c) !udt.f4:d map$key:e").build().postProcessingFields());
     }
 
     @Test
@@ -18,6 +18,7 @@ package com.stratio.cassandra.lucene.search.condition;
 import com.stratio.cassandra.lucene.schema.Schema;
 import com.stratio.cassandra.lucene.search.condition.builder.PrefixConditionBuilder;
 import com.stratio.cassandra.lucene.search.condition.builder.RangeConditionBuilder;
+import com.stratio.cassandra.lucene.search.query.IndexOrDocValuesQuery;
 import org.apache.lucene.search.NumericRangeQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.TermRangeQuery;
@@ -127,9 +128,9 @@ public class RangeConditionTest extends AbstractConditionTest {
         Query query = rangeCondition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", TermRangeQuery.class, query.getClass());
+        assertEquals("Query type is wrong", IndexOrDocValuesQuery.class, query.getClass());
 
-        TermRangeQuery termRangeQuery = (TermRangeQuery) query;
+        TermRangeQuery termRangeQuery = (TermRangeQuery) ((IndexOrDocValuesQuery) query).getIndexQuery();
         assertEquals("Query field is wrong", "name", termRangeQuery.getField());
         assertEquals("Query lower is wrong", "alpha", termRangeQuery.getLowerTerm().utf8ToString());
         assertEquals("Query upper is wrong", "beta", termRangeQuery.getUpperTerm().utf8ToString());
@@ -146,9 +147,9 @@ public class RangeConditionTest extends AbstractConditionTest {
         Query query = rangeCondition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", TermRangeQuery.class, query.getClass());
+        assertEquals("Query type is wrong", IndexOrDocValuesQuery.class, query.getClass());
 
-        TermRangeQuery termRangeQuery = (TermRangeQuery) query;
+        TermRangeQuery termRangeQuery = (TermRangeQuery) ((IndexOrDocValuesQuery) query).getIndexQuery();
         assertEquals("Query field is wrong", "name", termRangeQuery.getField());
         assertEquals("Query lower is wrong", "alpha", termRangeQuery.getLowerTerm().utf8ToString());
         assertEquals("Query upper is wrong", null, termRangeQuery.getUpperTerm());
@@ -165,9 +166,9 @@ public class RangeConditionTest extends AbstractConditionTest {
         Query query = rangeCondition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", NumericRangeQuery.class, query.getClass());
+        assertEquals("Query type is wrong", IndexOrDocValuesQuery.class, query.getClass());
 
-        NumericRangeQuery<?> numericRangeQuery = (NumericRangeQuery<?>) query;
+        NumericRangeQuery<?> numericRangeQuery = (NumericRangeQuery<?>) ((IndexOrDocValuesQuery) query).getIndexQuery();
         assertEquals("Query field is wrong", "name", numericRangeQuery.getField());
         assertEquals("Query lower is wrong", 42, numericRangeQuery.getMin());
         assertEquals("Query upper is wrong", 43, numericRangeQuery.getMax());
@@ -184,9 +185,9 @@ public class RangeConditionTest extends AbstractConditionTest {
         Query query = rangeCondition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", NumericRangeQuery.class, query.getClass());
+        assertEquals("Query type is wrong", IndexOrDocValuesQuery.class, query.getClass());
 
-        NumericRangeQuery<?> numericRangeQuery = (NumericRangeQuery<?>) query;
+        NumericRangeQuery<?> numericRangeQuery = (NumericRangeQuery<?>) ((IndexOrDocValuesQuery) query).getIndexQuery();
         assertEquals("Query field is wrong", "name", numericRangeQuery.getField());
         assertEquals("Query lower is wrong", 42, numericRangeQuery.getMin());
         assertEquals("Query upper is wrong", null, numericRangeQuery.getMax());
@@ -203,9 +204,9 @@ public class RangeConditionTest extends AbstractConditionTest {
         Query query = rangeCondition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", NumericRangeQuery.class, query.getClass());
+        assertEquals("Query type is wrong", IndexOrDocValuesQuery.class, query.getClass());
 
-        NumericRangeQuery<?> numericRangeQuery = (NumericRangeQuery<?>) query;
+        NumericRangeQuery<?> numericRangeQuery = (NumericRangeQuery<?>) ((IndexOrDocValuesQuery) query).getIndexQuery();
         assertEquals("Query field is wrong", "name", numericRangeQuery.getField());
         assertEquals("Query lower is wrong", 42L, numericRangeQuery.getMin());
         assertEquals("Query upper is wrong", 43L, numericRangeQuery.getMax());
@@ -222,9 +223,9 @@ public class RangeConditionTest extends AbstractConditionTest {
         Query query = rangeCondition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", NumericRangeQuery.class, query.getClass());
+        assertEquals("Query type is wrong", IndexOrDocValuesQuery.class, query.getClass());
 
-        NumericRangeQuery<?> numericRangeQuery = (NumericRangeQuery<?>) query;
+        NumericRangeQuery<?> numericRangeQuery = (NumericRangeQuery<?>) ((IndexOrDocValuesQuery) query).getIndexQuery();
         assertEquals("Query field is wrong", "name", numericRangeQuery.getField());
         assertEquals("Query lower is wrong", 42L, numericRangeQuery.getMin());
         assertEquals("Query upper is wrong", null, numericRangeQuery.getMax());
@@ -241,9 +242,9 @@ public class RangeConditionTest extends AbstractConditionTest {
         Query query = rangeCondition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", NumericRangeQuery.class, query.getClass());
+        assertEquals("Query type is wrong", IndexOrDocValuesQuery.class, query.getClass());
 
-        NumericRangeQuery<?> numericRangeQuery = (NumericRangeQuery<?>) query;
+        NumericRangeQuery<?> numericRangeQuery = (NumericRangeQuery<?>) ((IndexOrDocValuesQuery) query).getIndexQuery();
         assertEquals("Query field is wrong", "name", numericRangeQuery.getField());
         assertEquals("Query lower is wrong", 42.42F, numericRangeQuery.getMin());
         assertEquals("Query upper is wrong", 43.42f, numericRangeQuery.getMax());
@@ -260,9 +261,9 @@ public class RangeConditionTest extends AbstractConditionTest {
         Query query = rangeCondition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", NumericRangeQuery.class, query.getClass());
+        assertEquals("Query type is wrong", IndexOrDocValuesQuery.class, query.getClass());
 
-        NumericRangeQuery<?> numericRangeQuery = (NumericRangeQuery<?>) query;
+        NumericRangeQuery<?> numericRangeQuery = (NumericRangeQuery<?>) ((IndexOrDocValuesQuery) query).getIndexQuery();
         assertEquals("Query field is wrong", "name", numericRangeQuery.getField());
         assertEquals("Query lower is wrong", 42.42f, numericRangeQuery.getMin());
         assertEquals("Query upper is wrong", null, numericRangeQuery.getMax());
@@ -279,9 +280,9 @@ public class RangeConditionTest extends AbstractConditionTest {
         Query query = rangeCondition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", NumericRangeQuery.class, query.getClass());
+        assertEquals("Query type is wrong", IndexOrDocValuesQuery.class, query.getClass());
 
-        NumericRangeQuery<?> numericRangeQuery = (NumericRangeQuery<?>) query;
+        NumericRangeQuery<?> numericRangeQuery = (NumericRangeQuery<?>) ((IndexOrDocValuesQuery) query).getIndexQuery();
         assertEquals("Query field is wrong", "name", numericRangeQuery.getField());
         assertEquals("Query lower is wrong", 42.42D, numericRangeQuery.getMin());
         assertEquals("Query upper is wrong", 43.42D, numericRangeQuery.getMax());
@@ -298,9 +299,9 @@ public class RangeConditionTest extends AbstractConditionTest {
         Query query = rangeCondition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", NumericRangeQuery.class, query.getClass());
+        assertEquals("Query type is wrong", IndexOrDocValuesQuery.class, query.getClass());
 
-        NumericRangeQuery<?> numericRangeQuery = (NumericRangeQuery<?>) query;
+        NumericRangeQuery<?> numericRangeQuery = (NumericRangeQuery<?>) ((IndexOrDocValuesQuery) query).getIndexQuery();
         assertEquals("Query field is wrong", "name", numericRangeQuery.getField());
         assertEquals("Query lower is wrong", 42.42D, numericRangeQuery.getMin());
         assertEquals("Query upper is wrong", null, numericRangeQuery.getMax());
@@ -318,9 +319,9 @@ public class RangeConditionTest extends AbstractConditionTest {
         Query query = rangeCondition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", TermRangeQuery.class, query.getClass());
+        assertEquals("Query type is wrong", IndexOrDocValuesQuery.class, query.getClass());
 
-        TermRangeQuery termRangeQuery = (TermRangeQuery) query;
+        TermRangeQuery termRangeQuery = (TermRangeQuery) ((IndexOrDocValuesQuery) query).getIndexQuery();
         assertEquals("Query field is wrong", "name", termRangeQuery.getField());
         assertEquals("Query lower is wrong", "192.168.0.1", termRangeQuery.getLowerTerm().utf8ToString());
         assertEquals("Query upper is wrong", "192.168.0.45", termRangeQuery.getUpperTerm().utf8ToString());
@@ -342,9 +343,9 @@ public class RangeConditionTest extends AbstractConditionTest {
         Query query = rangeCondition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", TermRangeQuery.class, query.getClass());
+        assertEquals("Query type is wrong", IndexOrDocValuesQuery.class, query.getClass());
 
-        TermRangeQuery termRangeQuery = (TermRangeQuery) query;
+        TermRangeQuery termRangeQuery = (TermRangeQuery) ((IndexOrDocValuesQuery) query).getIndexQuery();
         assertEquals("Query field is wrong", "name", termRangeQuery.getField());
         assertEquals("Query lower is wrong", "2001:db8:2de:0:0:0:0:e13", termRangeQuery.getLowerTerm().utf8ToString());
         assertEquals("Query upper is wrong", "2001:db8:2de:0:0:0:0:e23", termRangeQuery.getUpperTerm().utf8ToString());
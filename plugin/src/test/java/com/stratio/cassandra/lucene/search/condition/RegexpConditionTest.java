@@ -18,8 +18,8 @@ package com.stratio.cassandra.lucene.search.condition;
 import com.stratio.cassandra.lucene.IndexException;
 import com.stratio.cassandra.lucene.schema.Schema;
 import com.stratio.cassandra.lucene.search.condition.builder.RegexpConditionBuilder;
+import com.stratio.cassandra.lucene.search.query.CachedAutomatonQuery;
 import org.apache.lucene.search.Query;
-import org.apache.lucene.search.RegexpQuery;
 import org.junit.Test;
 
 import static com.stratio.cassandra.lucene.schema.SchemaBuilders.*;
@@ -76,8 +76,8 @@ public class RegexpConditionTest extends AbstractConditionTest {
         Query query = condition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", RegexpQuery.class, query.getClass());
-        RegexpQuery regexQuery = (RegexpQuery) query;
+        assertEquals("Query type is wrong", CachedAutomatonQuery.class, query.getClass());
+        CachedAutomatonQuery regexQuery = (CachedAutomatonQuery) query;
         assertEquals("Query field is wrong", "name", regexQuery.getField());
     }
 
@@ -90,8 +90,8 @@ public class RegexpConditionTest extends AbstractConditionTest {
         Query query = condition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", RegexpQuery.class, query.getClass());
-        RegexpQuery regexQuery = (RegexpQuery) query;
+        assertEquals("Query type is wrong", CachedAutomatonQuery.class, query.getClass());
+        CachedAutomatonQuery regexQuery = (CachedAutomatonQuery) query;
         assertEquals("Query field is wrong", "name", regexQuery.getField());
     }
 
@@ -113,8 +113,8 @@ public class RegexpConditionTest extends AbstractConditionTest {
         Query query = condition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", RegexpQuery.class, query.getClass());
-        RegexpQuery regexQuery = (RegexpQuery) query;
+        assertEquals("Query type is wrong", CachedAutomatonQuery.class, query.getClass());
+        CachedAutomatonQuery regexQuery = (CachedAutomatonQuery) query;
         assertEquals("Query field is wrong", "name", regexQuery.getField());
     }
 
@@ -127,8 +127,8 @@ public class RegexpConditionTest extends AbstractConditionTest {
         Query query = regexpCondition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Query type is wrong", RegexpQuery.class, query.getClass());
-        RegexpQuery regexQuery = (RegexpQuery) query;
+        assertEquals("Query type is wrong", CachedAutomatonQuery.class, query.getClass());
+        CachedAutomatonQuery regexQuery = (CachedAutomatonQuery) query;
         assertEquals("Query field is wrong", "name", regexQuery.getField());
     }
 
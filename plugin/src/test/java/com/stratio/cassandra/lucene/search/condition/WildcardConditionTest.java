@@ -19,8 +19,8 @@ import com.stratio.cassandra.lucene.IndexException;
 import com.stratio.cassandra.lucene.schema.Schema;
 import com.stratio.cassandra.lucene.search.SearchBuilders;
 import com.stratio.cassandra.lucene.search.condition.builder.WildcardConditionBuilder;
+import com.stratio.cassandra.lucene.search.query.CachedAutomatonQuery;
 import org.apache.lucene.search.Query;
-import org.apache.lucene.search.WildcardQuery;
 import org.junit.Test;
 
 import static com.stratio.cassandra.lucene.schema.SchemaBuilders.*;
@@ -77,8 +77,8 @@ public class WildcardConditionTest extends AbstractConditionTest {
         Query query = wildcardCondition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Expected wildcard query", WildcardQuery.class, query.getClass());
-        WildcardQuery wildcardQuery = (WildcardQuery) query;
+        assertEquals("Expected wildcard query", CachedAutomatonQuery.class, query.getClass());
+        CachedAutomatonQuery wildcardQuery = (CachedAutomatonQuery) query;
         assertEquals("Field name is not properly set", "name", wildcardQuery.getField());
         assertEquals("Term text is not properly set", " ", wildcardQuery.getTerm().text());
     }
@@ -92,8 +92,8 @@ public class WildcardConditionTest extends AbstractConditionTest {
         Query query = wildcardCondition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Expected wildcard query", WildcardQuery.class, query.getClass());
-        WildcardQuery wildcardQuery = (WildcardQuery) query;
+        assertEquals("Expected wildcard query", CachedAutomatonQuery.class, query.getClass());
+        CachedAutomatonQuery wildcardQuery = (CachedAutomatonQuery) query;
         assertEquals("Field name is not properly set", "name", wildcardQuery.getField());
         assertEquals("Term text is not properly set", "tr*", wildcardQuery.getTerm().text());
     }
@@ -116,8 +116,8 @@ public class WildcardConditionTest extends AbstractConditionTest {
         Query query = wildcardCondition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Expected wildcard query", WildcardQuery.class, query.getClass());
-        WildcardQuery wildcardQuery = (WildcardQuery) query;
+        assertEquals("Expected wildcard query", CachedAutomatonQuery.class, query.getClass());
+        CachedAutomatonQuery wildcardQuery = (CachedAutomatonQuery) query;
         assertEquals("Field name is not properly set", "name", wildcardQuery.getField());
         assertEquals("Term text is not properly set", "192.168.*", wildcardQuery.getTerm().text());
     }
@@ -131,12 +131,52 @@ public class WildcardConditionTest extends AbstractConditionTest {
         Query query = condition.doQuery(schema);
 
         assertNotNull("Query is not built", query);
-        assertEquals("Expected wildcard query", WildcardQuery.class, query.getClass());
-        WildcardQuery wildcardQuery = (WildcardQuery) query;
+        assertEquals("Expected wildcard query", CachedAutomatonQuery.class, query.getClass());
+        CachedAutomatonQuery wildcardQuery = (CachedAutomatonQuery) query;
         assertEquals("Field name is not properly set", "name", wildcardQuery.getField());
         assertEquals("Term text is not properly set", "2001:db8:2de:0:0:0:0:e*", wildcardQuery.getTerm().text());
     }
 
+    @Test
+    public void testReversedValue() {
+
+        Schema schema = schema().mapper("name", stringMapper().reversed(true)).build();
+
+        Query query = new WildcardCondition(0.5f, "name", "*house").doQuery(schema);
+        assertEquals("Expected wildcard query", CachedAutomatonQuery.class, query.getClass());
+        CachedAutomatonQuery wildcardQuery = (CachedAutomatonQuery) query;
+        assertEquals("Field name is not properly set", "name.reversed", wildcardQuery.getField());
+        assertEquals("Term text is not properly set", "esuoh*", wildcardQuery.getTerm().text());
+
+        query = new WildcardCondition(0.5f, "name", "*house*").doQuery(schema);
+        wildcardQuery = (CachedAutomatonQuery) query;
+        assertEquals("Field name is not properly set", "name", wildcardQuery.getField());
+        assertEquals("Term text is not properly set", "*house*", wildcardQuery.getTerm().text());
+    }
+
+    @Test
+    public void testNotReversedValue() {
+
+        Schema schema = schema().mapper("name", stringMapper()).build();
+
+        Query query = new WildcardCondition(0.5f, "name", "*house").doQuery(schema);
+        CachedAutomatonQuery wildcardQuery = (CachedAutomatonQuery) query;
+        assertEquals("Field name is not properly set", "name", wildcardQuery.getField());
+        assertEquals("Term text is not properly set", "*house", wildcardQuery.getTerm().text());
+    }
+
+    @Test
+    public void testIsReversible() {
+        assertTrue("Pattern should be reversible", WildcardCondition.isReversible("*house"));
+        assertTrue("Pattern should be reversible", WildcardCondition.isReversible("?ouse"));
+        assertTrue("Pattern should be reversible", WildcardCondition.isReversible("*ho?se"));
+        assertFalse("Pattern should not be reversible", WildcardCondition.isReversible("house*"));
+        assertFalse("Pattern should not be reversible", WildcardCondition.isReversible("*house*"));
+        assertFalse("Pattern should not be reversible", WildcardCondition.isReversible("*"));
+        assertFalse("Pattern should not be reversible", WildcardCondition.isReversible("*ho\\*se"));
+        assertFalse("Pattern should not be reversible", WildcardCondition.isReversible(""));
+    }
+
     @Test
     public void testToString() {
         WildcardCondition condition = SearchBuilders.wildcard("name", "aaa*").boost(0.5f).build();
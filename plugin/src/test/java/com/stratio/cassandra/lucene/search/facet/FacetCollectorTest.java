@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.search.facet;
+
+import com.stratio.cassandra.lucene.IndexException;
+import com.stratio.cassandra.lucene.column.Columns;
+import com.stratio.cassandra.lucene.schema.Schema;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.stratio.cassandra.lucene.schema.SchemaBuilders.*;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Class for testing {@link FacetCollector}.
+ */
+public class FacetCollectorTest {
+
+    private static final String[] BRANDS = {"acme", "acme", "acme", "globex", "globex", "initech"};
+
+    private static Schema schema;
+    private static RAMDirectory directory;
+    private static DirectoryReader reader;
+
+    @BeforeClass
+    public static void before() throws IOException {
+        schema = schema().mapper("brand", stringMapper())
+                         .mapper("price", doubleMapper())
+                         .mapper("stock", integerMapper())
+                         .mapper("name", textMapper())
+                         .build();
+        directory = new RAMDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()))) {
+            for (int i = 0; i < BRANDS.length; i++) {
+                Columns columns = new Columns().add("brand", BRANDS[i])
+                                               .add("price", i % 2 == 0 ? 9.5 : 20.0)
+                                               .add("stock", i)
+                                               .add("name", "product");
+                Document document = new Document();
+                schema.indexableFields(columns).forEach(document::add);
+                writer.addDocument(document);
+                if (i == 2) {
+                    writer.commit();
+                }
+            }
+        }
+        reader = DirectoryReader.open(directory);
+    }
+
+    @AfterClass
+    public static void after() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    private static Map<String, Map<Object, Long>> facets(Query query, Facet... facets) throws IOException {
+        FacetCollector collector = new FacetCollector(Arrays.asList(facets), schema);
+        new IndexSearcher(reader).search(query, collector);
+        return collector.facets();
+    }
+
+    private static Map<Object, Long> counts(Object... entries) {
+        Map<Object, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            counts.put(entries[i], ((Integer) entries[i + 1]).longValue());
+        }
+        return counts;
+    }
+
+    @Test
+    public void testTerms() throws IOException {
+        Map<String, Map<Object, Long>> facets = facets(new MatchAllDocsQuery(), new Facet("brand", null));
+        assertEquals("Facets are wrong", Collections.singleton("brand"), facets.keySet());
+        assertEquals("Counts are wrong", counts("acme", 3, "globex", 2, "initech", 1), facets.get("brand"));
+        List<Object> values = Arrays.asList(facets.get("brand").keySet().toArray());
+        assertEquals("Order is wrong", Arrays.asList("acme", "globex", "initech"), values);
+    }
+
+    @Test
+    public void testNumeric() throws IOException {
+        Map<String, Map<Object, Long>> facets = facets(new MatchAllDocsQuery(),
+                                                        new Facet("price", null),
+                                                        new Facet("stock", 2));
+        assertEquals("Double counts are wrong", counts(9.5, 3, 20.0, 3), facets.get("price"));
+        assertEquals("Integer counts are wrong", counts(0, 1, 1, 1), facets.get("stock"));
+    }
+
+    @Test
+    public void testFiltered() throws IOException {
+        Query query = new TermQuery(new Term("brand", "globex"));
+        Map<String, Map<Object, Long>> facets = facets(query, new Facet("brand", 1), new Facet("price", null));
+        assertEquals("Counts are wrong", counts("globex", 2), facets.get("brand"));
+        assertEquals("Counts are wrong", counts(9.5, 1, 20.0, 1), facets.get("price"));
+    }
+
+    @Test(expected = IndexException.class)
+    public void testUnsupportedField() {
+        new FacetCollector(Collections.singletonList(new Facet("name", null)), schema);
+    }
+
+    @Test(expected = IndexException.class)
+    public void testInvalidLimit() {
+        new Facet("brand", 0);
+    }
+}
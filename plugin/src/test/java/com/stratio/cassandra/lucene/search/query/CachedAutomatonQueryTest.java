@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.search.query;
+
+import com.stratio.cassandra.lucene.IndexException;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.RegexpQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Class for testing {@link CachedAutomatonQuery}.
+ */
+public class CachedAutomatonQueryTest {
+
+    private static final String[] VALUES = {"house", "houses", "mouse", "horse", "hose", "cat", "cats", "ca", ""};
+
+    private static RAMDirectory directory;
+    private static DirectoryReader reader;
+
+    @BeforeClass
+    public static void before() throws IOException {
+        directory = new RAMDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()))) {
+            for (String value : VALUES) {
+                Document document = new Document();
+                document.add(new StringField("f", value, Field.Store.NO));
+                writer.addDocument(document);
+            }
+        }
+        reader = DirectoryReader.open(directory);
+    }
+
+    @AfterClass
+    public static void after() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    @Test
+    public void testWildcard() throws IOException {
+        IndexSearcher searcher = new IndexSearcher(reader);
+        for (String pattern : new String[]{"*", "h*", "*se", "ho?se", "*ous*", "c?t*", "ca", "", "x*"}) {
+            CachedAutomatonQuery query = CachedAutomatonQuery.wildcard("f", pattern);
+            assertEquals("Wildcard matches are wrong",
+                         searcher.count(new WildcardQuery(new Term("f", pattern))),
+                         searcher.count(query));
+            assertEquals("Type is wrong", CachedAutomatonQuery.Type.WILDCARD, query.getType());
+            assertEquals("Term is wrong", new Term("f", pattern), query.getTerm());
+        }
+    }
+
+    @Test
+    public void testRegexp() throws IOException {
+        IndexSearcher searcher = new IndexSearcher(reader);
+        for (String pattern : new String[]{".*", "h.*", "[hm]ouses?", "ca(t|ts)?", "x.*"}) {
+            CachedAutomatonQuery query = CachedAutomatonQuery.regexp("f", pattern);
+            assertEquals("Regexp matches are wrong",
+                         searcher.count(new RegexpQuery(new Term("f", pattern))),
+                         searcher.count(query));
+            assertEquals("Type is wrong", CachedAutomatonQuery.Type.REGEXP, query.getType());
+        }
+    }
+
+    @Test(expected = IndexException.class)
+    public void testRegexpInvalid() {
+        CachedAutomatonQuery.regexp("f", "[a-");
+    }
+
+    @Test
+    public void testEquals() {
+        assertEquals("Equals is wrong",
+                     CachedAutomatonQuery.wildcard("f", "h*"),
+                     CachedAutomatonQuery.wildcard("f", "h*"));
+        assertEquals("Hash code is wrong",
+                     CachedAutomatonQuery.wildcard("f", "h*").hashCode(),
+                     CachedAutomatonQuery.wildcard("f", "h*").hashCode());
+        assertNotEquals("Equals is wrong",
+                        CachedAutomatonQuery.wildcard("f", "h*"),
+                        CachedAutomatonQuery.wildcard("g", "h*"));
+        assertNotEquals("Equals is wrong",
+                        CachedAutomatonQuery.wildcard("f", "h*"),
+                        CachedAutomatonQuery.regexp("f", "h*"));
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("Method #toString is wrong", "f:h*", CachedAutomatonQuery.wildcard("f", "h*").toString());
+        assertEquals("Method #toString is wrong", "h*", CachedAutomatonQuery.wildcard("f", "h*").toString("f"));
+        assertEquals("Method #toString is wrong", "f:/h.*/", CachedAutomatonQuery.regexp("f", "h.*").toString());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.search.query;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.FuzzyTermsEnum.LevenshteinAutomataAttribute;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.AttributeSource;
+import org.apache.lucene.util.automaton.CompiledAutomaton;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Class for testing {@link CachedFuzzyQuery}.
+ */
+public class CachedFuzzyQueryTest {
+
+    private static final String[] VALUES = {"house", "houses", "mouse", "horse", "hose", "hou\uD801\uDC00se", "cat"};
+
+    @Test
+    public void testMatches() throws IOException {
+        RAMDirectory directory = new RAMDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()))) {
+            for (String value : VALUES) {
+                Document document = new Document();
+                document.add(new StringField("f", value, Field.Store.NO));
+                writer.addDocument(document);
+                writer.commit();
+            }
+        }
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            IndexSearcher searcher = new IndexSearcher(reader);
+            for (String text : new String[]{"house", "hous", "hou\uD801\uDC00", "cat"}) {
+                for (int maxEdits = 0; maxEdits <= 2; maxEdits++) {
+                    for (int prefixLength : new int[]{0, 1, 4, 10}) {
+                        for (boolean transpositions : new boolean[]{false, true}) {
+                            Term term = new Term("f", text);
+                            Query expected = new FuzzyQuery(term, maxEdits, prefixLength, 50, transpositions);
+                            Query actual = new CachedFuzzyQuery(term, maxEdits, prefixLength, 50, transpositions);
+                            assertEquals("Fuzzy matches are wrong", searcher.count(expected), searcher.count(actual));
+                        }
+                    }
+                }
+            }
+        }
+        directory.close();
+    }
+
+    @Test
+    public void testExactMatchesSkipAutomata() throws IOException {
+        RAMDirectory directory = new RAMDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()))) {
+            Document document = new Document();
+            document.add(new StringField("f", "house", Field.Store.NO));
+            writer.addDocument(document);
+        }
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            Term term = new Term("f", "house");
+            assertTrue("Automata must not be built without edits",
+                       automata(new CachedFuzzyQuery(term, 0, 0, 50, true), reader).isEmpty());
+            assertTrue("Automata must not be built with a prefix covering the term",
+                       automata(new CachedFuzzyQuery(term, 2, 5, 50, true), reader).isEmpty());
+            assertFalse("Automata must be built with edits",
+                        automata(new CachedFuzzyQuery(term, 2, 4, 50, true), reader).isEmpty());
+        }
+        directory.close();
+    }
+
+    private static List<CompiledAutomaton> automata(CachedFuzzyQuery query, DirectoryReader reader) throws IOException {
+        AttributeSource atts = new AttributeSource();
+        query.getTermsEnum(MultiFields.getTerms(reader, "f"), atts);
+        return atts.addAttribute(LevenshteinAutomataAttribute.class).automata();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.search.query;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongField;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.*;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Class for testing {@link IndexOrDocValuesQuery}.
+ */
+public class IndexOrDocValuesQueryTest {
+
+    private static final int NUM_DOCS = 1000;
+
+    private static RAMDirectory directory;
+    private static DirectoryReader reader;
+
+    @BeforeClass
+    public static void before() throws IOException {
+        directory = new RAMDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()))) {
+            for (long i = 0; i < NUM_DOCS; i++) {
+                Document document = new Document();
+                document.add(new LongField("f", i, Field.Store.NO));
+                document.add(new SortedNumericDocValuesField("f", i));
+                document.add(new StringField("even", String.valueOf(i % 2 == 0), Field.Store.NO));
+                writer.addDocument(document);
+            }
+            writer.forceMerge(1);
+        }
+        reader = DirectoryReader.open(directory);
+    }
+
+    @AfterClass
+    public static void after() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    private static IndexOrDocValuesQuery query(long min, long max) {
+        return new IndexOrDocValuesQuery(NumericRangeQuery.newLongRange("f", min, max, true, true),
+                                         DocValuesRangeQuery.newLongRange("f", min, max, true, true));
+    }
+
+    private static int count(Query query) throws IOException {
+        return new IndexSearcher(reader).count(query);
+    }
+
+    private static int countEven(Query query) throws IOException {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        builder.add(new TermQuery(new Term("even", "true")), BooleanClause.Occur.FILTER);
+        builder.add(query, BooleanClause.Occur.FILTER);
+        return count(builder.build());
+    }
+
+    @Test
+    public void testUseIndex() throws IOException {
+        LeafReader leafReader = reader.leaves().get(0).reader();
+        assertTrue("Few terms should use the index", query(10, 12).useIndex(leafReader));
+        assertTrue("Few documents should use the index", query(0, 100).useIndex(leafReader));
+        assertFalse("Many documents should use doc values", query(0, 900).useIndex(leafReader));
+        assertTrue("Unknown fields should use the index",
+                   new IndexOrDocValuesQuery(NumericRangeQuery.newLongRange("g", 0L, 900L, true, true),
+                                             DocValuesRangeQuery.newLongRange("g", 0L, 900L, true, true))
+                           .useIndex(leafReader));
+    }
+
+    @Test
+    public void testUseIndexOncePerSegment() throws IOException {
+        final int[] calls = {0};
+        IndexOrDocValuesQuery query = new IndexOrDocValuesQuery(
+                NumericRangeQuery.newLongRange("f", 0L, 900L, true, true),
+                DocValuesRangeQuery.newLongRange("f", 0L, 900L, true, true)) {
+            @Override
+            boolean useIndex(LeafReader reader) throws IOException {
+                calls[0]++;
+                return super.useIndex(reader);
+            }
+        };
+        IndexSearcher searcher = new IndexSearcher(reader);
+        searcher.setQueryCache(null);
+        Weight weight = searcher.createNormalizedWeight(query, false);
+        for (LeafReaderContext context : reader.leaves()) {
+            weight.scorer(context);
+            weight.bulkScorer(context);
+            weight.explain(context, 0);
+        }
+        assertEquals("Terms should be enumerated once per segment", reader.leaves().size(), calls[0]);
+    }
+
+    @Test
+    public void testMatches() throws IOException {
+        long[][] ranges = {{10, 12}, {0, 100}, {0, 900}, {500, 2000}, {-10, -1}};
+        for (long[] range : ranges) {
+            IndexOrDocValuesQuery query = query(range[0], range[1]);
+            int expected = count(query.getIndexQuery());
+            assertEquals("Matches are wrong", expected, count(query.getDocValuesQuery()));
+            assertEquals("Matches are wrong", expected, count(query));
+            assertEquals("Matches are wrong", countEven(query.getIndexQuery()), countEven(query));
+        }
+    }
+
+    @Test
+    public void testScores() throws IOException {
+        IndexSearcher searcher = new IndexSearcher(reader);
+        TopDocs topDocs = searcher.search(query(0, 900), 10);
+        assertEquals("Matches are wrong", 901, topDocs.totalHits);
+    }
+
+    @Test
+    public void testEquals() {
+        assertEquals("Equals is wrong", query(0, 10), query(0, 10));
+        assertEquals("Hash code is wrong", query(0, 10).hashCode(), query(0, 10).hashCode());
+        assertNotEquals("Equals is wrong", query(0, 10), query(0, 11));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.search.sort;
+
+import com.spatial4j.core.distance.DistanceUtils;
+import com.spatial4j.core.shape.Point;
+import com.stratio.cassandra.lucene.schema.Schema;
+import com.stratio.cassandra.lucene.schema.mapping.GeoPointMapper;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.*;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static com.stratio.cassandra.lucene.common.GeospatialUtils.CONTEXT;
+import static com.stratio.cassandra.lucene.schema.SchemaBuilders.geoPointMapper;
+import static com.stratio.cassandra.lucene.schema.SchemaBuilders.schema;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Class for testing {@link GeoDistanceComparator}.
+ */
+public class GeoDistanceComparatorTest {
+
+    private static final double LATITUDE = 40.4165;
+    private static final double LONGITUDE = -3.70256;
+
+    private static double expectedDistance(double latitude, double longitude) {
+        Point point = CONTEXT.makePoint(LONGITUDE, LATITUDE);
+        return CONTEXT.calcDistance(point, longitude, latitude) * DistanceUtils.DEG_TO_KM;
+    }
+
+    private static void index(IndexWriter writer, GeoPointMapper mapper, double latitude, double longitude,
+                              boolean withLatLon) throws IOException {
+        Document document = new Document();
+        document.add(new StoredField("lat", latitude));
+        document.add(new StoredField("lon", longitude));
+        for (IndexableField field : mapper.strategy.createIndexableFields(CONTEXT.makePoint(longitude, latitude))) {
+            document.add(field);
+        }
+        if (withLatLon) {
+            document.add(new NumericDocValuesField(mapper.latLonField,
+                                                   GeoPointMapper.encodeLatLon(latitude, longitude)));
+        }
+        writer.addDocument(document);
+    }
+
+    private static void testSort(boolean reverse) throws IOException {
+        Schema schema = schema().mapper("point", geoPointMapper("lat", "lon").maxLevels(8)).build();
+        GeoPointMapper mapper = (GeoPointMapper) schema.mapper("point");
+        RAMDirectory directory = new RAMDirectory();
+        Random random = new Random(0);
+        int numDocs = 500;
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()))) {
+            for (int i = 0; i < numDocs; i++) {
+                double latitude = -90 + random.nextDouble() * 180;
+                double longitude = -180 + random.nextDouble() * 360;
+                index(writer, mapper, latitude, longitude, i % 5 != 0);
+                if (i % 100 == 0) {
+                    writer.commit();
+                }
+            }
+            writer.addDocument(new Document());
+        }
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            IndexSearcher searcher = new IndexSearcher(reader);
+            GeoDistanceSortField sortField = new GeoDistanceSortField("point", reverse, LATITUDE, LONGITUDE);
+            Sort sort = new Sort(sortField.sortField(schema));
+            int pageSize = 20;
+            FieldDoc after = null;
+            double last = reverse ? Double.MAX_VALUE : -1;
+            int count = 0;
+            do {
+                TopDocs topDocs = searcher.searchAfter(after, new MatchAllDocsQuery(), pageSize, sort);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    after = (FieldDoc) scoreDoc;
+                    double distance = (Double) after.fields[0];
+                    Document document = searcher.doc(scoreDoc.doc);
+                    IndexableField lat = document.getField("lat");
+                    IndexableField lon = document.getField("lon");
+                    double expected = lat == null
+                                      ? GeoDistanceComparator.MISSING_DISTANCE
+                                      : expectedDistance(lat.numericValue().doubleValue(),
+                                                         lon.numericValue().doubleValue());
+                    assertEquals("Distance is wrong", expected, distance, 1e-3);
+                    assertTrue("Sort is wrong", reverse ? distance <= last : distance >= last);
+                    last = distance;
+                    count++;
+                }
+                if (topDocs.scoreDocs.length < pageSize) {
+                    after = null;
+                }
+            } while (after != null);
+            assertEquals("Paging is wrong", numDocs + 1, count);
+        }
+    }
+
+    @Test
+    public void testSort() throws IOException {
+        testSort(false);
+    }
+
+    @Test
+    public void testSortReverse() throws IOException {
+        testSort(true);
+    }
+}
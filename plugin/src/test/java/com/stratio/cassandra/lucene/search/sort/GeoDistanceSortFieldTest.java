@@ -80,7 +80,7 @@ public class GeoDistanceSortFieldTest {
         assertEquals("SortField reverse is wrong", SortField.DEFAULT_REVERSE, luceneSortField.getReverse());
         assertEquals("SortField type is wrong",
                      luceneSortField.getType(),
-                     org.apache.lucene.search.SortField.Type.REWRITEABLE);
+                     org.apache.lucene.search.SortField.Type.CUSTOM);
     }
 
     @Test
@@ -59,6 +59,38 @@ class IndexOptionsTest extends BaseScalaTest {
     }.getMessage shouldBe s"'$REFRESH_SECONDS_OPTION' must be strictly positive, found: -1.0"
   }
 
+  // Min refresh seconds option tests
+
+  test("parse min refresh seconds option with default") {
+    parseMinRefresh(Map()) shouldBe DEFAULT_MIN_REFRESH_SECONDS
+  }
+
+  test("parse min refresh seconds option with decimal") {
+    parseMinRefresh(Map(MIN_REFRESH_SECONDS_OPTION -> "0.5")) shouldBe 0.5
+  }
+
+  test("parse min refresh seconds option with failing zero value") {
+    intercept[IndexException] {
+      parseMinRefresh(Map(MIN_REFRESH_SECONDS_OPTION -> "0"))
+    }.getMessage shouldBe s"'$MIN_REFRESH_SECONDS_OPTION' must be strictly positive, found: 0.0"
+  }
+
+  // Refresh pending docs option tests
+
+  test("parse refresh pending docs option with default") {
+    parseRefreshPendingDocs(Map()) shouldBe DEFAULT_REFRESH_PENDING_DOCS
+  }
+
+  test("parse refresh pending docs option with integer") {
+    parseRefreshPendingDocs(Map(REFRESH_PENDING_DOCS_OPTION -> "1000")) shouldBe 1000
+  }
+
+  test("parse refresh pending docs option with failing zero value") {
+    intercept[IndexException] {
+      parseRefreshPendingDocs(Map(REFRESH_PENDING_DOCS_OPTION -> "0"))
+    }.getMessage shouldBe s"'$REFRESH_PENDING_DOCS_OPTION' must be strictly positive, found: 0"
+  }
+
   // RAM buffer MB option tests
 
   test("parse RAM buffer MB option with default") {
@@ -93,6 +125,42 @@ class IndexOptionsTest extends BaseScalaTest {
     }.getMessage shouldBe s"'$RAM_BUFFER_MB_OPTION' must be strictly positive, found: -1"
   }
 
+  // Build RAM buffer MB option tests
+
+  test("parse build RAM buffer MB option with default") {
+    parseBuildRamBufferMB(Map()) shouldBe DEFAULT_BUILD_RAM_BUFFER_MB
+  }
+
+  test("parse build RAM buffer MB option with integer") {
+    parseBuildRamBufferMB(Map(BUILD_RAM_BUFFER_MB_OPTION -> "1")) shouldBe 1
+  }
+
+  test("parse build RAM buffer MB option with failing decimal") {
+    intercept[IndexException] {
+      parseBuildRamBufferMB(Map(BUILD_RAM_BUFFER_MB_OPTION -> "0.1"))
+    }.getMessage shouldBe
+      s"'$BUILD_RAM_BUFFER_MB_OPTION' must be a strictly positive integer, found: 0.1"
+  }
+
+  test("parse build RAM buffer MB option with failing non numeric value") {
+    intercept[IndexException] {
+      parseBuildRamBufferMB(Map(BUILD_RAM_BUFFER_MB_OPTION -> "a"))
+    }.getMessage shouldBe
+      s"'$BUILD_RAM_BUFFER_MB_OPTION' must be a strictly positive integer, found: a"
+  }
+
+  test("parse build RAM buffer MB option with failing zero value") {
+    intercept[IndexException] {
+      parseBuildRamBufferMB(Map(BUILD_RAM_BUFFER_MB_OPTION -> "0"))
+    }.getMessage shouldBe s"'$BUILD_RAM_BUFFER_MB_OPTION' must be strictly positive, found: 0"
+  }
+
+  test("parse build RAM buffer MB option with failing negative value") {
+    intercept[IndexException] {
+      parseBuildRamBufferMB(Map(BUILD_RAM_BUFFER_MB_OPTION -> "-1"))
+    }.getMessage shouldBe s"'$BUILD_RAM_BUFFER_MB_OPTION' must be strictly positive, found: -1"
+  }
+
   // Max merge MB option tests
 
   test("parse max merge MB option with default") {
@@ -267,4 +335,20 @@ class IndexOptionsTest extends BaseScalaTest {
     parsePartitioner(Map(PARTITIONER_OPTION -> json), null) shouldBe PartitionerOnToken(10)
   }
 
+  // Covering option tests
+
+  test("parse covering option with default") {
+    parseCovering(Map()) shouldBe DEFAULT_COVERING
+  }
+
+  test("parse covering option with true") {
+    parseCovering(Map(COVERING_OPTION -> "true")) shouldBe true
+  }
+
+  test("parse covering option with failing non boolean value") {
+    intercept[IndexException] {
+      parseCovering(Map(COVERING_OPTION -> "a"))
+    }.getMessage should startWith(s"'$COVERING_OPTION' is invalid")
+  }
+
 }
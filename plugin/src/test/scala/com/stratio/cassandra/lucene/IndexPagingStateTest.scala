@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene
+
+import com.stratio.cassandra.lucene.partitioning.PartitionerOnNone
+import com.stratio.cassandra.lucene.util.SingleRowPartitionIteratorTest.TestPartitions
+import org.junit.runner.RunWith
+import org.scalatestplus.junit.JUnitRunner
+
+/** Tests for [[IndexPagingState]]. */
+@RunWith(classOf[JUnitRunner])
+class IndexPagingStateTest extends BaseScalaTest {
+
+  def consume(state: IndexPagingState, limit: Int, partitions: TestPartitions): Int = {
+    val rows = state.track(partitions, limit, PartitionerOnNone(), _ => None)
+    var count = 0
+    while (rows.hasNext) {
+      val row = rows.next()
+      while (row.hasNext) row.next()
+      count += 1
+    }
+    rows.close()
+    count
+  }
+
+  test("track full page with remaining rows") {
+    val state = new IndexPagingState(10)
+    consume(state, 3, new TestPartitions(1 -> Seq(1, 2), 2 -> Seq(1))) shouldBe 3
+    state.remaining shouldBe 7
+    state.toPagingState should not be null
+  }
+
+  test("track incomplete page") {
+    val state = new IndexPagingState(10)
+    consume(state, 5, new TestPartitions(1 -> Seq(1, 2), 2 -> Seq(1))) shouldBe 3
+    state.remaining shouldBe 7
+    state.toPagingState shouldBe null
+  }
+
+  test("track last page") {
+    val state = new IndexPagingState(3)
+    consume(state, 3, new TestPartitions(1 -> Seq(1, 2), 2 -> Seq(1))) shouldBe 3
+    state.remaining shouldBe 0
+    state.toPagingState shouldBe null
+  }
+
+  test("track is updated while rows are consumed") {
+    val state = new IndexPagingState(10)
+    val rows = state.track(new TestPartitions(1 -> Seq(1, 2)), 2, PartitionerOnNone(), _ => None)
+    state.toPagingState shouldBe null
+    rows.next()
+    state.remaining shouldBe 9
+    state.toPagingState shouldBe null
+    rows.next()
+    state.remaining shouldBe 8
+    state.toPagingState should not be null
+    rows.hasNext shouldBe false
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene
+
+import com.stratio.cassandra.lucene.IndexPostProcessor._
+import org.junit.runner.RunWith
+import org.scalatestplus.junit.JUnitRunner
+
+import scala.util.Random
+
+/** Tests for [[IndexPostProcessor]]. */
+@RunWith(classOf[JUnitRunner])
+class IndexPostProcessorTest extends BaseScalaTest {
+
+  /** Rows are (sort key, position) pairs, so there are many ties in the sort key. */
+  val rows: IndexedSeq[(Int, Int)] = {
+    val random = new Random(0)
+    (0 until 100).map(position => (random.nextInt(10), position))
+  }
+
+  /** Stable top-k sort by key, breaking ties by position in the sorted sequence, as Lucene does
+    * with document ids.
+    */
+  def sort(limit: Int)(rows: IndexedSeq[(Int, Int)]): IndexedSeq[((Int, Int), Int)] = {
+    rows.sortBy(_._1).take(limit).map(row => (row, row._1))
+  }
+
+  test("merge in chunks equals single pass") {
+    for (limit <- Seq(1, 5, 10, 50, 100, 200); chunkSize <- Seq(1, 3, 7, 10, 99, 100, 1000)) {
+      val expected = sort(limit)(rows)
+      val actual = merge(rows.iterator, chunkSize)(sort(limit))
+      withClue(s"limit $limit, chunk size $chunkSize:") {
+        actual shouldBe expected
+      }
+    }
+  }
+
+  test("merge keeps earlier rows on ties across chunks") {
+    val ties = (0 until 10).map(position => (0, position))
+    merge(ties.iterator, 3)(sort(4)).map(_._1) shouldBe ties.take(4)
+  }
+
+  test("merge without rows") {
+    merge(Iterator.empty[(Int, Int)], 10)(sort(10)) shouldBe empty
+  }
+
+  test("merge reads rows in chunks") {
+    var sorted = Seq.empty[Int]
+    merge(rows.iterator, 30)(chunk => {
+      sorted :+= chunk.size
+      sort(10)(chunk)
+    })
+    sorted shouldBe Seq(30, 40, 40, 20)
+  }
+}
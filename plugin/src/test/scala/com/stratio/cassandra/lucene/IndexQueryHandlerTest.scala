@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene
+
+import com.stratio.cassandra.lucene.IndexQueryHandler._
+import org.junit.runner.RunWith
+import org.scalatestplus.junit.JUnitRunner
+
+/** Tests for [[IndexQueryHandler]]. */
+@RunWith(classOf[JUnitRunner])
+class IndexQueryHandlerTest extends BaseScalaTest {
+
+  test("sorted page size without post processing") {
+    sortedPageSize(false, true, false, 10, 100) shouldBe None
+    sortedPageSize(false, true, false, 100, 10) shouldBe None
+  }
+
+  test("sorted page size with paged top-k search") {
+    sortedPageSize(true, true, false, 10, 100) shouldBe Some(10)
+    sortedPageSize(true, false, false, 10, 100) shouldBe Some(10)
+  }
+
+  test("sorted page size with single page top-k key range search") {
+    sortedPageSize(true, true, false, 100, 10) shouldBe Some(10)
+    sortedPageSize(true, true, false, 0, 10) shouldBe Some(10)
+    sortedPageSize(true, true, false, -1, Int.MaxValue) shouldBe Some(Int.MaxValue)
+  }
+
+  test("sorted page size with single page top-k partition search") {
+    sortedPageSize(true, false, false, 100, 10) shouldBe None
+  }
+
+  test("sorted page size with single page top-k aggregation") {
+    sortedPageSize(true, true, true, 100, 10) shouldBe None
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene
+
+import com.stratio.cassandra.lucene.index.DocumentIterator
+import com.stratio.cassandra.lucene.mapping.LivenessMapper
+import org.apache.cassandra.config.DatabaseDescriptor
+import org.apache.cassandra.db._
+import org.apache.cassandra.db.filter.{ClusteringIndexFilter, ClusteringIndexSliceFilter, ColumnFilter}
+import org.apache.cassandra.db.marshal.Int32Type
+import org.apache.cassandra.db.rows._
+import org.apache.cassandra.dht.Murmur3Partitioner
+import org.apache.cassandra.schema.{ColumnMetadata, TableMetadata}
+import org.apache.cassandra.utils.ByteBufferUtil
+import org.apache.lucene.document.Document
+import org.apache.lucene.search.ScoreDoc
+import org.junit.runner.RunWith
+import org.mockito.Mockito._
+import org.scalatestplus.junit.JUnitRunner
+
+import scala.jdk.CollectionConverters._
+
+/** Tests for [[IndexReaderSkinny]]. */
+@RunWith(classOf[JUnitRunner])
+class IndexReaderSkinnyTest extends BaseScalaTest {
+
+  DatabaseDescriptor.clientInitialization()
+
+  val metadata: TableMetadata = TableMetadata.builder("ks", "t")
+    .partitioner(Murmur3Partitioner.instance)
+    .addPartitionKeyColumn("pk", Int32Type.instance)
+    .addRegularColumn("v", Int32Type.instance)
+    .build()
+  val column: ColumnMetadata = metadata.getColumn(ByteBufferUtil.bytes("v"))
+  val key: DecoratedKey = Murmur3Partitioner.instance.decorateKey(Int32Type.instance.decompose(1))
+  val now = 1000
+  val livenessMapper = new LivenessMapper
+
+  def command: ReadCommand = {
+    val command = mock(classOf[ReadCommand])
+    when(command.metadata).thenReturn(metadata)
+    when(command.nowInSec).thenReturn(now)
+    when(command.columnFilter).thenReturn(ColumnFilter.all(metadata))
+    when(command.clusteringIndexFilter(key)).thenReturn(
+      new ClusteringIndexSliceFilter(Slices.ALL, false))
+    command
+  }
+
+  def service(command: ReadCommand, covering: Boolean, document: Document): IndexServiceSkinny = {
+    val service = mock(classOf[IndexServiceSkinny])
+    when(service.covers(command)).thenReturn(covering)
+    when(service.decoratedKey(document)).thenReturn(key)
+    when(service.livenessMapper).thenReturn(livenessMapper)
+    service
+  }
+
+  def documents(document: Document): DocumentIterator = {
+    val documents = mock(classOf[DocumentIterator])
+    when(documents.hasNext).thenReturn(true, false)
+    when(documents.next).thenReturn((document, new ScoreDoc(0, 0)))
+    documents
+  }
+
+  def document(liveness: LivenessInfo): Document = {
+    val document = new Document
+    livenessMapper.indexableFields(BTreeRow.noCellLiveRow(Clustering.EMPTY, liveness)).foreach(document.add)
+    document
+  }
+
+  def row(liveness: LivenessInfo, value: Int): Row = {
+    val builder = BTreeRow.unsortedBuilder()
+    builder.newRow(Clustering.EMPTY)
+    builder.addPrimaryKeyLivenessInfo(liveness)
+    builder.addCell(BufferCell.live(column, 1, Int32Type.instance.decompose(value)))
+    builder.build()
+  }
+
+  /** Reader returning the specified rows when reading the table. */
+  class TestReader(covering: Boolean, document: Document, stored: Row*) {
+
+    val command: ReadCommand = IndexReaderSkinnyTest.this.command
+    var reads = 0
+
+    val reader = new IndexReaderSkinny(
+      service(command, covering, document), command, null, null, documents(document)) {
+      override protected def read(key: DecoratedKey, filter: ClusteringIndexFilter): UnfilteredRowIterator = {
+        reads += 1
+        covered(key, stored)
+      }
+    }
+
+    /** Returns the rows returned by the reader. */
+    def rows: Seq[Row] = {
+      try {
+        reader.asScala.flatMap(_.asScala.map(_.asInstanceOf[Row]).toList).toList
+      } finally reader.close()
+    }
+  }
+
+  test("covered read with live liveness") {
+    val liveness = LivenessInfo.create(1, now)
+    val reader = new TestReader(true, document(liveness))
+    reader.rows shouldBe Seq(BTreeRow.noCellLiveRow(Clustering.EMPTY, liveness))
+    reader.reads shouldBe 0
+  }
+
+  test("covered read with expired liveness falls back to table") {
+    val expired = LivenessInfo.expiring(1, 1, now - 10)
+    val liveness = LivenessInfo.create(2, now)
+    val reader = new TestReader(true, document(expired), row(liveness, 1))
+    reader.rows shouldBe Seq(BTreeRow.noCellLiveRow(Clustering.EMPTY, liveness))
+    reader.reads shouldBe 1
+  }
+
+  test("covered read without liveness falls back to table") {
+    val builder = BTreeRow.unsortedBuilder()
+    builder.newRow(Clustering.EMPTY)
+    builder.addCell(BufferCell.live(column, 1, Int32Type.instance.decompose(1)))
+    val stored = builder.build()
+    val reader = new TestReader(true, new Document, stored)
+    reader.rows shouldBe Seq(stored)
+    reader.reads shouldBe 1
+  }
+
+  test("not covered read") {
+    val liveness = LivenessInfo.create(1, now)
+    val stored = row(liveness, 1)
+    val reader = new TestReader(false, document(liveness), stored)
+    reader.rows shouldBe Seq(stored)
+    reader.reads shouldBe 1
+  }
+
+  test("not covered read of missing row") {
+    val reader = new TestReader(false, document(LivenessInfo.create(1, now)))
+    reader.rows shouldBe empty
+    reader.reads shouldBe 1
+  }
+}
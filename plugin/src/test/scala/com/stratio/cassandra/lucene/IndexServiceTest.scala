@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene
+
+import java.nio.file.Paths
+import java.util.Collections
+
+import com.stratio.cassandra.lucene.index.PartitionedIndex
+import com.stratio.cassandra.lucene.mapping.LivenessMapper
+import com.stratio.cassandra.lucene.schema.Schema
+import com.stratio.cassandra.lucene.schema.SchemaBuilders.{schema, stringMapper}
+import com.stratio.cassandra.lucene.search.Search
+import com.stratio.cassandra.lucene.search.facet.Facet
+import com.stratio.cassandra.lucene.util.Tracer
+import org.apache.cassandra.config.DatabaseDescriptor
+import org.apache.cassandra.db._
+import org.apache.cassandra.db.marshal.Int32Type
+import org.apache.cassandra.db.rows.{BTreeRow, BufferCell, Row}
+import org.apache.cassandra.dht.Murmur3Partitioner
+import org.apache.cassandra.schema.{ColumnMetadata, TableMetadata}
+import org.apache.cassandra.utils.ByteBufferUtil
+import org.apache.lucene.analysis.standard.StandardAnalyzer
+import org.apache.lucene.document._
+import org.apache.lucene.index.Term
+import org.apache.lucene.search.{MatchAllDocsQuery, Query, Sort, SortField}
+import org.apache.lucene.util.BytesRef
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.mockito.Matchers.{any, anyInt}
+import org.mockito.Mockito._
+import org.mockito.invocation.InvocationOnMock
+import org.mockito.stubbing.Answer
+import org.scalatestplus.junit.JUnitRunner
+
+/** Tests for the row inspection methods of [[IndexService]]. */
+@RunWith(classOf[JUnitRunner])
+class IndexServiceTest extends BaseScalaTest {
+
+  DatabaseDescriptor.clientInitialization()
+
+  val metadata: TableMetadata = TableMetadata.builder("ks", "t")
+    .partitioner(Murmur3Partitioner.instance)
+    .addPartitionKeyColumn("pk", Int32Type.instance)
+    .addRegularColumn("v", Int32Type.instance)
+    .addRegularColumn("w", Int32Type.instance)
+    .build()
+  val mapped: ColumnMetadata = metadata.getColumn(ByteBufferUtil.bytes("v"))
+  val unmapped: ColumnMetadata = metadata.getColumn(ByteBufferUtil.bytes("w"))
+  val key: DecoratedKey = Murmur3Partitioner.instance.decorateKey(Int32Type.instance.decompose(1))
+  val now = 1000
+
+  val service: IndexService = serviceWith(covering = false)
+
+  def serviceWith(covering: Boolean): IndexService = {
+    val options = mock(classOf[IndexOptions])
+    when(options.covering).thenReturn(covering)
+    val service = mock(classOf[IndexServiceSkinny])
+    when(service.options).thenReturn(options)
+    when(service.metadata).thenReturn(metadata)
+    when(service.mappedRegularColumns).thenReturn(Set(mapped))
+    when(service.needsReadBeforeWrite(any[DecoratedKey], any[Row])).thenCallRealMethod()
+    when(service.doesChangeIndex(any[Row], any[Row], anyInt)).thenCallRealMethod()
+    when(service.hasExpiredData(any[Row])).thenCallRealMethod()
+    service
+  }
+
+  def row(liveness: LivenessInfo, cells: (ColumnMetadata, Int)*): Row = {
+    val builder = BTreeRow.unsortedBuilder()
+    builder.newRow(Clustering.EMPTY)
+    builder.addPrimaryKeyLivenessInfo(liveness)
+    cells.foreach { case (column, value) =>
+      builder.addCell(BufferCell.live(column, liveness.timestamp, Int32Type.instance.decompose(value)))
+    }
+    builder.build()
+  }
+
+  def live(timestamp: Long): LivenessInfo = LivenessInfo.create(timestamp, now)
+
+  test("needs read before write with missing mapped column") {
+    service.needsReadBeforeWrite(key, row(live(1), unmapped -> 1)) shouldBe true
+  }
+
+  test("needs read before write with all mapped columns") {
+    service.needsReadBeforeWrite(key, row(live(1), mapped -> 1)) shouldBe false
+  }
+
+  test("needs read before write with covering index") {
+    serviceWith(covering = true).needsReadBeforeWrite(key, row(live(1), mapped -> 1)) shouldBe true
+  }
+
+  test("does change index with changed mapped column") {
+    service.doesChangeIndex(
+      row(live(1), mapped -> 1),
+      row(live(1), mapped -> 2), now) shouldBe true
+  }
+
+  test("does change index with changed unmapped column") {
+    service.doesChangeIndex(
+      row(live(1), mapped -> 1, unmapped -> 1),
+      row(live(1), mapped -> 1, unmapped -> 2), now) shouldBe false
+  }
+
+  test("does change index with changed liveness") {
+    val cell = BufferCell.live(mapped, 1, Int32Type.instance.decompose(1))
+    def rowWith(liveness: LivenessInfo) = {
+      val builder = BTreeRow.unsortedBuilder()
+      builder.newRow(Clustering.EMPTY)
+      builder.addPrimaryKeyLivenessInfo(liveness)
+      builder.addCell(cell)
+      builder.build()
+    }
+    service.doesChangeIndex(
+      rowWith(live(1)),
+      rowWith(LivenessInfo.expiring(2, 10, now)), now) shouldBe true
+  }
+
+  test("does change index with unchanged row") {
+    service.doesChangeIndex(row(live(1), mapped -> 1), row(live(1), mapped -> 1), now) shouldBe false
+  }
+
+  test("has expired data with expiring liveness") {
+    service.hasExpiredData(row(LivenessInfo.expiring(1, 10, now))) shouldBe true
+  }
+
+  test("has expired data with expiring cell") {
+    val builder = BTreeRow.unsortedBuilder()
+    builder.newRow(Clustering.EMPTY)
+    builder.addCell(BufferCell.expiring(mapped, 1, 10, now, Int32Type.instance.decompose(1)))
+    service.hasExpiredData(builder.build()) shouldBe true
+  }
+
+  test("has expired data without expiring data") {
+    service.hasExpiredData(row(live(1), mapped -> 1)) shouldBe false
+  }
+
+  /** Runs the specified function with a covering index service counting in a real Lucene index
+    * with documents having the specified liveness info, if any.
+    */
+  def doWithIndex(livenesses: Option[LivenessInfo]*)(f: (IndexService, Search) => Unit) {
+    doWithService(covering = true, livenesses, f)
+  }
+
+  /** Runs the specified function with a not covering index service counting in a real Lucene index
+    * with documents having the specified liveness info, if any.
+    */
+  def doWithUncoveredIndex(livenesses: Option[LivenessInfo]*)(f: (IndexService, Search) => Unit) {
+    doWithService(covering = false, livenesses, f)
+  }
+
+  def doWithService(
+      covering: Boolean,
+      livenesses: Seq[Option[LivenessInfo]],
+      f: (IndexService, Search) => Unit) {
+    val folder = new TemporaryFolder
+    folder.create()
+    val lucene = new PartitionedIndex(
+      1,
+      "test_index",
+      Paths.get(folder.newFolder("directory").getPath),
+      new StandardAnalyzer,
+      IndexOptions.DEFAULT_REFRESH_SECONDS,
+      IndexOptions.DEFAULT_RAM_BUFFER_MB,
+      IndexOptions.DEFAULT_MAX_MERGE_MB,
+      IndexOptions.DEFAULT_MAX_CACHED_MB,
+      IndexOptions.DEFAULT_MIN_REFRESH_SECONDS,
+      IndexOptions.DEFAULT_REFRESH_PENDING_DOCS)
+    try {
+      lucene.init(new Sort(new SortField("id", SortField.Type.STRING)), Collections.singleton("id"))
+      val mapper = new LivenessMapper
+      livenesses.zipWithIndex.foreach { case (liveness, id) =>
+        val document = new Document
+        document.add(new StringField("id", id.toString, Field.Store.YES))
+        document.add(new SortedDocValuesField("id", new BytesRef(id.toString)))
+        liveness.foreach(info => mapper.indexableFields(BTreeRow.noCellLiveRow(Clustering.EMPTY, info))
+          .foreach(document.add))
+        lucene.upsert(0, new Term("id", id.toString), document)
+      }
+      lucene.refresh()
+
+      // Trait values aren't initialized by mocks
+      val service = mock(classOf[IndexServiceSkinny], new Answer[AnyRef] {
+        override def answer(invocation: InvocationOnMock): AnyRef = {
+          if (invocation.getMethod.getName.endsWith("tracer")) new Tracer
+          else RETURNS_DEFAULTS.answer(invocation)
+        }
+      })
+      val options = mock(classOf[IndexOptions])
+      when(options.covering).thenReturn(covering)
+      when(service.options).thenReturn(options)
+      when(service.metadata).thenReturn(metadata)
+      when(service.schema).thenReturn(schema().mapper("id", stringMapper()).build)
+      when(service.livenessMapper).thenReturn(mapper)
+      when(service.lucene).thenReturn(lucene)
+      when(service.count(any[Search], anyInt)).thenCallRealMethod()
+      when(service.facets(any[Search], anyInt)).thenCallRealMethod()
+      val search = mock(classOf[Search])
+      when(search.query(any[Schema], any[Query])).thenReturn(new MatchAllDocsQuery)
+      when(search.facets).thenReturn(Collections.singletonList(new Facet("id", null)))
+      f(service, search)
+    } finally {
+      lucene.close()
+      folder.delete()
+    }
+  }
+
+  test("count live rows") {
+    doWithIndex(Some(live(1)), Some(LivenessInfo.expiring(1, 10, now))) { (service, search) =>
+      service.count(search, now) shouldBe Some(2)
+    }
+  }
+
+  test("count rows with expired liveness") {
+    doWithIndex(Some(live(1)), Some(LivenessInfo.expiring(1, 10, now - 20))) { (service, search) =>
+      service.count(search, now) shouldBe None
+    }
+  }
+
+  test("count rows without liveness") {
+    doWithIndex(Some(live(1)), None) { (service, search) =>
+      service.count(search, now) shouldBe None
+    }
+  }
+
+  test("count without rows") {
+    doWithIndex() { (service, search) =>
+      service.count(search, now) shouldBe Some(0)
+    }
+  }
+
+  def facets(values: Int*): java.util.Map[String, java.util.Map[AnyRef, java.lang.Long]] = {
+    val counts = new java.util.LinkedHashMap[AnyRef, java.lang.Long]
+    values.foreach(value => counts.put(value.toString, 1L))
+    Collections.singletonMap("id", counts)
+  }
+
+  test("facets of live rows") {
+    doWithIndex(Some(live(1)), Some(LivenessInfo.expiring(1, 10, now))) { (service, search) =>
+      service.facets(search, now) shouldBe ((facets(0, 1), true))
+    }
+  }
+
+  test("facets of rows with expired liveness") {
+    doWithIndex(Some(live(1)), Some(LivenessInfo.expiring(1, 10, now - 20))) { (service, search) =>
+      service.facets(search, now) shouldBe ((facets(0, 1), false))
+    }
+  }
+
+  test("facets of rows without liveness") {
+    doWithIndex(Some(live(1)), None) { (service, search) =>
+      service.facets(search, now) shouldBe ((facets(0, 1), false))
+    }
+  }
+
+  test("facets of rows without covering") {
+    doWithUncoveredIndex(Some(live(1)), Some(live(2))) { (service, search) =>
+      service.facets(search, now) shouldBe ((facets(0, 1), false))
+    }
+  }
+}
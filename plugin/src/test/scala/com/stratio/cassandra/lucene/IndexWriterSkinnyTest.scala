@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene
+
+import org.apache.cassandra.config.DatabaseDescriptor
+import org.apache.cassandra.db._
+import org.apache.cassandra.db.marshal.Int32Type
+import org.apache.cassandra.db.rows.{BTreeRow, Row, RowIterator, Rows}
+import org.apache.cassandra.dht.Murmur3Partitioner
+import org.apache.cassandra.index.transactions.IndexTransaction
+import org.apache.cassandra.schema.TableMetadata
+import org.junit.runner.RunWith
+import org.mockito.Matchers.{any, anyInt, eq => same}
+import org.mockito.Mockito._
+import org.scalatestplus.junit.JUnitRunner
+
+/** Tests for [[IndexWriterSkinny]]. */
+@RunWith(classOf[JUnitRunner])
+class IndexWriterSkinnyTest extends BaseScalaTest {
+
+  DatabaseDescriptor.clientInitialization()
+
+  val metadata: TableMetadata = TableMetadata.builder("ks", "t")
+    .partitioner(Murmur3Partitioner.instance)
+    .addPartitionKeyColumn("pk", Int32Type.instance)
+    .build()
+  val key: DecoratedKey = Murmur3Partitioner.instance.decorateKey(Int32Type.instance.decompose(1))
+  val now = 1000
+
+  def service: IndexServiceSkinny = serviceWith(covering = false)
+
+  def serviceWith(covering: Boolean): IndexServiceSkinny = {
+    val options = mock(classOf[IndexOptions])
+    when(options.covering).thenReturn(covering)
+    val service = mock(classOf[IndexServiceSkinny])
+    when(service.options).thenReturn(options)
+    when(service.metadata).thenReturn(metadata)
+    when(service.doesAffectIndex(any[Row])).thenReturn(true)
+    when(service.needsReadBeforeWrite(any[DecoratedKey], any[Row])).thenReturn(false)
+    service
+  }
+
+  def row(timestamp: Long): Row = BTreeRow.noCellLiveRow(
+    Clustering.EMPTY,
+    LivenessInfo.create(timestamp, now))
+
+  /** Writer reading the specified rows from the storage. */
+  class TestWriter(
+      service: IndexServiceSkinny,
+      stored: Seq[Row] = Seq.empty,
+      transactionType: IndexTransaction.Type = IndexTransaction.Type.UPDATE)
+    extends IndexWriterSkinny(service, key, now, null, transactionType) {
+
+    var reads = 0
+
+    override protected def read(command: SinglePartitionReadCommand): RowIterator = {
+      reads += 1
+      new RowIterator {
+        private[this] val rows = stored.iterator
+        override def metadata: TableMetadata = TestWriter.this.metadata
+        override def isReverseOrder: Boolean = false
+        override def columns: RegularAndStaticColumns = RegularAndStaticColumns.NONE
+        override def partitionKey: DecoratedKey = key
+        override def staticRow: Row = Rows.EMPTY_STATIC_ROW
+        override def hasNext: Boolean = rows.hasNext
+        override def next: Row = rows.next
+        override def close() {}
+      }
+    }
+  }
+
+  test("commit without read before write") {
+    val s = service
+    val writer = new TestWriter(s)
+    writer.insertRow(row(1))
+    writer.commit()
+    writer.reads shouldBe 0
+    verify(s).upsert(same(key), any[Row], same(now))
+    verify(s, never).delete(key)
+  }
+
+  test("commit with read before write of missing row") {
+    val s = service
+    when(s.needsReadBeforeWrite(any[DecoratedKey], any[Row])).thenReturn(true)
+    val writer = new TestWriter(s)
+    writer.insertRow(row(1))
+    writer.commit()
+    writer.reads shouldBe 1
+    verify(s, never).upsert(any[DecoratedKey], any[Row], anyInt)
+    verify(s).delete(key)
+  }
+
+  test("commit deferred insert absorbed by delete with missing row") {
+    val s = service
+    val insert = new TestWriter(s)
+    insert.insertRow(row(1))
+    val delete = new TestWriter(s)
+    delete.partitionDelete(new DeletionTime(2L, now))
+    val merged = delete.defer(Some(insert))
+    merged shouldBe delete
+    merged.commit()
+    delete.reads shouldBe 1
+    verify(s, never).upsert(any[DecoratedKey], any[Row], anyInt)
+    verify(s, times(2)).delete(key)
+  }
+
+  test("commit deferred insert absorbed by delete with surviving row") {
+    val s = service
+    val insert = new TestWriter(s, Seq(row(3)))
+    insert.insertRow(row(3))
+    val delete = new TestWriter(s, Seq(row(3)))
+    delete.partitionDelete(new DeletionTime(2L, now))
+    delete.defer(Some(insert)).commit()
+    delete.reads shouldBe 1
+    verify(s).upsert(same(key), any[Row], same(now))
+  }
+
+  test("commit deferred delete absorbed by insert") {
+    val s = service
+    val delete = new TestWriter(s)
+    delete.partitionDelete(new DeletionTime(1L, now))
+    val insert = new TestWriter(s, Seq(row(2)))
+    insert.insertRow(row(2))
+    insert.defer(Some(delete)).commit()
+    insert.reads shouldBe 1
+    verify(s).delete(key)
+    verify(s).upsert(same(key), any[Row], same(now))
+  }
+
+  test("compaction skips removed row without expired data") {
+    val s = service
+    when(s.hasExpiredData(any[Row])).thenReturn(false)
+    val writer = new TestWriter(s, Seq(row(1)), IndexTransaction.Type.COMPACTION)
+    writer.removeRow(row(1))
+    writer.commit()
+    writer.reads shouldBe 0
+    verify(s, never).upsert(any[DecoratedKey], any[Row], anyInt)
+    verify(s, never).delete(key)
+  }
+
+  test("compaction reindexes removed row with expired data") {
+    val s = service
+    when(s.hasExpiredData(any[Row])).thenReturn(true)
+    val writer = new TestWriter(s, Seq.empty, IndexTransaction.Type.COMPACTION)
+    writer.removeRow(row(1))
+    writer.commit()
+    writer.reads shouldBe 1
+    verify(s).delete(key)
+  }
+
+  test("compaction skips removed row of covering index without expired data") {
+    val s = serviceWith(covering = true)
+    when(s.hasExpiredData(any[Row])).thenReturn(false)
+    val writer = new TestWriter(s, Seq(row(1)), IndexTransaction.Type.COMPACTION)
+    writer.removeRow(row(1))
+    writer.commit()
+    writer.reads shouldBe 0
+    verify(s, never).upsert(any[DecoratedKey], any[Row], anyInt)
+    verify(s, never).delete(key)
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene
+
+import org.apache.cassandra.db.PartitionPosition
+import org.apache.cassandra.dht.Murmur3Partitioner.LongToken
+import org.apache.cassandra.dht.{AbstractBounds, Bounds, Murmur3Partitioner, Range}
+import org.junit.runner.RunWith
+import org.scalatestplus.junit.JUnitRunner
+
+/** Tests for [[RangeBounds]]. */
+@RunWith(classOf[JUnitRunner])
+class RangeBoundsTest extends BaseScalaTest {
+
+  private def position(token: Long): PartitionPosition = new LongToken(token).maxKeyBound
+
+  private def range(left: Long, right: Long): AbstractBounds[PartitionPosition] =
+    new Range[PartitionPosition](position(left), position(right))
+
+  private val min: PartitionPosition = Murmur3Partitioner.instance.getMinimumToken.minKeyBound
+
+  private val first = new Bounds[PartitionPosition](min, position(-100))
+  private val second = range(-100, 0)
+  private val third = range(0, 100)
+  private val last = new Range[PartitionPosition](position(100), min)
+
+  test("find in sorted bounds") {
+    val bounds = RangeBounds(IndexedSeq(first, second, third, last))
+    bounds.find(position(-200)) shouldBe Some(first)
+    bounds.find(position(-100)) shouldBe Some(first)
+    bounds.find(position(-50)) shouldBe Some(second)
+    bounds.find(position(0)) shouldBe Some(second)
+    bounds.find(position(50)) shouldBe Some(third)
+    bounds.find(position(101)) shouldBe Some(last)
+    bounds.find(position(Long.MaxValue)) shouldBe Some(last)
+  }
+
+  test("find in unsorted bounds") {
+    val bounds = RangeBounds(IndexedSeq(last, third, first, second))
+    bounds.find(position(-200)) shouldBe Some(first)
+    bounds.find(position(-50)) shouldBe Some(second)
+    bounds.find(position(50)) shouldBe Some(third)
+    bounds.find(position(200)) shouldBe Some(last)
+  }
+
+  test("find out of bounds") {
+    val bounds = RangeBounds(IndexedSeq(second, third))
+    bounds.find(position(-200)) shouldBe None
+    bounds.find(position(200)) shouldBe None
+    RangeBounds(IndexedSeq.empty).find(position(0)) shouldBe None
+  }
+}
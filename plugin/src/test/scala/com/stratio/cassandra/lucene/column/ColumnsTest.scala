@@ -100,6 +100,18 @@ class ColumnsTest extends BaseScalaTest {
     Columns(Column("c1")).add("c2", 1) shouldBe Columns(Column("c1"), Column("c2").withValue(1))
   }
 
+  test("builder") {
+    val builder = Columns.builder
+    builder += Column("c1")
+    builder ++= Columns(Column("c2"), Column("c3"))
+    builder += Column("c4")
+    builder.build shouldBe Columns(Column("c1"), Column("c2"), Column("c3"), Column("c4"))
+  }
+
+  test("empty builder") {
+    Columns.builder.build shouldBe Columns()
+  }
+
   test("toString empty") {
     Columns().toString shouldBe "Columns{}"
   }
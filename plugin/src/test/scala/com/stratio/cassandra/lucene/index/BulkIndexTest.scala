@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.index
+
+import java.nio.file.Files
+
+import com.stratio.cassandra.lucene.BaseScalaTest
+import org.apache.lucene.analysis.standard.StandardAnalyzer
+import org.apache.lucene.document._
+import org.apache.lucene.index.DirectoryReader
+import org.apache.lucene.search._
+import org.apache.lucene.util.BytesRef
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.scalatestplus.junit.JUnitRunner
+
+/** Tests for [[BulkIndex]]. */
+@RunWith(classOf[JUnitRunner])
+class BulkIndexTest extends BaseScalaTest {
+
+  val sort = new Sort(new SortedSetSortField("field", false))
+
+  def doWithFolder(f: TemporaryFolder => Unit): Unit = {
+    val temporaryFolder = new TemporaryFolder
+    temporaryFolder.create()
+    try f.apply(temporaryFolder) finally temporaryFolder.delete()
+  }
+
+  def document(value: String): Document = {
+    val document = new Document
+    document.add(new StringField("field", value, Field.Store.NO))
+    document.add(new SortedSetDocValuesField("field", new BytesRef(value)))
+    document
+  }
+
+  test("finish commits all the documents") {
+    doWithFolder(folder => {
+      val path = folder.newFolder.toPath.resolve("bulk")
+      val bulk = new BulkIndex(path, new StandardAnalyzer, sort, 1)
+      (0 until 1000).foreach(i => bulk.add(document(s"value$i")))
+      bulk.finish()
+      val reader = DirectoryReader.open(bulk.directory)
+      try {
+        reader.numDocs shouldBe 1000
+      } finally reader.close()
+      bulk.delete()
+      Files.exists(path) shouldBe false
+    })
+  }
+
+  test("delete without finish discards the documents") {
+    doWithFolder(folder => {
+      val path = folder.newFolder.toPath.resolve("bulk")
+      val bulk = new BulkIndex(path, new StandardAnalyzer, sort, 1)
+      bulk.add(document("value"))
+      bulk.delete()
+      Files.exists(path) shouldBe false
+    })
+  }
+}
@@ -28,6 +28,8 @@ import org.apache.lucene.util.BytesRef
 import org.junit.Assert.assertEquals
 import org.junit.rules.TemporaryFolder
 import org.junit.runner.RunWith
+import org.scalatest.concurrent.Eventually._
+import org.scalatest.time.{Millis, Seconds, Span}
 import org.scalatestplus.junit.JUnitRunner
 
 /** Tests for [[FSIndex]].
@@ -48,6 +50,10 @@ class FSIndexTest extends BaseScalaTest {
   }
 
   def doWithIndex(f: FSIndex => Unit): Unit = {
+    doWithIndex(REFRESH_SECONDS, DEFAULT_REFRESH_PENDING_DOCS)(f)
+  }
+
+  def doWithIndex(refreshSeconds: Double, refreshPendingDocs: Int)(f: FSIndex => Unit): Unit = {
     val temporaryFolder = new TemporaryFolder
     temporaryFolder.create()
     try {
@@ -55,10 +61,12 @@ class FSIndexTest extends BaseScalaTest {
         "test_index",
         Paths.get(temporaryFolder.newFolder("directory" + UUID.randomUUID).getPath),
         new StandardAnalyzer,
-        REFRESH_SECONDS,
+        refreshSeconds,
         DEFAULT_RAM_BUFFER_MB,
         DEFAULT_MAX_MERGE_MB,
-        DEFAULT_MAX_CACHED_MB)
+        DEFAULT_MAX_CACHED_MB,
+        DEFAULT_MIN_REFRESH_SECONDS,
+        refreshPendingDocs)
       f.apply(index)
     } finally temporaryFolder.delete()
   }
@@ -114,4 +122,143 @@ class FSIndexTest extends BaseScalaTest {
       })
   }
 
+  test("await refresh") {
+    doWithIndex(
+      index => {
+        val sort = new Sort(new SortedSetSortField("field", false))
+        val fields = Collections.singleton("field")
+        index.init(sort, fields)
+
+        val term = new Term("field", "value")
+        val document = new Document
+        document.add(new StringField("field", "value", Field.Store.NO))
+        document.add(new SortedSetDocValuesField("field", new BytesRef("value")))
+        index.upsert(term, document)
+        index.awaitRefresh()
+        assertEquals("Expected 1 document", 1, index.getNumDocs)
+
+        index.delete(term)
+        index.awaitRefresh()
+        assertEquals("Expected 0 documents", 0, index.getNumDocs)
+
+        index.delete()
+      })
+  }
+
+  test("early refresh after pending docs") {
+    doWithIndex(3600, 3)(
+      index => {
+        val sort = new Sort(new SortedSetSortField("field", false))
+        val fields = Collections.singleton("field")
+        index.init(sort, fields)
+
+        def upsert(value: String): Unit = {
+          val document = new Document
+          document.add(new StringField("field", value, Field.Store.NO))
+          document.add(new SortedSetDocValuesField("field", new BytesRef(value)))
+          index.upsert(new Term("field", value), document)
+        }
+
+        upsert("value1")
+        upsert("value2")
+        assertEquals("Writes below the threshold must not be refreshed", 0, index.getNumDocs)
+
+        // Polling the searcher doesn't request refreshes, differently to waiting for generations
+        upsert("value3")
+        eventually(timeout(Span(10, Seconds)), interval(Span(10, Millis))) {
+          assertEquals("Writes reaching the threshold must be refreshed", 3, index.getNumDocs)
+        }
+
+        index.delete()
+      })
+  }
+
+  test("wait for generation") {
+    doWithIndex(
+      index => {
+        val sort = new Sort(new SortedSetSortField("field", false))
+        val fields = Collections.singleton("field")
+        index.init(sort, fields)
+
+        val document1 = new Document
+        document1.add(new StringField("field", "value1", Field.Store.NO))
+        document1.add(new SortedSetDocValuesField("field", new BytesRef("value1")))
+        val generation1 = index.upsert(new Term("field", "value1"), document1)
+
+        val document2 = new Document
+        document2.add(new StringField("field", "value2", Field.Store.NO))
+        document2.add(new SortedSetDocValuesField("field", new BytesRef("value2")))
+        val generation2 = index.upsert(new Term("field", "value2"), document2)
+
+        // Generations are only increased by refreshes, so writes between them share generation
+        assert(generation2 >= generation1, "Generations must not decrease")
+        assertEquals("Expected last generation", generation2, index.generation)
+        index.waitForGeneration(generation2)
+        assertEquals("Expected 2 documents", 2, index.getNumDocs)
+        Thread.sleep(WAIT_MILLISECONDS)
+        assertEquals("Expected 2 documents", 2, index.getNumDocs)
+
+        index.delete()
+      })
+  }
+
+  test("estimate") {
+    doWithIndex(
+      index => {
+        val sort = new Sort(new SortedSetSortField("field", false))
+        val fields = Collections.singleton("field")
+        index.init(sort, fields)
+
+        assertEquals("Empty index estimate is wrong", 0, index.estimate(new MatchAllDocsQuery, 4))
+
+        for (i <- 0 until 100) {
+          val value = "value" + i
+          val document = new Document
+          document.add(new StringField("field", value, Field.Store.NO))
+          document.add(new StringField("even", (i % 2 == 0).toString, Field.Store.NO))
+          document.add(new SortedSetDocValuesField("field", new BytesRef(value)))
+          index.upsert(new Term("field", value), document)
+          if (i % 10 == 9) index.commit()
+        }
+        index.awaitRefresh()
+
+        assertEquals("Match all estimate is wrong", 100, index.estimate(new MatchAllDocsQuery, 100))
+        assertEquals("Term estimate is wrong", 50, index.estimate(new TermQuery(new Term("even", "true")), 100))
+        assertEquals("Missing term estimate is wrong", 0, index.estimate(new TermQuery(new Term("even", "no")), 100))
+        val sampled = index.estimate(new TermQuery(new Term("even", "true")), 1)
+        assert(sampled >= 0 && sampled <= 100, s"Sampled estimate $sampled is out of bounds")
+
+        index.delete()
+      })
+  }
+
+  test("count") {
+    doWithIndex(
+      index => {
+        val sort = new Sort(new SortedSetSortField("field", false))
+        val fields = Collections.singleton("field")
+        index.init(sort, fields)
+
+        assertEquals("Empty index count is wrong", 0, index.count(new MatchAllDocsQuery))
+
+        for (i <- 0 until 100) {
+          val value = "value" + i
+          val document = new Document
+          document.add(new StringField("field", value, Field.Store.NO))
+          document.add(new StringField("even", (i % 2 == 0).toString, Field.Store.NO))
+          document.add(new SortedSetDocValuesField("field", new BytesRef(value)))
+          index.upsert(new Term("field", value), document)
+        }
+        index.delete(new Term("field", "value0"))
+        index.commit()
+        index.awaitRefresh()
+
+        assertEquals("Match all count is wrong", 99, index.count(new MatchAllDocsQuery))
+        assertEquals("Term count is wrong", 49, index.count(new TermQuery(new Term("even", "true"))))
+        assertEquals("Missing term count is wrong", 0, index.count(new TermQuery(new Term("even", "no"))))
+
+        index.delete()
+      })
+  }
+
 }
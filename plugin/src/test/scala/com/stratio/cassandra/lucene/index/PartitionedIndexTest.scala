@@ -59,7 +59,9 @@ class PartitionedIndexTest extends BaseScalaTest {
         REFRESH_SECONDS,
         DEFAULT_RAM_BUFFER_MB,
         DEFAULT_MAX_MERGE_MB,
-        DEFAULT_MAX_CACHED_MB)
+        DEFAULT_MAX_CACHED_MB,
+        DEFAULT_MIN_REFRESH_SECONDS,
+        DEFAULT_REFRESH_PENDING_DOCS)
       f.apply(index)
     } finally temporaryFolder.delete()
   }
@@ -226,4 +228,44 @@ class PartitionedIndexTest extends BaseScalaTest {
     })
   }
 
-}
\ No newline at end of file
+  test("replace with bulk indexes") {
+    doWithIndex(2, index => {
+      val sort = new Sort(new SortedSetSortField("field", false))
+      val fields = Collections.singleton("field")
+      index.init(sort, fields)
+
+      def document(value: String): Document = {
+        val document = new Document
+        document.add(new StringField("field", value, Field.Store.NO))
+        document.add(new SortedSetDocValuesField("field", new BytesRef(value)))
+        document
+      }
+
+      index.upsert(0, new Term("field", "value1"), document("value1"))
+      index.upsert(1, new Term("field", "value3"), document("value3"))
+      index.commit()
+      Thread.sleep(WAIT_MILLISECONDS)
+      assertEquals("Expected 2 documents", 2, index.getNumDocs)
+
+      val temporaryFolder = new TemporaryFolder
+      temporaryFolder.create()
+      try {
+        val bulk = new BulkIndex(temporaryFolder.newFolder.toPath, new StandardAnalyzer, sort, 1)
+        bulk.add(document("value1"))
+        bulk.add(document("value2"))
+        bulk.finish()
+        index.replace(0, Seq(bulk.directory))
+        index.replace(1, Seq.empty)
+        bulk.delete()
+      } finally temporaryFolder.delete()
+
+      index.commit()
+      Thread.sleep(WAIT_MILLISECONDS)
+      assertEquals("Replaced documents must not be duplicated", 2, index.getNumDocs)
+      val query = new TermQuery(new Term("field", "value1"))
+      assertCount(index.search(List((0, None)), query, sort, 10), 1)
+      assertCount(index.search(List((1, None)), new MatchAllDocsQuery, sort, 10), 0)
+    })
+  }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.index
+
+import com.stratio.cassandra.lucene.BaseScalaTest
+import com.stratio.cassandra.lucene.mapping.LivenessMapper
+import org.apache.lucene.analysis.standard.StandardAnalyzer
+import org.apache.lucene.document.{Document, Field, IntField}
+import org.apache.lucene.index.{DirectoryReader, IndexWriter, IndexWriterConfig}
+import org.apache.lucene.search.BooleanClause.Occur._
+import org.apache.lucene.search._
+import org.apache.lucene.store.RAMDirectory
+import org.junit.runner.RunWith
+import org.scalatestplus.junit.JUnitRunner
+
+/** Tests for [[QueryCache]]. */
+@RunWith(classOf[JUnitRunner])
+class QueryCacheTest extends BaseScalaTest {
+
+  val NUM_DOCS = 20000
+
+  def doWithReader(f: DirectoryReader => Unit): Unit = {
+    val directory = new RAMDirectory
+    val writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer))
+    (0 until NUM_DOCS).foreach(i => {
+      val document = new Document
+      document.add(new IntField("field", i, Field.Store.NO))
+      document.add(new IntField(LivenessMapper.EXPIRATION_FIELD_NAME, i, Field.Store.NO))
+      writer.addDocument(document)
+    })
+    writer.forceMerge(1)
+    writer.close()
+    val reader = DirectoryReader.open(directory)
+    try f.apply(reader) finally {
+      reader.close()
+      directory.close()
+    }
+  }
+
+  test("policy caches frequent queries") {
+    doWithReader(reader => {
+      val policy = new QueryCache.Policy
+      val query = NumericRangeQuery.newIntRange("field", 10, 100, true, true)
+      (0 until 5).foreach(_ => policy.onUse(query))
+      policy.shouldCache(query, reader.leaves.get(0)) shouldBe true
+    })
+  }
+
+  test("policy doesn't cache liveness queries") {
+    doWithReader(reader => {
+      val policy = new QueryCache.Policy
+      val query = new LivenessMapper().liveQuery(10)
+      (0 until 5).foreach(_ => policy.onUse(query))
+      policy.shouldCache(query, reader.leaves.get(0)) shouldBe false
+    })
+  }
+
+  test("policy doesn't cache queries containing liveness queries") {
+    doWithReader(reader => {
+      val policy = new QueryCache.Policy
+      val field = NumericRangeQuery.newIntRange("field", 10, 100, true, true)
+      val live = new LivenessMapper().liveQuery(10)
+      val query = new BooleanQuery.Builder()
+        .add(field, FILTER)
+        .add(new BooleanQuery.Builder()
+          .add(new ConstantScoreQuery(live), SHOULD)
+          .add(new MatchAllDocsQuery, SHOULD)
+          .build, MUST_NOT)
+        .build
+      (0 until 5).foreach(_ => policy.onUse(query))
+      policy.shouldCache(query, reader.leaves.get(0)) shouldBe false
+      (0 until 5).foreach(_ => policy.onUse(new BoostQuery(live, 2)))
+      policy.shouldCache(new BoostQuery(live, 2), reader.leaves.get(0)) shouldBe false
+    })
+  }
+
+  test("policy caches compound queries without liveness queries") {
+    doWithReader(reader => {
+      val policy = new QueryCache.Policy
+      val query = new BooleanQuery.Builder()
+        .add(NumericRangeQuery.newIntRange("field", 10, 100, true, true), FILTER)
+        .add(NumericRangeQuery.newIntRange("field", 50, 60, true, true), MUST_NOT)
+        .build
+      (0 until 5).foreach(_ => policy.onUse(query))
+      policy.shouldCache(query, reader.leaves.get(0)) shouldBe true
+    })
+  }
+
+  test("cache metrics") {
+    doWithReader(reader => {
+      val cache = new QueryCache(10, 1)
+      val searcher = new IndexSearcher(reader)
+      searcher.setQueryCache(cache)
+      searcher.setQueryCachingPolicy(QueryCachingPolicy.ALWAYS_CACHE)
+      val query = NumericRangeQuery.newIntRange("field", 10, 100, true, true)
+      searcher.count(query) shouldBe 91
+      searcher.count(query) shouldBe 91
+      cache.getMissCount shouldBe 1
+      cache.getHitCount shouldBe 1
+      cache.getCacheSize shouldBe 1
+      cache.getRamBytesUsed should be > 0L
+      cache.clear()
+      cache.getCacheSize shouldBe 0
+    })
+  }
+}
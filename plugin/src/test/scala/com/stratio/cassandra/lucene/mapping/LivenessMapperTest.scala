@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.mapping
+
+import com.stratio.cassandra.lucene.BaseScalaTest
+import org.apache.cassandra.db.rows.BTreeRow
+import org.apache.cassandra.db.{Clustering, LivenessInfo}
+import org.apache.lucene.document.Document
+import org.junit.runner.RunWith
+import org.scalatestplus.junit.JUnitRunner
+
+/** Tests for [[LivenessMapper]]. */
+@RunWith(classOf[JUnitRunner])
+class LivenessMapperTest extends BaseScalaTest {
+
+  val mapper = new LivenessMapper
+
+  def document(info: LivenessInfo): Document = {
+    val document = new Document
+    mapper.indexableFields(BTreeRow.noCellLiveRow(Clustering.EMPTY, info)).foreach(document.add)
+    document
+  }
+
+  test("map non expiring liveness") {
+    val info = LivenessInfo.create(1234L, 10)
+    mapper.liveness(document(info)) shouldBe Some(info)
+    mapper.row(document(info), Clustering.EMPTY, 20).map(_.primaryKeyLivenessInfo) shouldBe Some(info)
+  }
+
+  test("map expiring liveness") {
+    val info = LivenessInfo.expiring(1234L, 60, 10)
+    mapper.liveness(document(info)) shouldBe Some(info)
+    mapper.row(document(info), Clustering.EMPTY, 20).isDefined shouldBe true
+    mapper.row(document(info), Clustering.EMPTY, 80) shouldBe None
+  }
+
+  test("map empty liveness") {
+    mapper.indexableFields(BTreeRow.emptyRow(Clustering.EMPTY)) shouldBe Nil
+    mapper.liveness(new Document) shouldBe None
+    mapper.row(new Document, Clustering.EMPTY, 20) shouldBe None
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.util
+
+import java.util.concurrent.{ConcurrentHashMap, CountDownLatch, Executors, TimeUnit}
+import java.util.concurrent.atomic.AtomicInteger
+
+import com.stratio.cassandra.lucene.BaseScalaTest
+
+/** Class for testing [[Coalescer]]. */
+class CoalescerTest extends BaseScalaTest {
+
+  test("test coalescer synchronization") {
+
+    val executor = Executors.newFixedThreadPool(8)
+    val numIncrements = 10000
+    val numCounters = 8
+    val counters = (1 to numCounters).map(_ => 0).toArray
+
+    // Each task is a (counter, delta) pair, deferred tasks are coalesced adding their deltas
+    val coalescer = new Coalescer[AnyRef, (Int, Int)](
+      task => counters(task._1) += task._2,
+      (pending, task) => (task._1, task._2 + pending.map(_._2).getOrElse(0)))
+
+    (0 until numCounters).foreach { counter =>
+      (0 until numIncrements).foreach { _ =>
+        executor.submit[Unit](() => coalescer.run(counter.asInstanceOf[AnyRef], (counter, 1)))
+      }
+    }
+
+    (0 until numIncrements).foreach { _ =>
+      (0 until numCounters).foreach { counter =>
+        executor.submit[Unit](() => coalescer.run(counter.asInstanceOf[AnyRef], (counter, -1)))
+      }
+    }
+
+    executor.shutdown()
+    executor.awaitTermination(1, TimeUnit.DAYS)
+
+    counters shouldBe (1 to numCounters).map(_ => 0).toArray
+    coalescer.getSubmitted shouldBe 2 * numCounters * numIncrements
+    coalescer.getCoalesced should be <= coalescer.getDeferred
+  }
+
+  test("deferred run waits for execution") {
+    val executor = Executors.newFixedThreadPool(2)
+    val started = new CountDownLatch(1)
+    val release = new CountDownLatch(1)
+    val executed = new AtomicInteger
+
+    val coalescer = new Coalescer[AnyRef, Int](
+      task => {
+        if (task == 0) {
+          started.countDown()
+          release.await()
+        }
+        executed.addAndGet(task)
+      },
+      (pending, task) => task + pending.getOrElse(0))
+
+    val first = executor.submit[Unit](() => coalescer.run("key", 0))
+    started.await()
+    val second = executor.submit[Unit](() => coalescer.run("key", 1))
+    while (coalescer.getDeferred == 0) Thread.sleep(1)
+    second.isDone shouldBe false
+    release.countDown()
+    second.get(1, TimeUnit.MINUTES)
+    executed.get shouldBe 1
+    first.get(1, TimeUnit.MINUTES)
+    executor.shutdown()
+  }
+
+  test("deferred run throws execution failure") {
+    val executor = Executors.newFixedThreadPool(2)
+    val started = new CountDownLatch(1)
+    val release = new CountDownLatch(1)
+
+    val coalescer = new Coalescer[AnyRef, Int](
+      task => if (task == 0) {
+        started.countDown()
+        release.await()
+      } else throw new IllegalStateException(s"Failed $task"),
+      (_, task) => task)
+
+    val first = executor.submit[Unit](() => coalescer.run("key", 0))
+    started.await()
+    val second = executor.submit[Unit](() => coalescer.run("key", 1))
+    while (coalescer.getDeferred == 0) Thread.sleep(1)
+    release.countDown()
+    val error = intercept[java.util.concurrent.ExecutionException] {
+      second.get(1, TimeUnit.MINUTES)
+    }
+    error.getCause shouldBe an[IllegalStateException]
+    first.get(1, TimeUnit.MINUTES)
+    executor.shutdown()
+  }
+
+  test("deferred task is executed by its submitter") {
+    val executor = Executors.newFixedThreadPool(2)
+    val started = new CountDownLatch(1)
+    val release = new CountDownLatch(1)
+    val executors = new ConcurrentHashMap[Int, Thread]
+
+    val coalescer = new Coalescer[AnyRef, Int](
+      task => {
+        executors.put(task, Thread.currentThread)
+        if (task == 0) {
+          started.countDown()
+          release.await()
+        }
+      },
+      (_, task) => task)
+
+    val first = executor.submit[Thread](() => {
+      coalescer.run("key", 0)
+      Thread.currentThread
+    })
+    started.await()
+    val second = executor.submit[Thread](() => {
+      coalescer.run("key", 1)
+      Thread.currentThread
+    })
+    while (coalescer.getDeferred == 0) Thread.sleep(1)
+    release.countDown()
+    executors.get(0) shouldBe first.get(1, TimeUnit.MINUTES)
+    executors.get(1) shouldBe second.get(1, TimeUnit.MINUTES)
+    executor.shutdown()
+  }
+
+  test("deferred tasks are executed once per coalesced batch") {
+    val executor = Executors.newFixedThreadPool(4)
+    val started = new CountDownLatch(1)
+    val release = new CountDownLatch(1)
+    val executions = new AtomicInteger
+    val executed = new AtomicInteger
+
+    val coalescer = new Coalescer[AnyRef, Int](
+      task => {
+        executions.incrementAndGet
+        if (task == 0) {
+          started.countDown()
+          release.await()
+        }
+        executed.addAndGet(task)
+      },
+      (pending, task) => task + pending.getOrElse(0))
+
+    val first = executor.submit[Unit](() => coalescer.run("key", 0))
+    started.await()
+    val deferred = (1 to 3).map(_ => executor.submit[Unit](() => coalescer.run("key", 1)))
+    while (coalescer.getDeferred < 3) Thread.sleep(1)
+    release.countDown()
+    deferred.foreach(_.get(1, TimeUnit.MINUTES))
+    first.get(1, TimeUnit.MINUTES)
+    executed.get shouldBe 3
+    executions.get shouldBe 2
+    coalescer.getCoalesced shouldBe 2
+    executor.shutdown()
+  }
+}
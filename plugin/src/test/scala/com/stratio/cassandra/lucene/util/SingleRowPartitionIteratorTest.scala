@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.util
+
+import com.stratio.cassandra.lucene.BaseScalaTest
+import com.stratio.cassandra.lucene.util.SingleRowPartitionIteratorTest._
+import org.apache.cassandra.config.DatabaseDescriptor
+import org.apache.cassandra.db._
+import org.apache.cassandra.db.marshal.Int32Type
+import org.apache.cassandra.db.partitions.PartitionIterator
+import org.apache.cassandra.db.rows.{BTreeRow, Row, RowIterator, Rows}
+import org.apache.cassandra.dht.Murmur3Partitioner
+import org.apache.cassandra.schema.TableMetadata
+import org.junit.runner.RunWith
+import org.scalatestplus.junit.JUnitRunner
+
+import scala.collection.mutable
+
+/** Class for testing [[SingleRowPartitionIterator]]. */
+@RunWith(classOf[JUnitRunner])
+class SingleRowPartitionIteratorTest extends BaseScalaTest {
+
+  test("split partitions into single rows") {
+    val partitions = new TestPartitions(1 -> Seq(1, 2), 2 -> Seq(3), 3 -> Seq(4, 5, 6))
+    val seen = mutable.ArrayBuffer.empty[Int]
+    val iterator = new SingleRowPartitionIterator(partitions, row => seen += value(row.row))
+    val rows = mutable.ArrayBuffer.empty[(Int, Int)]
+    while (iterator.hasNext) {
+      val rowIterator = iterator.next()
+      rows += ((Int32Type.instance.compose(rowIterator.partitionKey.getKey), value(rowIterator.row)))
+      rowIterator.hasNext shouldBe true
+      value(rowIterator.next()) shouldBe rows.last._2
+      rowIterator.hasNext shouldBe false
+    }
+    rows shouldBe Seq(1 -> 1, 1 -> 2, 2 -> 3, 3 -> 4, 3 -> 5, 3 -> 6)
+    seen shouldBe Seq(1, 2, 3, 4, 5, 6)
+    partitions.closedPartitions shouldBe 3
+  }
+
+  test("skip empty partitions") {
+    val partitions = new TestPartitions(1 -> Seq(), 2 -> Seq(1), 3 -> Seq(), 4 -> Seq())
+    val iterator = new SingleRowPartitionIterator(partitions)
+    iterator.hasNext shouldBe true
+    value(iterator.next().row) shouldBe 1
+    iterator.hasNext shouldBe false
+    an[NoSuchElementException] should be thrownBy iterator.next()
+    partitions.closedPartitions shouldBe 4
+  }
+
+  test("close partially read partitions") {
+    val partitions = new TestPartitions(1 -> Seq(1, 2), 2 -> Seq(3))
+    val iterator = new SingleRowPartitionIterator(partitions)
+    iterator.next()
+    iterator.close()
+    partitions.closedPartitions shouldBe 1
+    partitions.closed shouldBe true
+  }
+
+  test("close without reading") {
+    val partitions = new TestPartitions(1 -> Seq(1))
+    new SingleRowPartitionIterator(partitions).close()
+    partitions.closedPartitions shouldBe 0
+    partitions.closed shouldBe true
+  }
+}
+
+/** Utilities for testing iterators of partitions. */
+object SingleRowPartitionIteratorTest {
+
+  DatabaseDescriptor.clientInitialization()
+
+  val metadata: TableMetadata = TableMetadata.builder("ks", "t")
+    .partitioner(Murmur3Partitioner.instance)
+    .addPartitionKeyColumn("pk", Int32Type.instance)
+    .addClusteringColumn("ck", Int32Type.instance)
+    .build()
+
+  def key(pk: Int): DecoratedKey = Murmur3Partitioner.instance.decorateKey(Int32Type.instance.decompose(pk))
+
+  def row(ck: Int): Row = BTreeRow.noCellLiveRow(
+    Clustering.make(Int32Type.instance.decompose(ck)),
+    LivenessInfo.create(1, 0))
+
+  def value(row: Row): Int = Int32Type.instance.compose(row.clustering.bufferAt(0))
+
+  /** A [[PartitionIterator]] over the specified partition keys and clustering values, counting
+    * the closed partitions.
+    */
+  class TestPartitions(partitions: (Int, Seq[Int])*) extends PartitionIterator {
+
+    private[this] val iterator = partitions.iterator
+    var closedPartitions = 0
+    var closed = false
+
+    override def hasNext: Boolean = iterator.hasNext
+
+    override def next(): RowIterator = {
+      val (pk, cks) = iterator.next()
+      new RowIterator {
+        private[this] val rows = cks.map(row).iterator
+        override def metadata: TableMetadata = SingleRowPartitionIteratorTest.metadata
+        override def isReverseOrder: Boolean = false
+        override def columns: RegularAndStaticColumns = RegularAndStaticColumns.NONE
+        override def partitionKey: DecoratedKey = key(pk)
+        override def staticRow: Row = Rows.EMPTY_STATIC_ROW
+        override def hasNext: Boolean = rows.hasNext
+        override def next(): Row = rows.next()
+        override def close(): Unit = closedPartitions += 1
+      }
+    }
+
+    override def close(): Unit = closed = true
+  }
+}
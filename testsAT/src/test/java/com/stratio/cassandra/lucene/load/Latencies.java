@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.load;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencies of a kind of operation recorded by a single thread, in nanoseconds.
+ */
+class Latencies {
+
+    private long[] values = new long[1024];
+    private int count = 0;
+
+    void add(long nanos) {
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        values[count++] = nanos;
+    }
+
+    void addAll(Latencies other) {
+        for (int i = 0; i < other.count; i++) {
+            add(other.values[i]);
+        }
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * Returns a one-line summary with the throughput and the latency percentiles in milliseconds.
+     *
+     * @param elapsedNanos the wall-clock duration of the measurement
+     * @return a printable summary
+     */
+    String summary(long elapsedNanos) {
+        long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        return String.format("%10d ops %10.1f ops/s   mean %8.2f   p50 %8.2f   p95 %8.2f   p99 %8.2f   max %8.2f ms",
+                             count,
+                             count / seconds,
+                             count == 0 ? 0 : millis(Arrays.stream(sorted).sum() / count),
+                             percentile(sorted, 0.50),
+                             percentile(sorted, 0.95),
+                             percentile(sorted, 0.99),
+                             count == 0 ? 0 : millis(sorted[count - 1]));
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return millis(sorted[Math.max(0, index)]);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
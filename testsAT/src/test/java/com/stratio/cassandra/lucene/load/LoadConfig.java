@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load harness variables, read from {@code it.load.*} system properties.
+ */
+class LoadConfig {
+
+    static final int PARTITIONS = getInt("partitions", 1000);
+    static final int ROWS_PER_PARTITION = getInt("rows_per_partition", 100);
+    static final int THREADS = getInt("threads", 32);
+    static final int WARMUP_SECONDS = getInt("warmup_seconds", 10);
+    static final int DURATION_SECONDS = getInt("duration_seconds", 60);
+    static final int FETCH = getInt("fetch", 100);
+    static final int LIMIT = getInt("limit", 100);
+    static final int PAGING_LIMIT = getInt("paging_limit", 10000);
+    static final double MAX_ERROR_RATE = getDouble("max_error_rate", 0.01);
+    static final Map<Operation, Integer> MIX = getMix("mix", "insert=4,update=2,filter=4,query=2,sort=2,paging=1,geo=2,bitemporal=2");
+
+    private static String getString(String key, String def) {
+        return System.getProperty("it.load." + key, def);
+    }
+
+    private static int getInt(String key, Integer def) {
+        return Integer.parseInt(getString(key, def.toString()));
+    }
+
+    private static double getDouble(String key, Double def) {
+        return Double.parseDouble(getString(key, def.toString()));
+    }
+
+    private static Map<Operation, Integer> getMix(String key, String def) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : getString(key, def).split(",")) {
+            String[] parts = entry.split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.stratio.cassandra.lucene.BaseTest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Load harness running a configurable mix of writes and searches against the embedded single-node Cassandra started
+ * by {@link com.stratio.cassandra.lucene.PluginTestFramework}, reporting the throughput and latency percentiles of each
+ * kind of operation. It is skipped unless {@code -Dit.load.enabled=true} is specified.
+ *
+ * The table is first loaded with {@code it.load.partitions * it.load.rows_per_partition} rows. Then the mix of
+ * operations specified by {@code it.load.mix} is run by {@code it.load.threads} clients, first during
+ * {@code it.load.warmup_seconds} without recording and then during {@code it.load.duration_seconds}. The index options
+ * can be changed with the usual {@code it.refresh}, {@code it.threads} and {@code it.sparse} properties. Each phase
+ * fails if the ratio of failed operations exceeds {@code it.load.max_error_rate}.
+ */
+@EnabledIfSystemProperty(named = "it.load.enabled", matches = "true")
+public class LoadTest extends BaseTest {
+
+    private static Workload workload;
+
+    @BeforeAll
+    public static void before() {
+        workload = new Workload("load_test", LoadConfig.MIX);
+    }
+
+    @AfterAll
+    public static void after() {
+        if (workload != null) {
+            workload.drop();
+        }
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+
+        int numRows = LoadConfig.PARTITIONS * LoadConfig.ROWS_PER_PARTITION;
+        AtomicInteger nextRow = new AtomicInteger();
+        Map<Operation, Latencies> preload = run(random -> {
+            int row = nextRow.getAndIncrement();
+            if (row >= numRows) {
+                return null;
+            }
+            workload.insert(row / LoadConfig.ROWS_PER_PARTITION, row % LoadConfig.ROWS_PER_PARTITION, random);
+            return Operation.INSERT;
+        }, Long.MAX_VALUE, "Preload");
+        assertEquals(numRows, preload.get(Operation.INSERT).count(), "Preload is incomplete");
+
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(LoadConfig.WARMUP_SECONDS);
+        run(random -> {
+            Operation operation = workload.next(random);
+            workload.execute(operation, random);
+            return operation;
+        }, warmupEnd, "Warmup");
+
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(LoadConfig.DURATION_SECONDS);
+        run(random -> {
+            Operation operation = workload.next(random);
+            workload.execute(operation, random);
+            return operation;
+        }, end, "Mixed workload");
+    }
+
+    /**
+     * Runs the specified task in all the client threads until it returns {@code null} or the deadline is reached,
+     * logging the throughput and latencies of each kind of operation. It fails if the ratio of failed operations
+     * exceeds {@link LoadConfig#MAX_ERROR_RATE}.
+     *
+     * @param task the task to be run, returning the kind of the done operation
+     * @param deadline the {@link System#nanoTime()} after which the clients stop
+     * @param phase the name of the phase to be logged
+     * @return the latencies of each kind of operation
+     */
+    private static Map<Operation, Latencies> run(Task task, long deadline, String phase) throws Exception {
+        logger.info("Running {} with {} clients", phase, LoadConfig.THREADS);
+        AtomicLong errors = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(LoadConfig.THREADS);
+        List<Future<Map<Operation, Latencies>>> futures = new ArrayList<>(LoadConfig.THREADS);
+        long start = System.nanoTime();
+        for (int i = 0; i < LoadConfig.THREADS; i++) {
+            Random random = new Random(i);
+            futures.add(executor.submit(() -> {
+                Map<Operation, Latencies> latencies = new EnumMap<>(Operation.class);
+                while (System.nanoTime() < deadline) {
+                    long operationStart = System.nanoTime();
+                    Operation operation;
+                    try {
+                        operation = task.run(random);
+                    } catch (RuntimeException e) {
+                        logger.warn("Error during " + phase, e);
+                        errors.incrementAndGet();
+                        continue;
+                    }
+                    if (operation == null) {
+                        break;
+                    }
+                    latencies.computeIfAbsent(operation, o -> new Latencies()).add(System.nanoTime() - operationStart);
+                }
+                return latencies;
+            }));
+        }
+        Map<Operation, Latencies> latencies = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, Latencies>> future : futures) {
+            future.get().forEach((operation, l) -> latencies.computeIfAbsent(operation, o -> new Latencies()).addAll(l));
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        Latencies total = new Latencies();
+        StringBuilder report = new StringBuilder(phase).append(" results:\n");
+        latencies.forEach((operation, l) -> {
+            report.append(String.format("%-12s %s%n", operation, l.summary(elapsed)));
+            total.addAll(l);
+        });
+        report.append(String.format("%-12s %s%n", "TOTAL", total.summary(elapsed)));
+        report.append(String.format("%-12s %10d", "ERRORS", errors.get()));
+        logger.info(report.toString());
+        long operations = total.count() + errors.get();
+        assertTrue(errors.get() <= LoadConfig.MAX_ERROR_RATE * operations,
+                   String.format("%s failed %d of %d operations", phase, errors.get(), operations));
+        return latencies;
+    }
+
+    /** A client task. */
+    @FunctionalInterface
+    private interface Task {
+
+        /**
+         * Runs a single operation.
+         *
+         * @param random the source of randomness of the client
+         * @return the kind of the done operation, or {@code null} if there is nothing left to do
+         */
+        Operation run(Random random);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.load;
+
+/**
+ * The kinds of operation performed by the load harness.
+ */
+enum Operation {
+
+    /** Insertion of all the indexed columns of a row, which doesn't need read-before-write. */
+    INSERT,
+
+    /** Update of a single indexed column of a row, which needs read-before-write. */
+    UPDATE,
+
+    /** Non-scoring search with a range filter. */
+    FILTER,
+
+    /** Scoring full-text search. */
+    QUERY,
+
+    /** Search sorted by a field. */
+    SORT,
+
+    /** Search retrieving many pages of results. */
+    PAGING,
+
+    /** Geo distance search. */
+    GEO,
+
+    /** Bitemporal search. */
+    BITEMPORAL
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2014 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stratio.cassandra.lucene.load;
+
+import static com.stratio.cassandra.lucene.builder.Builder.bitemporal;
+import static com.stratio.cassandra.lucene.builder.Builder.bitemporalMapper;
+import static com.stratio.cassandra.lucene.builder.Builder.field;
+import static com.stratio.cassandra.lucene.builder.Builder.geoDistance;
+import static com.stratio.cassandra.lucene.builder.Builder.geoPointMapper;
+import static com.stratio.cassandra.lucene.builder.Builder.longMapper;
+import static com.stratio.cassandra.lucene.builder.Builder.match;
+import static com.stratio.cassandra.lucene.builder.Builder.range;
+import static com.stratio.cassandra.lucene.builder.Builder.search;
+import static com.stratio.cassandra.lucene.builder.Builder.stringMapper;
+import static com.stratio.cassandra.lucene.builder.Builder.textMapper;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.stratio.cassandra.lucene.builder.search.Search;
+import com.stratio.cassandra.lucene.util.CassandraConnection;
+import com.stratio.cassandra.lucene.util.CassandraUtils;
+
+/**
+ * Table, index and random statements used by the load harness.
+ *
+ * Rows have an indexed string, text, long, geo point and bitemporal data, so each kind of operation exercises a
+ * different mapper. Inserts write all the indexed columns, so they don't need read-before-write, whereas updates write
+ * a single indexed column, so the index has to read the rest of the row before indexing it.
+ */
+class Workload {
+
+    private static final String[] WORDS = {"lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing",
+                                           "elit", "sed", "do", "eiusmod", "tempor", "incididunt", "labore"};
+    private static final long MIN_TIME = 1_500_000_000_000L;
+    private static final long MAX_TIME = 1_600_000_000_000L;
+    private static final String DATE_PATTERN = "yyyy/MM/dd";
+
+    private final CassandraUtils utils;
+    private final PreparedStatement insert;
+    private final PreparedStatement update;
+    private final PreparedStatement search;
+    private final int[] weights;
+    private final Operation[] operations;
+    private final int totalWeight;
+
+    Workload(String name, Map<Operation, Integer> mix) {
+        utils = CassandraUtils.builder(name)
+            .withPartitionKey("pk")
+            .withClusteringKey("ck")
+            .withColumn("pk", "int", null)
+            .withColumn("ck", "int", null)
+            .withColumn("name", "text", stringMapper())
+            .withColumn("description", "text", textMapper().analyzer("english"))
+            .withColumn("value", "bigint", longMapper())
+            .withColumn("latitude", "double", null)
+            .withColumn("longitude", "double", null)
+            .withColumn("vt_from", "timestamp", null)
+            .withColumn("vt_to", "timestamp", null)
+            .withColumn("tt_from", "timestamp", null)
+            .withColumn("tt_to", "timestamp", null)
+            .withMapper("location", geoPointMapper("latitude", "longitude"))
+            .withMapper("bitemporal", bitemporalMapper("vt_from", "vt_to", "tt_from", "tt_to").pattern(DATE_PATTERN))
+            .build()
+            .createKeyspace()
+            .createTable()
+            .createIndex();
+        insert = CassandraConnection.prepare(String.format(
+            "INSERT INTO %s (pk, ck, name, description, value, latitude, longitude, vt_from, vt_to, tt_from, tt_to) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", utils.getQualifiedTable()));
+        update = CassandraConnection.prepare(String.format(
+            "UPDATE %s SET value = ? WHERE pk = ? AND ck = ?", utils.getQualifiedTable()));
+        search = CassandraConnection.prepare(String.format(
+            "SELECT * FROM %s WHERE expr(%s, ?) LIMIT ?", utils.getQualifiedTable(), utils.getIndexName()));
+        operations = mix.keySet().toArray(new Operation[0]);
+        weights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            weights[i] = total;
+        }
+        totalWeight = total;
+    }
+
+    /** Drops the keyspace of the workload table. */
+    void drop() {
+        CassandraUtils.dropKeyspaceIfNotNull(utils);
+    }
+
+    /**
+     * Returns a random operation according to the configured mix.
+     *
+     * @param random the source of randomness
+     * @return a random operation
+     */
+    Operation next(Random random) {
+        int value = random.nextInt(totalWeight);
+        for (int i = 0; i < operations.length; i++) {
+            if (value < weights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    /**
+     * Inserts the row with the specified primary key with random values.
+     *
+     * @param pk the partition key
+     * @param ck the clustering key
+     * @param random the source of randomness
+     */
+    void insert(int pk, int ck, Random random) {
+        long vtFrom = randomTime(random);
+        long ttFrom = randomTime(random);
+        execute(insert.bind(pk,
+                            ck,
+                            WORDS[random.nextInt(WORDS.length)] + random.nextInt(1000),
+                            randomText(random),
+                            random.nextLong(),
+                            random.nextDouble() * 180 - 90,
+                            random.nextDouble() * 360 - 180,
+                            new Date(vtFrom),
+                            new Date(vtFrom + TimeUnit.DAYS.toMillis(random.nextInt(365))),
+                            new Date(ttFrom),
+                            new Date(ttFrom + TimeUnit.DAYS.toMillis(random.nextInt(365)))));
+    }
+
+    /**
+     * Executes the specified operation with random arguments.
+     *
+     * @param operation the operation
+     * @param random the source of randomness
+     */
+    void execute(Operation operation, Random random) {
+        int pk = random.nextInt(LoadConfig.PARTITIONS);
+        int ck = random.nextInt(LoadConfig.ROWS_PER_PARTITION);
+        switch (operation) {
+            case INSERT:
+                insert(pk, ck, random);
+                break;
+            case UPDATE:
+                execute(update.bind(random.nextLong(), pk, ck));
+                break;
+            case FILTER:
+                long lower = random.nextLong();
+                search(search().filter(range("value").lower(lower).upper(lower / 2 + Long.MAX_VALUE / 2)),
+                       LoadConfig.LIMIT);
+                break;
+            case QUERY:
+                search(search().query(match("description", WORDS[random.nextInt(WORDS.length)])), LoadConfig.LIMIT);
+                break;
+            case SORT:
+                search(search().filter(match("description", WORDS[random.nextInt(WORDS.length)]))
+                               .sort(field("value").reverse(random.nextBoolean())), LoadConfig.LIMIT);
+                break;
+            case PAGING:
+                search(search().filter(match("description", WORDS[random.nextInt(WORDS.length)])),
+                       LoadConfig.PAGING_LIMIT);
+                break;
+            case GEO:
+                search(search().filter(geoDistance("location",
+                                                   random.nextDouble() * 180 - 90,
+                                                   random.nextDouble() * 360 - 180,
+                                                   "1000km")), LoadConfig.LIMIT);
+                break;
+            case BITEMPORAL:
+                String date = format(randomTime(random));
+                search(search().filter(bitemporal("bitemporal").vtFrom(date).vtTo(date).ttFrom(date).ttTo(date)),
+                       LoadConfig.LIMIT);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported operation " + operation);
+        }
+    }
+
+    /**
+     * Runs the specified search fetching all its pages, until the limit is reached.
+     *
+     * @param search the search
+     * @param limit the max number of rows to be fetched
+     * @return the number of fetched rows
+     */
+    private int search(Search search, int limit) {
+        Statement statement = this.search.bind(search.build(), limit).setFetchSize(LoadConfig.FETCH);
+        ResultSet rs = execute(statement);
+        int count = 0;
+        for (Iterator<Row> rows = rs.iterator(); rows.hasNext(); rows.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    private static ResultSet execute(Statement statement) {
+        return CassandraConnection.executeAsync(statement).getUninterruptibly();
+    }
+
+    private static long randomTime(Random random) {
+        return MIN_TIME + (long) (random.nextDouble() * (MAX_TIME - MIN_TIME));
+    }
+
+    private static String randomText(Random random) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            builder.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return builder.toString();
+    }
+
+    private static String format(long time) {
+        SimpleDateFormat format = new SimpleDateFormat(DATE_PATTERN);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.format(new Date(time));
+    }
+}
@@ -30,6 +30,7 @@ import java.util.Objects;
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.Statement;
 import com.stratio.cassandra.lucene.BaseTest;
@@ -105,7 +106,19 @@ public class CassandraConnection {
         return session.execute(statement);
     }
 
-    static PreparedStatement prepare(String query) {
+    /**
+     * Executes the specified statement without the serialization of {@link #execute(Statement)}, so it can be used
+     * by several threads at once.
+     *
+     * @param statement the statement to be executed
+     * @return the future result
+     */
+    public static ResultSetFuture executeAsync(Statement statement) {
+        logger.trace("CQL: {}", statement);
+        return session.executeAsync(statement);
+    }
+
+    public static PreparedStatement prepare(String query) {
         return session.prepare(query);
     }
 